@@ -3,6 +3,7 @@ package com.literaturaapp;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
 import com.literaturaapp.service.ConsoleService;
@@ -13,7 +14,9 @@ public class LiteraturaApp {
         SpringApplication.run(LiteraturaApp.class, args);
     }
 
+    // console.enabled=false runs only the HTTP API (e.g. as a server or under load tests)
     @Bean
+    @ConditionalOnProperty(name = "console.enabled", havingValue = "true", matchIfMissing = true)
     public CommandLineRunner runner(ConsoleService consoleService) {
         return args -> consoleService.start();
     }
@@ -0,0 +1,224 @@
+package com.literaturaapp.catalog;
+
+import java.util.*;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * The distinct people behind the authors of one catalog generation, each with a
+ * canonical id (0..size-1, first-seen order).
+ *
+ * <p>Identity is the name key plus the life years, not the display name. The key is
+ * the accent-folded name tokens in sorted order, ignoring anything in parentheses, so
+ * "Twain, Mark" and "Mark Twain" are the same person. Two people with the same key
+ * but different years stay apart. An entry without years joins the first same-key
+ * person it does not contradict, and fills in years that person was missing.
+ *
+ * <p>Book ids per author and author ids per book are stored in primitive arrays;
+ * lookups by id or by {@link Author} are O(1); {@link #sortedByName()} is built once.
+ */
+public final class AuthorDimension {
+
+    public static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private final String[] names;
+    private final String[] keys;
+    private final int[] births;
+    private final int[] deaths;
+    private final int[][] bookIds;
+    private final int[] bookAuthorOffsets;
+    private final int[] bookAuthorRefs;
+    private final Map<String, int[]> idsByKey;
+    private final List<Author> authors;
+    private final List<Author> sortedByName;
+
+    private AuthorDimension(Builder b) {
+        int n = b.names.size();
+        this.names = b.names.toArray(new String[0]);
+        this.keys = b.keys.toArray(new String[0]);
+        this.births = Arrays.copyOf(b.births, n);
+        this.deaths = Arrays.copyOf(b.deaths, n);
+        this.bookIds = new int[n][];
+        for (int i = 0; i < n; i++) bookIds[i] = b.books.get(i).toArray();
+        this.bookAuthorOffsets = Arrays.copyOf(b.bookAuthorOffsets, b.bookCount + 1);
+        this.bookAuthorRefs = Arrays.copyOf(b.bookAuthorRefs, b.refCount);
+        this.idsByKey = new HashMap<>(b.idsByKey.size() * 2);
+        for (Map.Entry<String, IntList> e : b.idsByKey.entrySet()) idsByKey.put(e.getKey(), e.getValue().toArray());
+
+        List<Author> all = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) all.add(toAuthor(i));
+        this.authors = Collections.unmodifiableList(all);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> names[i]).thenComparingInt(i -> births[i]));
+        List<Author> sorted = new ArrayList<>(n);
+        for (Integer i : order) sorted.add(all.get(i));
+        this.sortedByName = Collections.unmodifiableList(sorted);
+    }
+
+    public static AuthorDimension build(List<Book> catalog) {
+        Builder b = new Builder();
+        for (Book book : catalog) b.add(book);
+        return new AuthorDimension(b);
+    }
+
+    /**
+     * Identity key of a name: folded tokens, sorted, parenthesized parts dropped.
+     * Empty when the name has no letters or digits.
+     */
+    public static String nameKey(String name) {
+        if (name == null) return "";
+        List<String> tokens = TextNormalizer.tokens(name.replaceAll("\\([^)]*\\)", " "));
+        Collections.sort(tokens);
+        return String.join(" ", tokens);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /** Canonical authors, indexed by id. */
+    public List<Author> authors() {
+        return authors;
+    }
+
+    /** Canonical authors by display name, then birth year. */
+    public List<Author> sortedByName() {
+        return sortedByName;
+    }
+
+    public Author author(int id) {
+        return authors.get(id);
+    }
+
+    public String name(int id) { return names[id]; }
+
+    public String key(int id) { return keys[id]; }
+
+    /** Birth year, or {@link #NO_YEAR}. */
+    public int birth(int id) { return births[id]; }
+
+    /** Death year, or {@link #NO_YEAR}. */
+    public int death(int id) { return deaths[id]; }
+
+    /** Ids of the books by this author, in catalog order. Do not modify. */
+    public int[] bookIds(int id) {
+        return bookIds[id];
+    }
+
+    /** Author ids of the book at this catalog position, in the book's order. */
+    public int[] authorsOf(int position) {
+        return Arrays.copyOfRange(bookAuthorRefs, bookAuthorOffsets[position], bookAuthorOffsets[position + 1]);
+    }
+
+    /** Canonical id of the person this author entry refers to, or -1. */
+    public int idOf(Author a) {
+        if (a == null) return -1;
+        int[] candidates = idsByKey.get(nameKey(a.getName()));
+        if (candidates == null) return -1;
+        int birth = year(a.getBirth_year()), death = year(a.getDeath_year());
+        for (int id : candidates) {
+            if (compatible(births[id], birth) && compatible(deaths[id], death)) return id;
+        }
+        return -1;
+    }
+
+    private Author toAuthor(int id) {
+        Author a = new Author();
+        a.setName(names[id]);
+        a.setBirth_year(births[id] == NO_YEAR ? null : births[id]);
+        a.setDeath_year(deaths[id] == NO_YEAR ? null : deaths[id]);
+        return a;
+    }
+
+    private static int year(Integer y) {
+        return y == null ? NO_YEAR : y;
+    }
+
+    private static boolean compatible(int a, int b) {
+        return a == NO_YEAR || b == NO_YEAR || a == b;
+    }
+
+    private static final class Builder {
+        final List<String> names = new ArrayList<>();
+        final List<String> keys = new ArrayList<>();
+        int[] births = new int[64];
+        int[] deaths = new int[64];
+        final List<IntList> books = new ArrayList<>();
+        final Map<String, IntList> idsByKey = new HashMap<>();
+        int[] bookAuthorOffsets = new int[65];
+        int[] bookAuthorRefs = new int[64];
+        int bookCount, refCount;
+
+        void add(Book book) {
+            if (book.getAuthors() != null) {
+                for (Author a : book.getAuthors()) {
+                    if (a == null) continue;
+                    String key = nameKey(a.getName());
+                    if (key.isEmpty()) continue;
+                    int id = resolve(key, a);
+                    // the same person listed twice on one book counts once
+                    if (!hasRef(id)) {
+                        books.get(id).add(book.getId());
+                        addRef(id);
+                    }
+                }
+            }
+            bookCount++;
+            if (bookCount + 1 > bookAuthorOffsets.length) bookAuthorOffsets = Arrays.copyOf(bookAuthorOffsets, bookAuthorOffsets.length * 2);
+            bookAuthorOffsets[bookCount] = refCount;
+        }
+
+        private int resolve(String key, Author a) {
+            int birth = year(a.getBirth_year()), death = year(a.getDeath_year());
+            IntList candidates = idsByKey.computeIfAbsent(key, k -> new IntList());
+            for (int i = 0; i < candidates.size; i++) {
+                int id = candidates.get(i);
+                if (compatible(births[id], birth) && compatible(deaths[id], death)) {
+                    if (births[id] == NO_YEAR) births[id] = birth;
+                    if (deaths[id] == NO_YEAR) deaths[id] = death;
+                    return id;
+                }
+            }
+            int id = names.size();
+            names.add(a.getName());
+            keys.add(key);
+            if (id == births.length) {
+                births = Arrays.copyOf(births, id * 2);
+                deaths = Arrays.copyOf(deaths, id * 2);
+            }
+            births[id] = birth;
+            deaths[id] = death;
+            books.add(new IntList());
+            candidates.add(id);
+            return id;
+        }
+
+        private boolean hasRef(int id) {
+            for (int i = bookAuthorOffsets[bookCount]; i < refCount; i++) {
+                if (bookAuthorRefs[i] == id) return true;
+            }
+            return false;
+        }
+
+        private void addRef(int id) {
+            if (refCount == bookAuthorRefs.length) bookAuthorRefs = Arrays.copyOf(bookAuthorRefs, refCount * 2);
+            bookAuthorRefs[refCount++] = id;
+        }
+    }
+
+    private static final class IntList {
+        int[] data = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int get(int i) { return data[i]; }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+}
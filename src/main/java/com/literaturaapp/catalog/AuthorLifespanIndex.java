@@ -0,0 +1,81 @@
+package com.literaturaapp.catalog;
+
+import java.util.*;
+
+import com.literaturaapp.model.Author;
+
+/**
+ * Static interval tree over author lifespans. Intervals are sorted by birth year and
+ * laid out as an implicit balanced tree (the middle of each range is its root), with
+ * the latest death year of every subtree precomputed so whole branches can be skipped.
+ *
+ * <p>An author is alive in year Y when {@code birth <= Y <= death}; an unknown death
+ * year counts as still alive, an unknown birth year is never matched.
+ */
+public final class AuthorLifespanIndex {
+
+    private static final int OPEN_END = Integer.MAX_VALUE;
+
+    private final Author[] authors;
+    private final int[] births;
+    private final int[] deaths;
+    private final int[] maxDeath;
+
+    private AuthorLifespanIndex(Author[] authors, int[] births, int[] deaths) {
+        this.authors = authors;
+        this.births = births;
+        this.deaths = deaths;
+        this.maxDeath = new int[authors.length];
+        fillMaxDeath(0, authors.length - 1);
+    }
+
+    public static AuthorLifespanIndex build(Collection<Author> distinctAuthors) {
+        List<Author> dated = new ArrayList<>(distinctAuthors.size());
+        for (Author a : distinctAuthors) {
+            if (a != null && a.getBirth_year() != null) dated.add(a);
+        }
+        dated.sort(Comparator.comparingInt(Author::getBirth_year));
+        Author[] sorted = dated.toArray(new Author[0]);
+        int[] births = new int[sorted.length];
+        int[] deaths = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            births[i] = sorted[i].getBirth_year();
+            deaths[i] = sorted[i].getDeath_year() == null ? OPEN_END : sorted[i].getDeath_year();
+        }
+        return new AuthorLifespanIndex(sorted, births, deaths);
+    }
+
+    public int size() { return authors.length; }
+
+    /** Authors alive in {@code year}, ordered by birth year. */
+    public List<Author> aliveIn(int year) {
+        return aliveDuring(year, year);
+    }
+
+    /** Authors whose lifespan overlaps {@code [from, to]}, ordered by birth year. */
+    public List<Author> aliveDuring(int from, int to) {
+        List<Author> out = new ArrayList<>();
+        if (from > to) return out;
+        collect(0, authors.length - 1, from, to, out);
+        return out;
+    }
+
+    private void collect(int lo, int hi, int from, int to, List<Author> out) {
+        if (lo > hi) return;
+        int mid = (lo + hi) >>> 1;
+        if (maxDeath[mid] < from) return;
+        collect(lo, mid - 1, from, to, out);
+        // everything to the right was born at or after births[mid]
+        if (births[mid] > to) return;
+        if (deaths[mid] >= from) out.add(authors[mid]);
+        collect(mid + 1, hi, from, to, out);
+    }
+
+    private int fillMaxDeath(int lo, int hi) {
+        if (lo > hi) return Integer.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        int max = Math.max(deaths[mid], Math.max(fillMaxDeath(lo, mid - 1), fillMaxDeath(mid + 1, hi)));
+        maxDeath[mid] = max;
+        return max;
+    }
+}
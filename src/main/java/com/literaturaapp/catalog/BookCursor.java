@@ -0,0 +1,113 @@
+package com.literaturaapp.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * Keyset position in a listing: the sort key of the last book shown. The next page
+ * holds the books that sort after it, so pages stay stable when books are added or
+ * the catalog is reloaded between two requests, and no page has to skip over the
+ * ones before it.
+ */
+public final class BookCursor {
+
+    private final BookOrder order;
+    private final int downloads;
+    private final String title;
+    private final int id;
+    private final boolean start;
+
+    private BookCursor(BookOrder order, int downloads, String title, int id, boolean start) {
+        this.order = Objects.requireNonNull(order);
+        this.downloads = downloads;
+        this.title = title;
+        this.id = id;
+        this.start = start;
+    }
+
+    /** Before the first book. */
+    public static BookCursor start(BookOrder order) {
+        return new BookCursor(order, 0, null, 0, true);
+    }
+
+    /** Right after this book. */
+    public static BookCursor after(Book b, BookOrder order) {
+        return new BookCursor(order, b.getDownload_count(), b.getTitle(), b.getId(), false);
+    }
+
+    public BookOrder getOrder() { return order; }
+
+    public boolean isStart() { return start; }
+
+    public int getDownloads() { return downloads; }
+
+    public String getTitle() { return title; }
+
+    public int getId() { return id; }
+
+    /**
+     * Opaque URL-safe form of the cursor, for clients that page over HTTP.
+     * {@link #parse} reads it back.
+     */
+    public String toToken() {
+        String raw;
+        if (start) raw = order == BookOrder.DOWNLOADS ? "d" : "t";
+        else if (order == BookOrder.DOWNLOADS) raw = "d:" + downloads + ":" + id;
+        else raw = "t:" + id + (title == null ? "" : ":" + title);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Reads a {@link #toToken} value; throws IllegalArgumentException on anything else. */
+    public static BookCursor parse(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor: " + token);
+        }
+        String[] parts = raw.split(":", 3);
+        try {
+            if (parts[0].equals("d")) {
+                if (parts.length == 1) return start(BookOrder.DOWNLOADS);
+                if (parts.length != 3) throw new IllegalArgumentException("invalid cursor: " + token);
+                return new BookCursor(BookOrder.DOWNLOADS, Integer.parseInt(parts[1]), null, Integer.parseInt(parts[2]), false);
+            }
+            if (parts[0].equals("t")) {
+                if (parts.length == 1) return start(BookOrder.TITLE);
+                return new BookCursor(BookOrder.TITLE, 0, parts.length == 3 ? parts[2] : null, Integer.parseInt(parts[1]), false);
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("invalid cursor: " + token);
+    }
+
+    /** True if the book comes after this position in the cursor's order. */
+    public boolean precedes(Book b) {
+        if (start) return true;
+        switch (order) {
+            case DOWNLOADS:
+                if (b.getDownload_count() != downloads) return b.getDownload_count() < downloads;
+                return b.getId() > id;
+            case TITLE:
+                int c = compareTitles(b.getTitle(), title);
+                return c != 0 ? c > 0 : b.getId() > id;
+            default:
+                throw new IllegalStateException("unknown order " + order);
+        }
+    }
+
+    private static int compareTitles(String a, String b) {
+        if (a == null) return b == null ? 0 : -1;
+        return b == null ? 1 : a.compareTo(b);
+    }
+
+    @Override
+    public String toString() {
+        if (start) return "BookCursor{" + order + ", inicio}";
+        return "BookCursor{" + order + ", descargas=" + downloads + ", titulo='" + title + "', id=" + id + "}";
+    }
+}
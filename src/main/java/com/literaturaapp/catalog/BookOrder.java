@@ -0,0 +1,31 @@
+package com.literaturaapp.catalog;
+
+import java.util.Comparator;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * Orders a listing can be paged in. Both end in the book id, so every book has a
+ * unique position and a {@link BookCursor} can resume right after it. Titles compare
+ * like H2 does by default (plain {@link String#compareTo}, missing titles first), so
+ * pages read from the cache and from the mirror line up.
+ */
+public enum BookOrder {
+
+    /** Most downloaded first, then by id. */
+    DOWNLOADS(Comparator.comparingInt(Book::getDownload_count).reversed().thenComparingInt(Book::getId)),
+
+    /** By title, then by id. */
+    TITLE(Comparator.comparing(Book::getTitle, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingInt(Book::getId));
+
+    private final Comparator<Book> comparator;
+
+    BookOrder(Comparator<Book> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<Book> comparator() {
+        return comparator;
+    }
+}
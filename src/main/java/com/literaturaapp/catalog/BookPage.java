@@ -0,0 +1,31 @@
+package com.literaturaapp.catalog;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.literaturaapp.model.Book;
+
+/** One page of a keyset listing and the cursor for the page after it. */
+public final class BookPage {
+
+    private final List<Book> books;
+    private final BookCursor next;
+
+    public BookPage(List<Book> books, BookCursor next) {
+        this.books = Collections.unmodifiableList(books);
+        this.next = next;
+    }
+
+    public static BookPage empty() {
+        return new BookPage(Collections.emptyList(), null);
+    }
+
+    public List<Book> getBooks() { return books; }
+
+    /** Cursor of the following page, or null when this is the last one. */
+    public BookCursor getNext() { return next; }
+
+    public boolean hasNext() { return next != null; }
+
+    public boolean isEmpty() { return books.isEmpty(); }
+}
@@ -0,0 +1,293 @@
+package com.literaturaapp.catalog;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * One immutable version of the cached catalog. Derived structures (search index,
+ * id lookup) are built lazily the first time they are needed and live as long as
+ * the generation does; a refresh publishes a new generation instead of mutating this one.
+ */
+public final class CatalogGeneration {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long number;
+    private final Instant createdAt;
+    private final List<Book> books;
+    // set when the books are a view over a compact columnar store
+    private final ColumnarCatalog columns;
+    private final boolean fullCatalog;
+
+    private volatile AuthorDimension authors;
+    private volatile CatalogSearch search;
+    private volatile AuthorLifespanIndex lifespans;
+    private volatile DownloadRanking ranking;
+    private volatile Map<Integer, Book> byId;
+    // catalog positions in BookOrder.DOWNLOADS / TITLE order, for keyset pages
+    private volatile int[] byDownloads;
+    private volatile int[] byTitle;
+    private volatile DownloadStatistics statistics;
+
+    private CatalogGeneration(List<Book> books, boolean fullCatalog, AuthorDimension authors, CatalogSearch search,
+                              DownloadRanking ranking, int[] byTitle, DownloadStatistics statistics) {
+        this.number = SEQUENCE.incrementAndGet();
+        this.createdAt = Instant.now();
+        this.books = Collections.unmodifiableList(books);
+        this.columns = books instanceof ColumnarCatalog.BookView ? ((ColumnarCatalog.BookView) books).columns() : null;
+        this.fullCatalog = fullCatalog;
+        this.authors = authors;
+        this.search = search;
+        this.ranking = ranking;
+        this.byTitle = byTitle;
+        this.statistics = statistics;
+    }
+
+    /**
+     * @param fullCatalog true when the books are a complete synced catalog, so lookups
+     *                    can be answered locally instead of asking the API
+     */
+    public static CatalogGeneration of(List<Book> books, boolean fullCatalog) {
+        return new CatalogGeneration(books, fullCatalog, null, null, null, null, null);
+    }
+
+    /**
+     * @param columnar keep the books in a {@link ColumnarCatalog} instead of the given objects
+     */
+    public static CatalogGeneration of(List<Book> books, boolean fullCatalog, boolean columnar) {
+        return of(columnar ? ColumnarCatalog.from(books).asBooks() : books, fullCatalog);
+    }
+
+    /**
+     * Next generation after an incremental refresh. When no book was added the
+     * positions, texts and authors are unchanged, so the author dimension and the
+     * search index are carried over, and so is the title order; the
+     * download ranking and statistics, if already built, are updated with the changed
+     * books only.
+     */
+    public CatalogGeneration next(List<Book> merged, List<Book> added, List<Book> updated) {
+        DownloadRanking r = ranking;
+        if (r != null) {
+            List<Book> changed = new ArrayList<>(added.size() + updated.size());
+            changed.addAll(added);
+            changed.addAll(updated);
+            r = r.update(Collections.unmodifiableList(merged), changed);
+        }
+        List<Book> stored = columns != null ? ColumnarCatalog.from(merged).asBooks() : merged;
+        if (r != null && columns != null) r = r.update(stored, Collections.emptyList());
+        DownloadStatistics s = statistics;
+        if (s != null) {
+            Map<Integer, Book> previous = new HashMap<>(updated.size() * 2);
+            for (Book b : updated) {
+                Book old = findById(b.getId());
+                if (old != null) previous.put(b.getId(), old);
+            }
+            // null when it has to be computed again
+            s = s.update(added, updated, previous);
+        }
+        boolean samePositions = added.isEmpty();
+        return new CatalogGeneration(stored, fullCatalog, samePositions ? authors : null, samePositions ? search : null, r,
+                samePositions ? byTitle : null, s);
+    }
+
+    public long getNumber() { return number; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public List<Book> getBooks() { return books; }
+
+    public boolean isFullCatalog() { return fullCatalog; }
+
+    public boolean isEmpty() { return books.isEmpty(); }
+
+    /** The columnar store behind the books, or null for a plain list of objects. */
+    public ColumnarCatalog getColumns() { return columns; }
+
+    /** Distinct authors by identity, with their books; built once per generation. */
+    public AuthorDimension authors() {
+        AuthorDimension a = authors;
+        if (a == null) {
+            synchronized (this) {
+                a = authors;
+                if (a == null) authors = a = AuthorDimension.build(books);
+            }
+        }
+        return a;
+    }
+
+    public CatalogSearch search() {
+        CatalogSearch s = search;
+        if (s == null) {
+            synchronized (this) {
+                s = search;
+                if (s == null) search = s = CatalogSearch.build(books, authors());
+            }
+        }
+        return s;
+    }
+
+    /** Interval index over the distinct authors of this generation. */
+    public AuthorLifespanIndex lifespans() {
+        AuthorLifespanIndex l = lifespans;
+        if (l == null) {
+            synchronized (this) {
+                l = lifespans;
+                if (l == null) lifespans = l = AuthorLifespanIndex.build(authors().authors());
+            }
+        }
+        return l;
+    }
+
+    public DownloadRanking ranking() {
+        DownloadRanking r = ranking;
+        if (r == null) {
+            synchronized (this) {
+                r = ranking;
+                if (r == null) ranking = r = DownloadRanking.build(books, DownloadRanking.DEFAULT_CAPACITY);
+            }
+        }
+        return r;
+    }
+
+    /** Download aggregates and facets of the whole generation, computed once. */
+    public DownloadStatistics statistics() {
+        DownloadStatistics s = statistics;
+        if (s == null) {
+            synchronized (this) {
+                s = statistics;
+                if (s == null) statistics = s = DownloadStatistics.compute(books, columns);
+            }
+        }
+        return s;
+    }
+
+    /** Count, min, max and sum of {@link #statistics()}; each call returns a copy. */
+    public DoubleSummaryStatistics downloadStats() {
+        return statistics().toSummaryStatistics();
+    }
+
+    public List<Book> searchBooks(String query) {
+        int[] hits = search().searchBooks(query);
+        List<Book> out = new ArrayList<>(hits.length);
+        for (int pos : hits) out.add(books.get(pos));
+        return out;
+    }
+
+    /** Books listing the given language code, in catalog order. */
+    public List<Book> booksInLanguage(String code) {
+        List<Book> out = new ArrayList<>();
+        if (columns != null) {
+            BitSet rows = columns.rowsWithLanguage(code);
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) out.add(books.get(row));
+            return out;
+        }
+        for (Book b : books) {
+            if (hasLanguage(b, code)) out.add(b);
+        }
+        return out;
+    }
+
+    /**
+     * Up to {@code size} books after the cursor, in the cursor's order, optionally only
+     * those listing {@code language}. The order is sorted once per generation; a page is
+     * a binary search for the cursor plus a walk over the next positions.
+     */
+    public BookPage page(BookCursor after, int size, String language) {
+        if (size <= 0) throw new IllegalArgumentException("page size must be positive: " + size);
+        int[] sorted = sortedPositions(after.getOrder());
+        BitSet languageRows = null;
+        String code = language == null || language.isBlank() ? null : language.trim();
+        if (code != null && columns != null) languageRows = columns.rowsWithLanguage(code);
+
+        // first index whose book comes after the cursor
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (after.precedes(books.get(sorted[mid]))) hi = mid;
+            else lo = mid + 1;
+        }
+        List<Book> out = new ArrayList<>(Math.min(size, sorted.length - lo));
+        for (int i = lo; i < sorted.length; i++) {
+            int pos = sorted[i];
+            if (languageRows != null && !languageRows.get(pos)) continue;
+            Book b = books.get(pos);
+            if (languageRows == null && code != null && !hasLanguage(b, code)) continue;
+            if (out.size() == size) return new BookPage(out, BookCursor.after(out.get(size - 1), after.getOrder()));
+            out.add(b);
+        }
+        return new BookPage(out, null);
+    }
+
+    private int[] sortedPositions(BookOrder order) {
+        int[] sorted = order == BookOrder.DOWNLOADS ? byDownloads : byTitle;
+        if (sorted == null) {
+            synchronized (this) {
+                sorted = order == BookOrder.DOWNLOADS ? byDownloads : byTitle;
+                if (sorted == null) {
+                    sorted = sort(order);
+                    if (order == BookOrder.DOWNLOADS) byDownloads = sorted;
+                    else byTitle = sorted;
+                }
+            }
+        }
+        return sorted;
+    }
+
+    private int[] sort(BookOrder order) {
+        int n = books.size();
+        // keys are read once; sorting through books.get would decode columnar rows on every compare
+        int[] ids = new int[n], downloads = new int[n];
+        String[] titles = new String[n];
+        for (int i = 0; i < n; i++) {
+            if (columns != null) {
+                ids[i] = columns.id(i);
+                downloads[i] = columns.downloads(i);
+                titles[i] = columns.title(i);
+            } else {
+                Book b = books.get(i);
+                ids[i] = b.getId();
+                downloads[i] = b.getDownload_count();
+                titles[i] = b.getTitle();
+            }
+        }
+        Integer[] positions = new Integer[n];
+        for (int i = 0; i < n; i++) positions[i] = i;
+        Arrays.sort(positions, order == BookOrder.DOWNLOADS
+                ? Comparator.<Integer>comparingInt(i -> downloads[i]).reversed().thenComparingInt(i -> ids[i])
+                : Comparator.<Integer, String>comparing(i -> titles[i], Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparingInt(i -> ids[i]));
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) out[i] = positions[i];
+        return out;
+    }
+
+    private static boolean hasLanguage(Book b, String code) {
+        if (b.getLanguages() == null) return false;
+        for (String l : b.getLanguages()) {
+            if (l != null && l.equalsIgnoreCase(code)) return true;
+        }
+        return false;
+    }
+
+    public Book findById(int id) {
+        if (columns != null) {
+            int row = columns.rowOf(id);
+            return row < 0 ? null : columns.toBook(row);
+        }
+        Map<Integer, Book> m = byId;
+        if (m == null) {
+            synchronized (this) {
+                m = byId;
+                if (m == null) {
+                    m = new HashMap<>(books.size() * 2);
+                    for (Book b : books) m.putIfAbsent(b.getId(), b);
+                    byId = m;
+                }
+            }
+        }
+        return m.get(id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.literaturaapp.catalog;
+
+import java.util.*;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Local search over one catalog generation. Books are indexed by title and author
+ * names (like Gutendex's {@code search} parameter) using their position in the
+ * catalog list; authors come from the generation's {@link AuthorDimension} and are
+ * indexed separately by canonical id.
+ */
+public final class CatalogSearch {
+
+    private final TokenIndex books;
+    private final TokenIndex authorNames;
+    private final List<Author> authors;
+
+    private CatalogSearch(TokenIndex books, TokenIndex authorNames, List<Author> authors) {
+        this.books = books;
+        this.authorNames = authorNames;
+        this.authors = authors;
+    }
+
+    public static CatalogSearch build(List<Book> catalog) {
+        return build(catalog, AuthorDimension.build(catalog));
+    }
+
+    public static CatalogSearch build(List<Book> catalog, AuthorDimension dimension) {
+        TokenIndex.Builder bookIndex = new TokenIndex.Builder();
+        for (int pos = 0; pos < catalog.size(); pos++) {
+            Book b = catalog.get(pos);
+            bookIndex.add(pos, b.getTitle());
+            if (b.getAuthors() == null) continue;
+            for (Author a : b.getAuthors()) {
+                if (a != null && a.getName() != null) bookIndex.add(pos, a.getName());
+            }
+        }
+        TokenIndex.Builder authorIndex = new TokenIndex.Builder();
+        for (int id = 0; id < dimension.size(); id++) authorIndex.add(id, dimension.name(id));
+        return new CatalogSearch(bookIndex.build(), authorIndex.build(), dimension.authors());
+    }
+
+    /** Positions in the catalog list of the books matching every token of the query. */
+    public int[] searchBooks(String query) {
+        return books.search(query);
+    }
+
+    public List<Author> searchAuthors(String query) {
+        int[] hits = authorNames.search(query);
+        List<Author> out = new ArrayList<>(hits.length);
+        for (int h : hits) out.add(authors.get(h));
+        return out;
+    }
+
+    /** Distinct authors by identity, in first-seen catalog order (canonical id order). */
+    public List<Author> getAuthors() {
+        return authors;
+    }
+}
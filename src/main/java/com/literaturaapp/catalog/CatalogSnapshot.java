@@ -0,0 +1,300 @@
+package com.literaturaapp.catalog;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Read-only catalog decoded from a binary snapshot file, so a process can start
+ * offline without parsing any JSON. {@link #write} produces the file and {@link #read}
+ * loads it. The file is copied to the heap, not memory-mapped: the books outlive the
+ * file, which every save replaces, and a mapped file cannot be replaced on Windows.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header   magic, version, book/author/ref/string counts, creation time
+ * books    fixed-width: id, downloads, title, then (start, count) into refs for
+ *          languages, authors and formats
+ * authors  fixed-width: name, birth year, death year
+ * refs     int[]: language strings, author rows, format key/value string pairs
+ * strings  int[] byte offsets, then the UTF-8 bytes of every distinct string
+ * </pre>
+ * Only {@code int} indices are read up front; a book is decoded when
+ * {@link #asBooks()} returns it, and each string is decoded once.
+ */
+public final class CatalogSnapshot {
+
+    private static final long MAGIC = 0x4C49545F534E4150L; // "LIT_SNAP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8 + 4 + 4 * 4 + 8;
+    private static final int BOOK_BYTES = 9 * 4;
+    private static final int AUTHOR_BYTES = 3 * 4;
+    private static final int NO_VALUE = -1;
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final int books;
+    private final int authors;
+    private final long createdAt;
+    private final int booksAt;
+    private final int authorsAt;
+    private final int refsAt;
+    private final int stringOffsetsAt;
+    private final int stringBytesAt;
+    private final String[] strings;
+    private final BookView view = new BookView();
+
+    private CatalogSnapshot(Path path, ByteBuffer data) throws IOException {
+        this.path = path;
+        this.data = data;
+        if (data.capacity() < HEADER_BYTES || data.getLong(0) != MAGIC) {
+            throw new IOException("not a catalog snapshot: " + path);
+        }
+        int version = data.getInt(8);
+        if (version != VERSION) throw new IOException("unsupported snapshot version " + version + ": " + path);
+        this.books = data.getInt(12);
+        this.authors = data.getInt(16);
+        int refs = data.getInt(20);
+        int stringCount = data.getInt(24);
+        this.createdAt = data.getLong(28);
+        long authorsEnd = HEADER_BYTES + (long) books * BOOK_BYTES;
+        long refsEnd = authorsEnd + (long) authors * AUTHOR_BYTES;
+        long offsetsEnd = refsEnd + (long) refs * 4;
+        long stringsAt = offsetsEnd + ((long) stringCount + 1) * 4;
+        if (books < 0 || authors < 0 || refs < 0 || stringCount < 0 || stringsAt > data.capacity()
+                || stringsAt + data.getInt((int) stringsAt - 4) != data.capacity()) {
+            throw new IOException("truncated catalog snapshot: " + path);
+        }
+        this.booksAt = HEADER_BYTES;
+        this.authorsAt = (int) authorsEnd;
+        this.refsAt = (int) refsEnd;
+        this.stringOffsetsAt = (int) offsetsEnd;
+        this.stringBytesAt = (int) stringsAt;
+        this.strings = new String[stringCount];
+    }
+
+    /** Reads the whole snapshot into the heap; nothing stays open on the file. */
+    public static CatalogSnapshot read(Path path) throws IOException {
+        if (Files.size(path) > Integer.MAX_VALUE) throw new IOException("snapshot too large: " + path);
+        return new CatalogSnapshot(path, ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Writes the books to {@code path}. The file is written next to it and moved into
+     * place, so a process reading the previous snapshot never sees a half-written one.
+     */
+    public static void write(List<Book> books, Path path) throws IOException {
+        Writer w = new Writer();
+        for (Book b : books) w.add(b);
+
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                w.writeTo(out);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return books;
+    }
+
+    /** When the snapshot was written, in epoch milliseconds. */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /** Size of the snapshot file in bytes. */
+    public long getSizeBytes() {
+        return data.capacity();
+    }
+
+    public Book toBook(int row) {
+        Objects.checkIndex(row, books);
+        int at = booksAt + row * BOOK_BYTES;
+        Book b = new Book();
+        b.setId(data.getInt(at));
+        b.setDownload_count(data.getInt(at + 4));
+        b.setTitle(string(data.getInt(at + 8)));
+
+        int langStart = data.getInt(at + 12), langCount = data.getInt(at + 16);
+        List<String> languages = new ArrayList<>(langCount);
+        for (int i = 0; i < langCount; i++) languages.add(string(ref(langStart + i)));
+        b.setLanguages(languages);
+
+        int authorStart = data.getInt(at + 20), authorCount = data.getInt(at + 24);
+        List<Author> list = new ArrayList<>(authorCount);
+        for (int i = 0; i < authorCount; i++) list.add(author(ref(authorStart + i)));
+        b.setAuthors(list);
+
+        int formatStart = data.getInt(at + 28), formatCount = data.getInt(at + 32);
+        if (formatCount >= 0) {
+            Map<String, String> formats = new LinkedHashMap<>();
+            for (int i = 0; i < formatCount; i++) {
+                formats.put(string(ref(formatStart + 2 * i)), string(ref(formatStart + 2 * i + 1)));
+            }
+            b.setFormats(formats);
+        }
+        return b;
+    }
+
+    /** The snapshot as a list; each {@code get} decodes a new {@link Book}. */
+    public List<Book> asBooks() {
+        return view;
+    }
+
+    private Author author(int index) {
+        int at = authorsAt + index * AUTHOR_BYTES;
+        Author a = new Author();
+        a.setName(string(data.getInt(at)));
+        int birth = data.getInt(at + 4), death = data.getInt(at + 8);
+        a.setBirth_year(birth == NO_YEAR ? null : birth);
+        a.setDeath_year(death == NO_YEAR ? null : death);
+        return a;
+    }
+
+    private int ref(int index) {
+        return data.getInt(refsAt + index * 4);
+    }
+
+    // absolute reads only, so concurrent readers never touch the buffer's position;
+    // racing decodes of the same string are harmless
+    private String string(int index) {
+        if (index == NO_VALUE) return null;
+        String s = strings[index];
+        if (s == null) {
+            int from = data.getInt(stringOffsetsAt + index * 4);
+            int to = data.getInt(stringOffsetsAt + (index + 1) * 4);
+            byte[] bytes = new byte[to - from];
+            data.get(stringBytesAt + from, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    private final class BookView extends AbstractList<Book> implements RandomAccess {
+        @Override
+        public Book get(int index) {
+            return toBook(index);
+        }
+
+        @Override
+        public int size() {
+            return books;
+        }
+    }
+
+    private static final class Writer {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<byte[]> stringBytes = new ArrayList<>();
+        private int stringLength = 0;
+        private final Map<List<Object>, Integer> authorIds = new HashMap<>();
+        private int[] authorRows = new int[3 * 64];
+        private int[] bookRows = new int[9 * 64];
+        private int[] refs = new int[256];
+        private int bookCount, authorCount, refCount;
+
+        void add(Book b) {
+            int[] row = new int[9];
+            row[0] = b.getId();
+            row[1] = b.getDownload_count();
+            row[2] = string(b.getTitle());
+
+            List<String> languages = b.getLanguages() != null ? b.getLanguages() : Collections.emptyList();
+            row[3] = refCount;
+            row[4] = languages.size();
+            for (String l : languages) ref(string(l));
+
+            List<Author> list = b.getAuthors() != null ? b.getAuthors() : Collections.emptyList();
+            row[5] = refCount;
+            row[6] = list.size();
+            for (Author a : list) ref(author(a));
+
+            // a null formats map stays null, an empty one stays empty
+            Map<String, String> formats = b.getFormats();
+            row[7] = refCount;
+            row[8] = formats != null ? formats.size() : NO_VALUE;
+            if (formats != null) {
+                for (Map.Entry<String, String> e : formats.entrySet()) {
+                    ref(string(e.getKey()));
+                    ref(string(e.getValue()));
+                }
+            }
+
+            if ((bookCount + 1) * 9 > bookRows.length) bookRows = Arrays.copyOf(bookRows, bookRows.length * 2);
+            System.arraycopy(row, 0, bookRows, bookCount * 9, 9);
+            bookCount++;
+        }
+
+        private int author(Author a) {
+            List<Object> key = Arrays.asList(a.getName(), a.getBirth_year(), a.getDeath_year());
+            Integer id = authorIds.get(key);
+            if (id != null) return id;
+            if ((authorCount + 1) * 3 > authorRows.length) authorRows = Arrays.copyOf(authorRows, authorRows.length * 2);
+            authorRows[authorCount * 3] = string(a.getName());
+            authorRows[authorCount * 3 + 1] = a.getBirth_year() != null ? a.getBirth_year() : NO_YEAR;
+            authorRows[authorCount * 3 + 2] = a.getDeath_year() != null ? a.getDeath_year() : NO_YEAR;
+            authorIds.put(key, authorCount);
+            return authorCount++;
+        }
+
+        private void ref(int value) {
+            if (refCount == refs.length) refs = Arrays.copyOf(refs, refs.length * 2);
+            refs[refCount++] = value;
+        }
+
+        private int string(String s) {
+            if (s == null) return NO_VALUE;
+            Integer id = stringIds.get(s);
+            if (id != null) return id;
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            stringBytes.add(bytes);
+            stringLength += bytes.length;
+            if (stringLength < 0) throw new IllegalStateException("string table larger than 2 GB");
+            stringIds.put(s, stringBytes.size() - 1);
+            return stringBytes.size() - 1;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeLong(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(bookCount);
+            out.writeInt(authorCount);
+            out.writeInt(refCount);
+            out.writeInt(stringBytes.size());
+            out.writeLong(System.currentTimeMillis());
+            for (int i = 0; i < bookCount * 9; i++) out.writeInt(bookRows[i]);
+            for (int i = 0; i < authorCount * 3; i++) out.writeInt(authorRows[i]);
+            for (int i = 0; i < refCount; i++) out.writeInt(refs[i]);
+            int offset = 0;
+            for (byte[] s : stringBytes) {
+                out.writeInt(offset);
+                offset += s.length;
+            }
+            out.writeInt(offset);
+            for (byte[] s : stringBytes) out.write(s);
+        }
+    }
+}
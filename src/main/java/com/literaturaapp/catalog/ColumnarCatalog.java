@@ -0,0 +1,338 @@
+package com.literaturaapp.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Compact, read-only catalog laid out in columns instead of one object graph per book:
+ * ids and download counts in {@code int[]}, languages and author names
+ * dictionary-encoded (plus one {@link BitSet} of rows per lower-cased language code
+ * for filtering), and format
+ * URLs packed as UTF-8 bytes that are only decoded when a book's formats are read.
+ *
+ * <p>{@link #asBooks()} exposes it as a {@code List<Book>} so existing code keeps
+ * working; each {@code get} materializes a short-lived {@link Book}.
+ */
+public final class ColumnarCatalog {
+
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final char SEP = '\u0000';
+    private static final char GUTENBERG = '\u0001';
+    private static final String GUTENBERG_PREFIX = "https://www.gutenberg.org/";
+
+    private final int size;
+    private final int[] ids;
+    private final int[] downloads;
+    private final String[] titles;
+    private final int[] rowsById;
+
+    private final String[] languageCodes;
+    private final BitSet[] languageRows;
+    // each row's languages as given, in order
+    private final String[] languageValues;
+    private final int[] languageOffsets;
+    private final int[] languageRefs;
+
+    private final String[] authorNames;
+    private final int[] authorBirth;
+    private final int[] authorDeath;
+    private final int[] authorOffsets;
+    private final int[] authorRefs;
+
+    private final byte[] formatData;
+    private final int[] formatOffsets;
+
+    private final BookView view = new BookView();
+
+    private ColumnarCatalog(Builder b) {
+        this.size = b.size;
+        this.ids = Arrays.copyOf(b.ids, b.size);
+        this.downloads = Arrays.copyOf(b.downloads, b.size);
+        this.titles = Arrays.copyOf(b.titles, b.size);
+        this.languageCodes = b.languageCodes.toArray(new String[0]);
+        this.languageRows = b.languageRows.toArray(new BitSet[0]);
+        this.languageValues = b.languageValues.toArray(new String[0]);
+        this.languageOffsets = Arrays.copyOf(b.languageOffsets, b.size + 1);
+        this.languageRefs = Arrays.copyOf(b.languageRefs, b.languageRefCount);
+        this.authorNames = b.authorNames.toArray(new String[0]);
+        this.authorBirth = Arrays.copyOf(b.authorBirth, b.authorNames.size());
+        this.authorDeath = Arrays.copyOf(b.authorDeath, b.authorNames.size());
+        this.authorOffsets = Arrays.copyOf(b.authorOffsets, b.size + 1);
+        this.authorRefs = Arrays.copyOf(b.authorRefs, b.authorRefCount);
+        this.formatData = Arrays.copyOf(b.formatData, b.formatLength);
+        this.formatOffsets = Arrays.copyOf(b.formatOffsets, b.size + 1);
+        this.rowsById = sortRowsById(ids);
+    }
+
+    public static ColumnarCatalog from(List<Book> books) {
+        Builder b = new Builder(books.size());
+        for (Book book : books) b.add(book);
+        return new ColumnarCatalog(b);
+    }
+
+    public int size() { return size; }
+
+    public int id(int row) { return ids[row]; }
+
+    public int downloads(int row) { return downloads[row]; }
+
+    public String title(int row) { return titles[row]; }
+
+    /** Row holding the given book id, or -1. */
+    public int rowOf(int id) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int v = ids[rowsById[mid]];
+            if (v < id) lo = mid + 1;
+            else if (v > id) hi = mid - 1;
+            else return rowsById[mid];
+        }
+        return -1;
+    }
+
+    public List<String> languageCodes() {
+        return Collections.unmodifiableList(Arrays.asList(languageCodes));
+    }
+
+    /** Rows of books in the given language (a copy, safe to modify). */
+    public BitSet rowsWithLanguage(String code) {
+        for (int i = 0; i < languageCodes.length; i++) {
+            if (languageCodes[i].equalsIgnoreCase(code)) return (BitSet) languageRows[i].clone();
+        }
+        return new BitSet();
+    }
+
+    public List<String> languages(int row) {
+        List<String> out = new ArrayList<>(languageOffsets[row + 1] - languageOffsets[row]);
+        for (int i = languageOffsets[row]; i < languageOffsets[row + 1]; i++) out.add(languageValues[languageRefs[i]]);
+        return out;
+    }
+
+    public List<Author> authors(int row) {
+        List<Author> out = new ArrayList<>(authorOffsets[row + 1] - authorOffsets[row]);
+        for (int i = authorOffsets[row]; i < authorOffsets[row + 1]; i++) {
+            int ref = authorRefs[i];
+            Author a = new Author();
+            a.setName(authorNames[ref]);
+            a.setBirth_year(authorBirth[ref] == NO_YEAR ? null : authorBirth[ref]);
+            a.setDeath_year(authorDeath[ref] == NO_YEAR ? null : authorDeath[ref]);
+            out.add(a);
+        }
+        return out;
+    }
+
+    public Map<String, String> formats(int row) {
+        return new LazyFormats(row);
+    }
+
+    public Book toBook(int row) {
+        Book b = new Book();
+        b.setId(ids[row]);
+        b.setTitle(titles[row]);
+        b.setDownload_count(downloads[row]);
+        b.setLanguages(languages(row));
+        b.setAuthors(authors(row));
+        b.setFormats(formats(row));
+        return b;
+    }
+
+    public List<Book> asBooks() {
+        return view;
+    }
+
+    /** Approximate heap footprint of the columns, in bytes. */
+    public long estimatedBytes() {
+        long bytes = 0;
+        bytes += intArray(ids.length) + intArray(rowsById.length) + intArray(downloads.length);
+        bytes += refArray(titles.length);
+        for (String t : titles) bytes += string(t);
+        bytes += refArray(languageCodes.length) + refArray(languageRows.length);
+        for (int i = 0; i < languageCodes.length; i++) {
+            bytes += string(languageCodes[i]) + 40 + 16 + 8L * ((languageRows[i].size() + 63) / 64);
+        }
+        bytes += refArray(languageValues.length);
+        for (String v : languageValues) bytes += string(v);
+        bytes += intArray(languageOffsets.length) + intArray(languageRefs.length);
+        bytes += refArray(authorNames.length);
+        for (String n : authorNames) bytes += string(n);
+        bytes += intArray(authorBirth.length) + intArray(authorDeath.length);
+        bytes += intArray(authorOffsets.length) + intArray(authorRefs.length);
+        bytes += 16 + formatData.length + intArray(formatOffsets.length);
+        return bytes;
+    }
+
+    private static long intArray(int len) { return 16 + 4L * len; }
+
+    private static long refArray(int len) { return 16 + 4L * len; }
+
+    private static long string(String s) { return s == null ? 0 : 24 + 16 + s.length(); }
+
+    private static int[] sortRowsById(int[] ids) {
+        Integer[] rows = new Integer[ids.length];
+        for (int i = 0; i < rows.length; i++) rows[i] = i;
+        Arrays.sort(rows, Comparator.comparingInt(r -> ids[r]));
+        int[] out = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) out[i] = rows[i];
+        return out;
+    }
+
+    private static String encodeUrl(String url) {
+        if (url != null && url.startsWith(GUTENBERG_PREFIX)) return GUTENBERG + url.substring(GUTENBERG_PREFIX.length());
+        return url == null ? "" : url;
+    }
+
+    private static String decodeUrl(String stored) {
+        if (!stored.isEmpty() && stored.charAt(0) == GUTENBERG) return GUTENBERG_PREFIX + stored.substring(1);
+        return stored;
+    }
+
+    /** The catalog seen as books; materializes a {@link Book} per {@code get}. */
+    public final class BookView extends AbstractList<Book> implements RandomAccess {
+        @Override
+        public Book get(int index) {
+            Objects.checkIndex(index, size);
+            return toBook(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        public ColumnarCatalog columns() {
+            return ColumnarCatalog.this;
+        }
+    }
+
+    /** Decodes a row's packed formats on first access. */
+    private final class LazyFormats extends AbstractMap<String, String> {
+        private final int row;
+        private Map<String, String> decoded;
+
+        LazyFormats(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            if (decoded == null) {
+                Map<String, String> m = new LinkedHashMap<>();
+                int from = formatOffsets[row], to = formatOffsets[row + 1];
+                if (to > from) {
+                    String[] parts = new String(formatData, from, to - from, StandardCharsets.UTF_8).split(String.valueOf(SEP), -1);
+                    for (int i = 0; i + 1 < parts.length; i += 2) m.put(parts[i], decodeUrl(parts[i + 1]));
+                }
+                decoded = m;
+            }
+            return decoded.entrySet();
+        }
+    }
+
+    private static final class Builder {
+        int size;
+        int[] ids;
+        int[] downloads;
+        String[] titles;
+
+        final List<String> languageCodes = new ArrayList<>();
+        final List<BitSet> languageRows = new ArrayList<>();
+        final Map<String, Integer> languageIndex = new HashMap<>();
+        final List<String> languageValues = new ArrayList<>();
+        final Map<String, Integer> languageValueIndex = new HashMap<>();
+        int[] languageOffsets;
+        int[] languageRefs = new int[64];
+        int languageRefCount;
+
+        final List<String> authorNames = new ArrayList<>();
+        int[] authorBirth = new int[64];
+        int[] authorDeath = new int[64];
+        final Map<String, Integer> authorIndex = new HashMap<>();
+        int[] authorOffsets;
+        int[] authorRefs = new int[64];
+        int authorRefCount;
+
+        byte[] formatData = new byte[1024];
+        int formatLength;
+        int[] formatOffsets;
+
+        Builder(int capacity) {
+            ids = new int[capacity];
+            downloads = new int[capacity];
+            titles = new String[capacity];
+            authorOffsets = new int[capacity + 1];
+            languageOffsets = new int[capacity + 1];
+            formatOffsets = new int[capacity + 1];
+        }
+
+        void add(Book book) {
+            int row = size++;
+            ids[row] = book.getId();
+            downloads[row] = book.getDownload_count();
+            titles[row] = book.getTitle();
+
+            if (book.getLanguages() != null) {
+                for (String lang : book.getLanguages()) {
+                    if (lang == null) continue;
+                    if (languageRefCount == languageRefs.length) languageRefs = Arrays.copyOf(languageRefs, languageRefCount * 2);
+                    languageRefs[languageRefCount++] = languageValueIndex.computeIfAbsent(lang, v -> {
+                        languageValues.add(v);
+                        return languageValues.size() - 1;
+                    });
+                    String code = lang.trim().toLowerCase(Locale.ROOT);
+                    Integer idx = languageIndex.get(code);
+                    if (idx == null) {
+                        idx = languageCodes.size();
+                        languageIndex.put(code, idx);
+                        languageCodes.add(code);
+                        languageRows.add(new BitSet());
+                    }
+                    languageRows.get(idx).set(row);
+                }
+            }
+            languageOffsets[row + 1] = languageRefCount;
+
+            if (book.getAuthors() != null) {
+                for (Author a : book.getAuthors()) {
+                    if (a == null) continue;
+                    if (authorRefCount == authorRefs.length) authorRefs = Arrays.copyOf(authorRefs, authorRefCount * 2);
+                    authorRefs[authorRefCount++] = authorRef(a);
+                }
+            }
+            authorOffsets[row + 1] = authorRefCount;
+
+            if (book.getFormats() != null && !book.getFormats().isEmpty()) {
+                StringBuilder sb = new StringBuilder();
+                for (Map.Entry<String, String> e : book.getFormats().entrySet()) {
+                    sb.append(e.getKey()).append(SEP).append(encodeUrl(e.getValue())).append(SEP);
+                }
+                byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+                if (formatLength + bytes.length > formatData.length) {
+                    formatData = Arrays.copyOf(formatData, Math.max(formatData.length * 2, formatLength + bytes.length));
+                }
+                System.arraycopy(bytes, 0, formatData, formatLength, bytes.length);
+                formatLength += bytes.length;
+            }
+            formatOffsets[row + 1] = formatLength;
+        }
+
+        private int authorRef(Author a) {
+            String key = a.getName() + '|' + a.getBirth_year() + '|' + a.getDeath_year();
+            Integer ref = authorIndex.get(key);
+            if (ref != null) return ref;
+            ref = authorNames.size();
+            authorIndex.put(key, ref);
+            authorNames.add(a.getName());
+            if (ref == authorBirth.length) {
+                authorBirth = Arrays.copyOf(authorBirth, ref * 2);
+                authorDeath = Arrays.copyOf(authorDeath, ref * 2);
+            }
+            authorBirth[ref] = a.getBirth_year() == null ? NO_YEAR : a.getBirth_year();
+            authorDeath[ref] = a.getDeath_year() == null ? NO_YEAR : a.getDeath_year();
+            return ref;
+        }
+    }
+}
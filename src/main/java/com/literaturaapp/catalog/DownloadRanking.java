@@ -0,0 +1,148 @@
+package com.literaturaapp.catalog;
+
+import java.util.*;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * Precomputed most-downloaded lists, overall and per language, each holding the top
+ * {@code capacity} books. Reads up to that size are a sublist of a ready list; larger
+ * ad-hoc requests fall back to a bounded min-heap pass over the catalog.
+ */
+public final class DownloadRanking {
+
+    public static final int DEFAULT_CAPACITY = 100;
+
+    static final Comparator<Book> MOST_DOWNLOADED =
+            Comparator.comparingInt(Book::getDownload_count).reversed().thenComparingInt(Book::getId);
+
+    private final List<Book> source;
+    private final int capacity;
+    private final List<Book> overall;
+    private final Map<String, List<Book>> byLanguage;
+
+    private DownloadRanking(List<Book> source, int capacity, List<Book> overall, Map<String, List<Book>> byLanguage) {
+        this.source = source;
+        this.capacity = capacity;
+        this.overall = overall;
+        this.byLanguage = byLanguage;
+    }
+
+    public static DownloadRanking build(List<Book> books, int capacity) {
+        TopK all = new TopK(capacity);
+        Map<String, TopK> langs = new HashMap<>();
+        for (Book b : books) {
+            all.offer(b);
+            for (String lang : languagesOf(b)) {
+                langs.computeIfAbsent(lang, k -> new TopK(capacity)).offer(b);
+            }
+        }
+        Map<String, List<Book>> byLanguage = new HashMap<>();
+        langs.forEach((lang, heap) -> byLanguage.put(lang, heap.sorted()));
+        return new DownloadRanking(books, capacity, all.sorted(), byLanguage);
+    }
+
+    public int getCapacity() { return capacity; }
+
+    public List<Book> top(int n) {
+        if (n <= 0) return Collections.emptyList();
+        if (n <= capacity) return overall.subList(0, Math.min(n, overall.size()));
+        TopK heap = new TopK(n);
+        for (Book b : source) heap.offer(b);
+        return heap.sorted();
+    }
+
+    public List<Book> top(String language, int n) {
+        if (language == null || language.isBlank()) return top(n);
+        String code = normalize(language);
+        if (n <= 0) return Collections.emptyList();
+        if (n <= capacity) {
+            List<Book> ranked = byLanguage.getOrDefault(code, Collections.emptyList());
+            return ranked.subList(0, Math.min(n, ranked.size()));
+        }
+        TopK heap = new TopK(n);
+        for (Book b : source) {
+            if (languagesOf(b).contains(code)) heap.offer(b);
+        }
+        return heap.sorted();
+    }
+
+    /**
+     * Ranking for the catalog after a delta. Lists are merged with the changed books
+     * only; a list is rebuilt from the catalog if one of its members lost downloads,
+     * since a book outside the top could have overtaken it.
+     */
+    public DownloadRanking update(List<Book> newSource, Collection<Book> changed) {
+        if (changed.isEmpty()) return new DownloadRanking(newSource, capacity, overall, byLanguage);
+        Map<Integer, Book> changedById = new HashMap<>();
+        for (Book b : changed) changedById.put(b.getId(), b);
+
+        List<Book> newOverall = merge(overall, changed, changedById, newSource, null);
+        Map<String, List<Book>> newByLanguage = new HashMap<>(byLanguage);
+        Map<String, List<Book>> changedByLanguage = new HashMap<>();
+        for (Book b : changed) {
+            for (String lang : languagesOf(b)) changedByLanguage.computeIfAbsent(lang, k -> new ArrayList<>()).add(b);
+        }
+        changedByLanguage.forEach((lang, books) -> newByLanguage.put(lang,
+                merge(byLanguage.getOrDefault(lang, Collections.emptyList()), books, changedById, newSource, lang)));
+        return new DownloadRanking(newSource, capacity, newOverall, newByLanguage);
+    }
+
+    private List<Book> merge(List<Book> ranked, Collection<Book> changed, Map<Integer, Book> changedById,
+                             List<Book> newSource, String language) {
+        TopK heap = new TopK(capacity);
+        for (Book old : ranked) {
+            Book now = changedById.get(old.getId());
+            if (now == null) {
+                heap.offer(old);
+            } else if (now.getDownload_count() < old.getDownload_count()) {
+                TopK rebuilt = new TopK(capacity);
+                for (Book b : newSource) {
+                    if (language == null || languagesOf(b).contains(language)) rebuilt.offer(b);
+                }
+                return rebuilt.sorted();
+            }
+        }
+        for (Book b : changed) heap.offer(b);
+        return heap.sorted();
+    }
+
+    private static List<String> languagesOf(Book b) {
+        if (b.getLanguages() == null || b.getLanguages().isEmpty()) return Collections.emptyList();
+        List<String> out = new ArrayList<>(b.getLanguages().size());
+        for (String l : b.getLanguages()) {
+            if (l != null) out.add(normalize(l));
+        }
+        return out;
+    }
+
+    private static String normalize(String lang) {
+        return lang.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Bounded min-heap keeping the k most downloaded books offered to it. */
+    private static final class TopK {
+        private final int k;
+        private final PriorityQueue<Book> heap;
+
+        TopK(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)) + 1, MOST_DOWNLOADED.reversed());
+        }
+
+        void offer(Book b) {
+            if (heap.size() < k) {
+                heap.add(b);
+            } else if (MOST_DOWNLOADED.compare(b, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(b);
+            }
+        }
+
+        List<Book> sorted() {
+            List<Book> out = new ArrayList<>(heap);
+            out.sort(MOST_DOWNLOADED);
+            return Collections.unmodifiableList(out);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.literaturaapp.catalog;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Download count aggregates of one catalog generation, computed in a single pass:
+ * count, sum, min, max and mean, p50/p90/p99 from a {@link QuantileSketch}, a
+ * histogram by order of magnitude, and facets (books and downloads) by language and
+ * by the century in which the authors were born.
+ *
+ * <p>Large catalogs are aggregated in parallel on the common fork/join pool, each
+ * worker filling its own partial result that is then merged. After an incremental
+ * refresh {@link #update} adjusts a copy by the changed books instead of going over
+ * the catalog again.
+ */
+public final class DownloadStatistics {
+
+    /** Catalogs smaller than this are aggregated on the calling thread. */
+    static final int PARALLEL_THRESHOLD = 8_192;
+
+    /** Century facet of books with no author birth year. */
+    public static final int UNKNOWN_CENTURY = 0;
+
+    // bucket 0 holds 0 downloads, bucket k holds [10^(k-1), 10^k)
+    private static final int HISTOGRAM_BUCKETS = 11;
+
+    private final long count;
+    private final long sum;
+    private final int min;
+    private final int max;
+    // books at min and max, so a changed count only forces a full pass when the last one moves inwards
+    private final long atMin;
+    private final long atMax;
+    private final QuantileSketch sketch;
+    private final long[] histogram;
+    private final Map<String, Facet> languages;
+    private final Map<Integer, Facet> centuries;
+
+    private DownloadStatistics(Partial p) {
+        this.count = p.count;
+        this.sum = p.sum;
+        this.min = p.count == 0 ? 0 : p.min;
+        this.max = p.count == 0 ? 0 : p.max;
+        this.atMin = p.atMin;
+        this.atMax = p.atMax;
+        this.sketch = p.sketch;
+        this.histogram = p.histogram;
+        this.languages = Collections.unmodifiableMap(new TreeMap<>(p.languages));
+        this.centuries = Collections.unmodifiableMap(new TreeMap<>(p.centuries));
+    }
+
+    /**
+     * @param columns the columnar store behind {@code books}, or null; download counts
+     *                are then read from its int column instead of building each book
+     */
+    public static DownloadStatistics compute(List<Book> books, ColumnarCatalog columns) {
+        IntStream rows = IntStream.range(0, books.size());
+        if (books.size() >= PARALLEL_THRESHOLD) rows = rows.parallel();
+        Partial total = rows.collect(Partial::new, (p, row) -> {
+            if (columns != null) {
+                p.add(columns.downloads(row), columns.languages(row), columns.authors(row));
+            } else {
+                Book b = books.get(row);
+                p.add(b.getDownload_count(), b.getLanguages(), b.getAuthors());
+            }
+        }, Partial::merge);
+        return new DownloadStatistics(total);
+    }
+
+    public static DownloadStatistics compute(List<Book> books) {
+        return compute(books, null);
+    }
+
+    /**
+     * Statistics after an incremental refresh: {@code added} books are counted and each
+     * book in {@code updated} replaces its version in {@code previous} (by id). Returns null when the only book at the minimum or maximum moved inwards,
+     * since the new extreme is then only known by going over the catalog again.
+     */
+    public DownloadStatistics update(Collection<Book> added, Collection<Book> updated, Map<Integer, Book> previous) {
+        Partial p = new Partial(this);
+        for (Book b : updated) {
+            Book old = previous.get(b.getId());
+            if (old == null || !p.move(old, b)) return null;
+        }
+        for (Book b : added) p.add(b.getDownload_count(), b.getLanguages(), b.getAuthors());
+        return new DownloadStatistics(p);
+    }
+
+    public long getCount() { return count; }
+
+    public long getSum() { return sum; }
+
+    public int getMin() { return min; }
+
+    public int getMax() { return max; }
+
+    public double getMean() {
+        return count == 0 ? 0 : sum / (double) count;
+    }
+
+    /** Download count at quantile {@code q} (0..1), within 1% of the exact value. */
+    public double percentile(double q) {
+        return Math.min(max, Math.max(min, sketch.quantile(q)));
+    }
+
+    public double getP50() { return percentile(0.50); }
+
+    public double getP90() { return percentile(0.90); }
+
+    public double getP99() { return percentile(0.99); }
+
+    /** Books per order of magnitude of downloads, labelled "0", "1-9", "10-99", ...; empty buckets at the top are left out. */
+    public Map<String, Long> histogram() {
+        int last = HISTOGRAM_BUCKETS - 1;
+        while (last > 0 && histogram[last] == 0) last--;
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (int i = 0; i <= last; i++) out.put(histogramLabel(i), histogram[i]);
+        return out;
+    }
+
+    /** By lower-cased language code. */
+    public Map<String, Facet> byLanguage() { return languages; }
+
+    /**
+     * By century of the authors' birth (19 for 1801-1900, negative before the common
+     * era); a book is counted once per distinct century of its authors.
+     */
+    public Map<Integer, Facet> byAuthorCentury() { return centuries; }
+
+    public DoubleSummaryStatistics toSummaryStatistics() {
+        return count == 0 ? new DoubleSummaryStatistics() : new DoubleSummaryStatistics(count, min, max, sum);
+    }
+
+    static int century(int year) {
+        return Math.floorDiv(year - 1, 100) + 1;
+    }
+
+    private static int histogramBucket(int downloads) {
+        if (downloads <= 0) return 0;
+        int bucket = 1;
+        for (long bound = 10; downloads >= bound && bucket < HISTOGRAM_BUCKETS - 1; bound *= 10) bucket++;
+        return bucket;
+    }
+
+    private static String histogramLabel(int bucket) {
+        if (bucket == 0) return "0";
+        long low = (long) Math.pow(10, bucket - 1);
+        return low + "-" + (low * 10 - 1);
+    }
+
+    /** Books and their total downloads in one facet value. */
+    public static final class Facet {
+        private final long books;
+        private final long downloads;
+
+        Facet(long books, long downloads) {
+            this.books = books;
+            this.downloads = downloads;
+        }
+
+        public long getBooks() { return books; }
+
+        public long getDownloads() { return downloads; }
+
+        Facet plus(long books, long downloads) {
+            return new Facet(this.books + books, this.downloads + downloads);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Facet && ((Facet) o).books == books && ((Facet) o).downloads == downloads;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(books) * 31 + Long.hashCode(downloads);
+        }
+
+        @Override
+        public String toString() {
+            return books + " libros, " + downloads + " descargas";
+        }
+    }
+
+    /** What one worker has aggregated so far. */
+    private static final class Partial {
+        long count;
+        long sum;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long atMin;
+        long atMax;
+        final QuantileSketch sketch;
+        final long[] histogram;
+        final Map<String, Facet> languages;
+        final Map<Integer, Facet> centuries;
+
+        Partial() {
+            sketch = new QuantileSketch();
+            histogram = new long[HISTOGRAM_BUCKETS];
+            languages = new HashMap<>();
+            centuries = new HashMap<>();
+        }
+
+        Partial(DownloadStatistics s) {
+            count = s.count;
+            sum = s.sum;
+            min = s.count == 0 ? Integer.MAX_VALUE : s.min;
+            max = s.count == 0 ? Integer.MIN_VALUE : s.max;
+            atMin = s.atMin;
+            atMax = s.atMax;
+            sketch = s.sketch.copy();
+            histogram = s.histogram.clone();
+            languages = new HashMap<>(s.languages);
+            centuries = new HashMap<>(s.centuries);
+        }
+
+        void add(int downloads, List<String> langs, List<Author> authors) {
+            count++;
+            sum += downloads;
+            facets(langs, authors, 1, downloads);
+            sketch.add(downloads);
+            histogram[histogramBucket(downloads)]++;
+            observe(downloads, 1);
+        }
+
+        /** A known book changed; false when the new min or max cannot be told. */
+        boolean move(Book old, Book now) {
+            int from = old.getDownload_count();
+            int to = now.getDownload_count();
+            facets(old.getLanguages(), old.getAuthors(), -1, -from);
+            facets(now.getLanguages(), now.getAuthors(), 1, to);
+            if (from == to) return true;
+            if (from == min && --atMin == 0 && to > from) return false;
+            if (from == max && --atMax == 0 && to < from) return false;
+            sum += (long) to - from;
+            sketch.remove(from);
+            sketch.add(to);
+            histogram[histogramBucket(from)]--;
+            histogram[histogramBucket(to)]++;
+            observe(to, 1);
+            return true;
+        }
+
+        private void observe(int value, long books) {
+            observeMin(value, books);
+            observeMax(value, books);
+        }
+
+        private void observeMin(int value, long books) {
+            if (value < min || atMin == 0) {
+                min = value;
+                atMin = books;
+            } else if (value == min) {
+                atMin += books;
+            }
+        }
+
+        private void observeMax(int value, long books) {
+            if (value > max || atMax == 0) {
+                max = value;
+                atMax = books;
+            } else if (value == max) {
+                atMax += books;
+            }
+        }
+
+        private void facets(List<String> langs, List<Author> authors, long books, long downloads) {
+            for (String lang : distinctLanguages(langs)) {
+                languages.merge(lang, new Facet(books, downloads), Partial::combine);
+            }
+            for (int century : distinctCenturies(authors)) {
+                centuries.merge(century, new Facet(books, downloads), Partial::combine);
+            }
+        }
+
+        // null drops a facet value whose last book moved out of it
+        private static Facet combine(Facet a, Facet b) {
+            Facet s = a.plus(b.books, b.downloads);
+            return s.books == 0 ? null : s;
+        }
+
+        void merge(Partial other) {
+            if (other.count == 0) return;
+            count += other.count;
+            sum += other.sum;
+            observeMin(other.min, other.atMin);
+            observeMax(other.max, other.atMax);
+            sketch.merge(other.sketch);
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) histogram[i] += other.histogram[i];
+            other.languages.forEach((k, v) -> languages.merge(k, v, Partial::combine));
+            other.centuries.forEach((k, v) -> centuries.merge(k, v, Partial::combine));
+        }
+
+        private static Collection<String> distinctLanguages(List<String> langs) {
+            if (langs == null || langs.isEmpty()) return Collections.emptyList();
+            if (langs.size() == 1) {
+                String l = langs.get(0);
+                return l == null ? Collections.emptyList() : Collections.singletonList(l.trim().toLowerCase(Locale.ROOT));
+            }
+            Set<String> out = new LinkedHashSet<>();
+            for (String l : langs) {
+                if (l != null) out.add(l.trim().toLowerCase(Locale.ROOT));
+            }
+            return out;
+        }
+
+        private static Collection<Integer> distinctCenturies(List<Author> authors) {
+            Set<Integer> out = new LinkedHashSet<>(2);
+            if (authors != null) {
+                for (Author a : authors) {
+                    if (a != null && a.getBirth_year() != null) out.add(century(a.getBirth_year()));
+                }
+            }
+            if (out.isEmpty()) out.add(UNKNOWN_CENTURY);
+            return out;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.literaturaapp.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Quantiles of non-negative int values with a bounded relative error, in the manner
+ * of DDSketch: value {@code v >= 1} is counted in bucket {@code ceil(log_gamma(v))},
+ * so any quantile is answered within {@link #RELATIVE_ACCURACY} of the true value.
+ * Buckets are plain counters, so sketches built on separate chunks merge by adding
+ * them, and a value can be removed again when a book's download count changes.
+ */
+public final class QuantileSketch {
+
+    /** Largest relative error of a quantile (1%). */
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    // enough buckets for Integer.MAX_VALUE
+    private static final int BUCKETS = (int) Math.ceil(Math.log(Integer.MAX_VALUE) / LOG_GAMMA) + 1;
+
+    private final long[] counts;
+    private long zeros;
+    private long count;
+
+    public QuantileSketch() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private QuantileSketch(QuantileSketch other) {
+        this.counts = other.counts.clone();
+        this.zeros = other.zeros;
+        this.count = other.count;
+    }
+
+    public void add(int value) {
+        if (value <= 0) zeros++;
+        else counts[bucket(value)]++;
+        count++;
+    }
+
+    /** Takes back a value added before. */
+    public void remove(int value) {
+        if (value <= 0) zeros--;
+        else counts[bucket(value)]--;
+        count--;
+    }
+
+    public void merge(QuantileSketch other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        zeros += other.zeros;
+        count += other.count;
+    }
+
+    public QuantileSketch copy() {
+        return new QuantileSketch(this);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** The value at quantile {@code q} (0..1), or 0 when empty. */
+    public double quantile(double q) {
+        if (count == 0) return 0;
+        long rank = (long) Math.floor(Math.min(Math.max(q, 0), 1) * (count - 1));
+        if (rank < zeros) return 0;
+        long seen = zeros;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen > rank) return value(i);
+        }
+        return value(BUCKETS - 1);
+    }
+
+    private static int bucket(int value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    // the point of the bucket (gamma^(i-1), gamma^i] with the same relative distance to both ends
+    private static double value(int bucket) {
+        return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof QuantileSketch)) return false;
+        QuantileSketch s = (QuantileSketch) o;
+        return count == s.count && zeros == s.zeros && Arrays.equals(counts, s.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts) * 31 + Long.hashCode(zeros);
+    }
+}
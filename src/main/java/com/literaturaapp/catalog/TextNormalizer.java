@@ -0,0 +1,40 @@
+package com.literaturaapp.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Lower-cases and strips accents so "Canción" and "cancion" produce the same token.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {}
+
+    public static String fold(String s) {
+        if (s == null) return "";
+        if (isAscii(s)) return s.toLowerCase(Locale.ROOT);
+        String decomposed = Normalizer.normalize(s, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokens(String s) {
+        List<String> out = new ArrayList<>();
+        for (String t : SEPARATORS.split(fold(s))) {
+            if (!t.isEmpty()) out.add(t);
+        }
+        return out;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0x7f) return false;
+        }
+        return true;
+    }
+}
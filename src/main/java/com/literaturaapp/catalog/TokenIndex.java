@@ -0,0 +1,116 @@
+package com.literaturaapp.catalog;
+
+import java.util.*;
+
+/**
+ * Immutable inverted index: sorted, accent-folded terms, each with a sorted posting
+ * list of document numbers. A query matches documents containing every query token
+ * as a prefix of one of their terms.
+ */
+public final class TokenIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final String[] terms;
+    private final int[][] postings;
+
+    private TokenIndex(String[] terms, int[][] postings) {
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public int termCount() { return terms.length; }
+
+    public int[] search(String query) {
+        List<String> tokens = TextNormalizer.tokens(query);
+        if (tokens.isEmpty()) return EMPTY;
+        int[] result = null;
+        for (String token : tokens) {
+            int[] docs = prefix(token);
+            result = result == null ? docs : intersect(result, docs);
+            if (result.length == 0) break;
+        }
+        return result;
+    }
+
+    /** Union of the posting lists of every term starting with {@code prefix}. */
+    public int[] prefix(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < terms.length && terms[to].startsWith(prefix)) to++;
+        if (to == from) return EMPTY;
+        if (to == from + 1) return postings[from];
+        int total = 0;
+        for (int i = from; i < to; i++) total += postings[i].length;
+        int[] all = new int[total];
+        int n = 0;
+        for (int i = from; i < to; i++) {
+            System.arraycopy(postings[i], 0, all, n, postings[i].length);
+            n += postings[i].length;
+        }
+        Arrays.sort(all);
+        return dedupe(all);
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0, hi = terms.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].compareTo(key) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int[] dedupe(int[] sorted) {
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || sorted[n - 1] != sorted[i]) sorted[n++] = sorted[i];
+        }
+        return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+    }
+
+    public static class Builder {
+        private final Map<String, Postings> growing = new HashMap<>();
+
+        /** Documents must be added in increasing order. */
+        public Builder add(int doc, String text) {
+            for (String token : TextNormalizer.tokens(text)) {
+                growing.computeIfAbsent(token, k -> new Postings()).add(doc);
+            }
+            return this;
+        }
+
+        public TokenIndex build() {
+            String[] terms = growing.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            int[][] postings = new int[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                Postings p = growing.get(terms[i]);
+                postings[i] = Arrays.copyOf(p.docs, p.size);
+            }
+            return new TokenIndex(terms, postings);
+        }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[2];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) return;
+            if (size == docs.length) docs = Arrays.copyOf(docs, size * 2);
+            docs[size++] = doc;
+        }
+    }
+}
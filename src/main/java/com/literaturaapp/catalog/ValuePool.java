@@ -0,0 +1,70 @@
+package com.literaturaapp.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.literaturaapp.model.Author;
+
+/**
+ * Canonical instances of the values books repeat: one {@link Author} per person and
+ * one unmodifiable list per language combination. Decoders that share a pool give
+ * every book of a person the same Author object, instead of one copy per book.
+ * Pooled values are shared and must not be modified.
+ */
+public final class ValuePool {
+
+    private final ConcurrentHashMap<AuthorKey, Author> authors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<List<String>, List<String>> languages = new ConcurrentHashMap<>();
+
+    public Author author(Author a) {
+        if (a == null) return null;
+        return authors.computeIfAbsent(new AuthorKey(a.getName(), a.getBirth_year(), a.getDeath_year()), k -> a);
+    }
+
+    /** Unmodifiable list of the pooled authors, in the same order. */
+    public List<Author> authors(List<Author> list) {
+        if (list == null || list.isEmpty()) return Collections.emptyList();
+        if (list.size() == 1) return Collections.singletonList(author(list.get(0)));
+        List<Author> pooled = new ArrayList<>(list.size());
+        for (Author a : list) pooled.add(author(a));
+        return Collections.unmodifiableList(pooled);
+    }
+
+    public List<String> languages(List<String> codes) {
+        if (codes == null || codes.isEmpty()) return Collections.emptyList();
+        List<String> key = List.copyOf(codes);
+        List<String> pooled = languages.putIfAbsent(key, key);
+        return pooled != null ? pooled : key;
+    }
+
+    public int authorCount() {
+        return authors.size();
+    }
+
+    private static final class AuthorKey {
+        final String name;
+        final Integer birth;
+        final Integer death;
+
+        AuthorKey(String name, Integer birth, Integer death) {
+            this.name = name;
+            this.birth = birth;
+            this.death = death;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof AuthorKey)) return false;
+            AuthorKey k = (AuthorKey) o;
+            return Objects.equals(name, k.name) && Objects.equals(birth, k.birth) && Objects.equals(death, k.death);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, birth, death);
+        }
+    }
+}
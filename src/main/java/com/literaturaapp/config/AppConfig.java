@@ -1,13 +1,28 @@
 package com.literaturaapp.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
+    @Bean(destroyMethod = "close")
+    public GutendexHttpClientFactory gutendexHttpClientFactory(
+            @Value("${gutendex.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${gutendex.http.read-timeout-ms:30000}") long readTimeoutMs,
+            @Value("${gutendex.http.max-connections-per-host:8}") int maxConnectionsPerHost,
+            @Value("${gutendex.http.compression:true}") boolean compression,
+            @Value("${gutendex.http.http2:true}") boolean http2) {
+        return new GutendexHttpClientFactory(Duration.ofMillis(connectTimeoutMs), Duration.ofMillis(readTimeoutMs),
+                maxConnectionsPerHost, compression, http2);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(GutendexHttpClientFactory httpClients, GutendexMetrics metrics) {
+        metrics.httpClient(httpClients.getRestTemplateMetrics());
+        return httpClients.restTemplate();
     }
 }
@@ -0,0 +1,249 @@
+package com.literaturaapp.config;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPromise;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds the HTTP clients used to talk to Gutendex, all with the same settings:
+ * pooled keep-alive connections capped per host, gzip/deflate negotiation with
+ * transparent decompression, connect and read timeouts, and HTTP/2 over TLS where the
+ * server offers it (WebClient only; Apache's classic client used under RestTemplate
+ * speaks HTTP/1.1). Each client records its traffic in an {@link HttpClientMetrics}.
+ *
+ * <p>The connection pools are built once per factory and shared by every client it
+ * hands out; {@link #close()} releases them.
+ */
+public class GutendexHttpClientFactory implements AutoCloseable {
+
+    private final Duration readTimeout;
+    private final int maxConnectionsPerHost;
+    private final boolean compression;
+
+    private final HttpClientMetrics webClientMetrics = new HttpClientMetrics("webclient");
+    private final HttpClientMetrics restTemplateMetrics = new HttpClientMetrics("resttemplate");
+
+    private final ConnectionProvider webClientPool;
+    // Reactor Netty keys its pools by client configuration too, so the clients are built once
+    private final HttpClient httpClient;
+    private final HttpClient h2Client;
+    private final PoolingHttpClientConnectionManager restTemplatePool;
+
+    public GutendexHttpClientFactory(Duration connectTimeout, Duration readTimeout, int maxConnectionsPerHost,
+                                     boolean compression, boolean http2) {
+        if (maxConnectionsPerHost < 1) throw new IllegalArgumentException("maxConnectionsPerHost must be >= 1");
+        this.readTimeout = readTimeout;
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+        this.compression = compression;
+        this.webClientPool = ConnectionProvider.builder("gutendex")
+                .maxConnections(maxConnectionsPerHost)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+        ChannelHandler counter = new NettyByteCounter(webClientMetrics);
+        this.httpClient = HttpClient.create(webClientPool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(compression)
+                .doOnChannelInit((observer, channel, address) -> {
+                    webClientMetrics.connectionOpened();
+                    channel.pipeline().addFirst("gutendex.bytes", counter);
+                })
+                .doOnRequest((request, connection) -> webClientMetrics.requestSent());
+        // h2 is negotiated through ALPN, so it is only offered on TLS connections
+        this.h2Client = http2 ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : httpClient;
+        this.restTemplatePool = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", new CountingPlainSocketFactory(restTemplateMetrics))
+                        .register("https", new CountingSslSocketFactory(restTemplateMetrics))
+                        .build());
+        restTemplatePool.setMaxTotal(maxConnectionsPerHost * 2);
+        restTemplatePool.setDefaultMaxPerRoute(maxConnectionsPerHost);
+        restTemplatePool.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .setSocketTimeout(Timeout.of(readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .setTimeToLive(Timeout.ofMinutes(5))
+                .build());
+    }
+
+    public static GutendexHttpClientFactory defaults() {
+        return new GutendexHttpClientFactory(Duration.ofSeconds(5), Duration.ofSeconds(30), 8, true, true);
+    }
+
+    public HttpClientMetrics getWebClientMetrics() { return webClientMetrics; }
+
+    public HttpClientMetrics getRestTemplateMetrics() { return restTemplateMetrics; }
+
+    public int getMaxConnectionsPerHost() { return maxConnectionsPerHost; }
+
+    /** WebClient over a Reactor Netty client on the factory's connection pool. */
+    public WebClient webClient(String baseUrl) {
+        HttpClient client = baseUrl.startsWith("https:") ? h2Client : httpClient;
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(client))
+                .build();
+    }
+
+    /** RestTemplate over an Apache HttpClient 5 on the factory's connection pool. */
+    public RestTemplate restTemplate() {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(restTemplatePool)
+                // closing one client must not close the pool the others use
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        .build())
+                .addRequestInterceptorLast((request, entity, context) -> restTemplateMetrics.requestSent());
+        if (!compression) builder.disableContentCompression();
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(builder.build()));
+    }
+
+    /** Closes both connection pools; called by Spring when the context shuts down. */
+    @Override
+    public void close() {
+        webClientPool.dispose();
+        restTemplatePool.close();
+    }
+
+    @ChannelHandler.Sharable
+    private static final class NettyByteCounter extends ChannelDuplexHandler {
+        private final HttpClientMetrics metrics;
+
+        NettyByteCounter(HttpClientMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            metrics.received(size(msg));
+            super.channelRead(ctx, msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            metrics.sent(size(msg));
+            super.write(ctx, msg, promise);
+        }
+
+        private static long size(Object msg) {
+            if (msg instanceof ByteBuf) return ((ByteBuf) msg).readableBytes();
+            if (msg instanceof ByteBufHolder) return ((ByteBufHolder) msg).content().readableBytes();
+            return 0;
+        }
+    }
+
+    private static final class CountingPlainSocketFactory extends PlainConnectionSocketFactory {
+        private final HttpClientMetrics metrics;
+
+        CountingPlainSocketFactory(HttpClientMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) {
+            metrics.connectionOpened();
+            return new CountingSocket(metrics);
+        }
+    }
+
+    private static final class CountingSslSocketFactory extends SSLConnectionSocketFactory {
+        private final HttpClientMetrics metrics;
+
+        CountingSslSocketFactory(HttpClientMetrics metrics) {
+            super(SSLContexts.createSystemDefault());
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) {
+            metrics.connectionOpened();
+            // TLS is layered on top of this socket, so encrypted bytes are counted
+            return new CountingSocket(metrics);
+        }
+    }
+
+    private static final class CountingSocket extends Socket {
+        private final HttpClientMetrics metrics;
+        private InputStream countingIn;
+        private OutputStream countingOut;
+
+        CountingSocket(HttpClientMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (countingIn == null) {
+                countingIn = new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) metrics.received(1);
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buf, int off, int len) throws IOException {
+                        int n = super.read(buf, off, len);
+                        if (n > 0) metrics.received(n);
+                        return n;
+                    }
+                };
+            }
+            return countingIn;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (countingOut == null) {
+                countingOut = new FilterOutputStream(super.getOutputStream()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        metrics.sent(1);
+                    }
+
+                    @Override
+                    public void write(byte[] buf, int off, int len) throws IOException {
+                        out.write(buf, off, len);
+                        metrics.sent(len);
+                    }
+                };
+            }
+            return countingOut;
+        }
+    }
+}
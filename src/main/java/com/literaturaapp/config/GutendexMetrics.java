@@ -0,0 +1,202 @@
+package com.literaturaapp.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.service.CircuitBreaker;
+import com.literaturaapp.service.ResponseCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * The application's meters, in one place so both services name and tag them alike.
+ * Exposed by Actuator at {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code gutendex.requests}: timer per upstream call, tagged {@code client}
+ *       (webclient, resttemplate), {@code operation} and {@code outcome}, with fixed
+ *       latency buckets so the page fetch latency histogram can be read directly</li>
+ *   <li>{@code gutendex.decode}: time spent parsing response JSON</li>
+ *   <li>{@code gutendex.retries}: upstream calls attempted again after a failure</li>
+ *   <li>{@code gutendex.rejected}, {@code gutendex.breaker.state}: calls refused by the
+ *       circuit breaker and its current state</li>
+ *   <li>{@code gutendex.crawl}, {@code gutendex.crawl.pages}, {@code gutendex.crawl.books}:
+ *       duration and size of full and delta crawls</li>
+ *   <li>{@code catalog.books}, {@code catalog.generation}, {@code catalog.age}: the
+ *       generation each service is serving</li>
+ *   <li>{@code cache.gets}, {@code cache.size}, {@code cache.evictions}: lookup caches</li>
+ *   <li>{@code literatura.menu}: latency of each console menu operation</li>
+ * </ul>
+ */
+@Component
+public class GutendexMetrics {
+
+    public static final String WEBCLIENT = "webclient";
+    public static final String RESTTEMPLATE = "resttemplate";
+
+    // upper bounds of the request latency histogram
+    private static final Duration[] LATENCY_BUCKETS = {
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10)};
+
+    private final MeterRegistry registry;
+
+    public GutendexMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Meters kept in memory only; used when a service is built without Spring. */
+    public static GutendexMetrics standalone() {
+        return new GutendexMetrics(new SimpleMeterRegistry());
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /** Times the call from subscription to its result or error. */
+    public <T> Mono<T> upstream(String client, String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(v -> recordRequest(client, operation, "success", System.nanoTime() - start))
+                    .doOnError(e -> recordRequest(client, operation, "error", System.nanoTime() - start));
+        });
+    }
+
+    /** Blocking form of {@link #upstream(String, String, Mono)}. */
+    public <T> T upstreamBlocking(String client, String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            recordRequest(client, operation, "success", System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            recordRequest(client, operation, "error", System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private void recordRequest(String client, String operation, String outcome, long nanos) {
+        Timer.builder("gutendex.requests")
+                .description("Calls to the Gutendex API")
+                .tags("client", client, "operation", operation, "outcome", outcome)
+                .serviceLevelObjectives(LATENCY_BUCKETS)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void decoded(String client, long nanos) {
+        Timer.builder("gutendex.decode")
+                .description("JSON decoding of Gutendex responses")
+                .tag("client", client)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void retry(String client, String operation) {
+        Counter.builder("gutendex.retries")
+                .description("Gutendex calls attempted again after a failure")
+                .tags("client", client, "operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    /** A call refused by the open circuit breaker, never sent upstream. */
+    public void rejected(String client, String operation) {
+        Counter.builder("gutendex.rejected")
+                .description("Gutendex calls refused while the circuit breaker is open")
+                .tags("client", client, "operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    /** 0 closed, 1 half-open, 2 open. */
+    public void breaker(CircuitBreaker breaker) {
+        Gauge.builder("gutendex.breaker.state", breaker, b -> b.getState() == CircuitBreaker.State.OPEN ? 2
+                        : b.getState() == CircuitBreaker.State.HALF_OPEN ? 1 : 0)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    /** Records one crawl; {@code kind} is full or delta. */
+    public void crawled(String kind, boolean complete, int pages, int books, long nanos) {
+        Timer.builder("gutendex.crawl")
+                .tags("kind", kind, "outcome", complete ? "complete" : "interrupted")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("gutendex.crawl.pages").tag("kind", kind).register(registry).increment(pages);
+        Counter.builder("gutendex.crawl.books").tag("kind", kind).register(registry).increment(books);
+    }
+
+    /** Gauges of the generation a service is serving; the supplier may return null. */
+    public void catalog(String service, Supplier<CatalogGeneration> current) {
+        Gauge.builder("catalog.books", current, c -> {
+                    CatalogGeneration g = c.get();
+                    return g == null ? 0 : g.getBooks().size();
+                })
+                .tag("service", service)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("catalog.generation", current, c -> {
+                    CatalogGeneration g = c.get();
+                    return g == null ? 0 : g.getNumber();
+                })
+                .tag("service", service)
+                .strongReference(true)
+                .register(registry);
+        TimeGauge.builder("catalog.age", current, TimeUnit.MILLISECONDS, c -> {
+                    CatalogGeneration g = c.get();
+                    return g == null ? Double.NaN : Duration.between(g.getCreatedAt(), Instant.now()).toMillis();
+                })
+                .tag("service", service)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    public void cache(String service, ResponseCache<?, ?> cache) {
+        String name = cache.stats().getName();
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHits())
+                .tags("service", service, "cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMisses())
+                .tags("service", service, "cache", name, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", cache, ResponseCache::size)
+                .tags("service", service, "cache", name)
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictions() + c.stats().getExpirations())
+                .tags("service", service, "cache", name)
+                .register(registry);
+    }
+
+    /** Wire counters of a shared HTTP client. */
+    public void httpClient(HttpClientMetrics client) {
+        FunctionCounter.builder("gutendex.http.bytes.received", client, HttpClientMetrics::getBytesReceived)
+                .tag("client", client.getName())
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("gutendex.http.connections.opened", client, HttpClientMetrics::getConnectionsOpened)
+                .tag("client", client.getName())
+                .register(registry);
+    }
+
+    public void menu(String console, String option, long nanos) {
+        Timer.builder("literatura.menu")
+                .description("Console menu operations, including the time waiting for input")
+                .tags("console", console, "option", option)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,53 @@
+package com.literaturaapp.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wire-level counters of one HTTP client: bytes as they cross the socket (so after
+ * compression and including headers), requests sent and connections opened. A
+ * request that did not need a new connection reused a pooled, kept-alive one.
+ */
+public class HttpClientMetrics {
+
+    private final String name;
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    public HttpClientMetrics(String name) {
+        this.name = name;
+    }
+
+    void received(long bytes) { bytesReceived.addAndGet(bytes); }
+
+    void sent(long bytes) { bytesSent.addAndGet(bytes); }
+
+    void requestSent() { requests.incrementAndGet(); }
+
+    void connectionOpened() { connectionsOpened.incrementAndGet(); }
+
+    public String getName() { return name; }
+
+    public long getBytesReceived() { return bytesReceived.get(); }
+
+    public long getBytesSent() { return bytesSent.get(); }
+
+    public long getRequests() { return requests.get(); }
+
+    public long getConnectionsOpened() { return connectionsOpened.get(); }
+
+    /** Share of requests served over an already open connection, 0 to 1. */
+    public double getConnectionReuseRatio() {
+        long r = requests.get();
+        if (r == 0) return 0;
+        return Math.max(0, 1 - (double) connectionsOpened.get() / r);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d peticiones, %d conexiones (%.0f%% reutilizadas), %.1f KB recibidos, %.1f KB enviados",
+                name, getRequests(), getConnectionsOpened(), getConnectionReuseRatio() * 100,
+                getBytesReceived() / 1024.0, getBytesSent() / 1024.0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.literaturaapp.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates H2's native full-text index on {@code persona.nombre}, used by
+ * {@code PersonaRepository.buscarPorNombre}. H2 keeps it up to date with triggers.
+ * Runs after the schema exists (hence the EntityManagerFactory dependency) and is a
+ * no-op once the index is there.
+ */
+@Component
+public class PersonaFullTextIndex {
+
+    private final JdbcTemplate jdbc;
+
+    public PersonaFullTextIndex(JdbcTemplate jdbc, EntityManagerFactory schemaReady) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    public void create() {
+        try {
+            jdbc.execute("CREATE ALIAS IF NOT EXISTS FT_INIT FOR 'org.h2.fulltext.FullText.init'");
+            jdbc.execute("CALL FT_INIT()");
+            Integer existing = jdbc.queryForObject(
+                    "select count(*) from FT.INDEXES where \"SCHEMA\" = 'PUBLIC' and \"TABLE\" = 'PERSONA'", Integer.class);
+            if (existing == null || existing == 0) jdbc.execute("CALL FT_CREATE_INDEX('PUBLIC', 'PERSONA', 'NOMBRE')");
+        } catch (Exception e) {
+            System.err.println("Error creando el índice de texto completo: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.literaturaapp.controller;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.literaturaapp.catalog.BookCursor;
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.BookPage;
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.catalog.DownloadStatistics;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.BookPageResponse;
+import com.literaturaapp.model.CatalogStatsResponse;
+import com.literaturaapp.service.GutendexService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only JSON API over the in-memory catalog. Every answer comes from one catalog
+ * generation, so the generation is the validator: responses carry a weak ETag and
+ * Last-Modified taken from it and a conditional GET is answered with 304 until the
+ * catalog is replaced. {@code GET /api/books} with {@code Accept: application/x-ndjson}
+ * streams the whole listing one page at a time instead of building it in memory.
+ */
+@RestController
+@RequestMapping("/api")
+public class CatalogApiController {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_RESULTS = 1000;
+
+    private final GutendexService gutendex;
+
+    public CatalogApiController(GutendexService gutendex) {
+        this.gutendex = gutendex;
+    }
+
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BookPageResponse> books(@RequestParam(defaultValue = "downloads") String order,
+                                        @RequestParam(required = false) String lang,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                        ServerWebExchange exchange) {
+        BookCursor after = cursor(cursor, order);
+        int pageSize = limit(size, MAX_PAGE_SIZE);
+        return current(exchange).map(g -> {
+            BookPage page = g.page(after, pageSize, lang);
+            return new BookPageResponse(page.getBooks(), page.hasNext() ? page.getNext().toToken() : null);
+        });
+    }
+
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Book> streamBooks(@RequestParam(defaultValue = "downloads") String order,
+                                  @RequestParam(required = false) String lang,
+                                  ServerWebExchange exchange) {
+        BookCursor start = BookCursor.start(order(order));
+        // each page is cut only when the previous one has been written out
+        return current(exchange).flatMapMany(g -> Mono.fromSupplier(() -> g.page(start, MAX_PAGE_SIZE, lang))
+                .expand(p -> p.hasNext() ? Mono.fromSupplier(() -> g.page(p.getNext(), MAX_PAGE_SIZE, lang)) : Mono.empty())
+                .concatMapIterable(BookPage::getBooks));
+    }
+
+    @GetMapping("/books/{id}")
+    public Mono<Book> book(@PathVariable int id, ServerWebExchange exchange) {
+        return current(exchange).flatMap(g -> Mono.justOrEmpty(g.findById(id)))
+                .switchIfEmpty(Mono.defer(() -> notModified(exchange) ? Mono.empty()
+                        : Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Libro no encontrado: " + id))));
+    }
+
+    @GetMapping("/books/search")
+    public Mono<List<Book>> search(@RequestParam String q,
+                                   @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                   ServerWebExchange exchange) {
+        if (q.isBlank()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q vacío");
+        int n = limit(limit, MAX_RESULTS);
+        return current(exchange).map(g -> {
+            List<Book> found = g.searchBooks(q);
+            return found.size() > n ? found.subList(0, n) : found;
+        });
+    }
+
+    @GetMapping("/books/top")
+    public Mono<List<Book>> top(@RequestParam(defaultValue = "10") int n,
+                                @RequestParam(required = false) String lang,
+                                ServerWebExchange exchange) {
+        int count = limit(n, MAX_RESULTS);
+        return current(exchange).map(g -> lang == null || lang.isBlank() ? g.ranking().top(count) : g.ranking().top(lang, count));
+    }
+
+    @GetMapping("/authors/alive")
+    public Mono<List<Author>> aliveIn(@RequestParam int year, ServerWebExchange exchange) {
+        return current(exchange).map(g -> g.lifespans().aliveIn(year));
+    }
+
+    @GetMapping("/stats")
+    public Mono<CatalogStatsResponse> stats(ServerWebExchange exchange) {
+        return current(exchange).map(g -> {
+            DownloadStatistics s = g.statistics();
+            CatalogStatsResponse body = new CatalogStatsResponse(s.getCount(), s.getMin(), s.getMax(), s.getMean(),
+                    s.getSum(), g.getNumber(), g.getCreatedAt());
+            body.setP50Downloads(s.getP50());
+            body.setP90Downloads(s.getP90());
+            body.setP99Downloads(s.getP99());
+            body.setHistogram(s.histogram());
+            body.setLanguages(facets(s.byLanguage()));
+            body.setCenturies(facets(s.byAuthorCentury()));
+            return body;
+        });
+    }
+
+    private static <K> Map<K, CatalogStatsResponse.Facet> facets(Map<K, DownloadStatistics.Facet> facets) {
+        Map<K, CatalogStatsResponse.Facet> out = new LinkedHashMap<>();
+        facets.forEach((k, f) -> out.put(k, new CatalogStatsResponse.Facet(f.getBooks(), f.getDownloads())));
+        return out;
+    }
+
+    /**
+     * The generation to answer from, or empty when the request's validators still match
+     * it (the exchange has then been set to 304). ETag and Last-Modified are set either way.
+     */
+    private Mono<CatalogGeneration> current(ServerWebExchange exchange) {
+        return gutendex.catalogAsync().filter(g -> !exchange.checkNotModified(etag(g), lastModified(g)));
+    }
+
+    private static boolean notModified(ServerWebExchange exchange) {
+        return exchange.getResponse().getStatusCode() == HttpStatus.NOT_MODIFIED;
+    }
+
+    static String etag(CatalogGeneration g) {
+        return "W/\"" + g.getNumber() + "-" + Long.toHexString(g.getCreatedAt().toEpochMilli()) + "\"";
+    }
+
+    // HTTP dates have one-second precision
+    private static Instant lastModified(CatalogGeneration g) {
+        return Instant.ofEpochSecond(g.getCreatedAt().getEpochSecond());
+    }
+
+    private static BookCursor cursor(String token, String order) {
+        if (token == null || token.isBlank()) return BookCursor.start(order(order));
+        try {
+            return BookCursor.parse(token);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor inválido");
+        }
+    }
+
+    private static BookOrder order(String order) {
+        try {
+            return BookOrder.valueOf(order.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "order debe ser downloads o title");
+        }
+    }
+
+    private static int limit(int requested, int max) {
+        if (requested < 1) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "el tamaño debe ser positivo");
+        return Math.min(requested, max);
+    }
+}
@@ -1,22 +1,29 @@
 
 package com.literaturaapp.controller;
 
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.DownloadStatistics;
+import com.literaturaapp.service.ConsolePager;
+import com.literaturaapp.service.DeltaSyncResult;
 import com.literaturaapp.service.ServicioLiteratura;
 import com.literaturaapp.model.Book;
 import com.literaturaapp.model.Author;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Scanner;
-import java.util.DoubleSummaryStatistics;
+import java.util.regex.Pattern;
 
 @Component
+@ConditionalOnProperty(name = "console.enabled", havingValue = "true", matchIfMissing = true)
 public class LiteraturaConsoleController implements CommandLineRunner {
 
     private final ServicioLiteratura servicio;
     private final Scanner scanner = new Scanner(System.in);
+    private static final Pattern MENU_OPTION = Pattern.compile("[1-9]|10");
 
     private static final String ANSI_RESET = "\u001B[0m";
     private static final String ANSI_BOLD = "\u001B[1m";
@@ -43,6 +50,7 @@ public class LiteraturaConsoleController implements CommandLineRunner {
             printMenu();
             System.out.print(ANSI_CYAN + "Seleccione una opción: " + ANSI_RESET);
             String opt = scanner.nextLine().trim();
+            long started = System.nanoTime();
             switch (opt) {
                 case "0":
                     farewellAndExit();
@@ -72,8 +80,13 @@ public class LiteraturaConsoleController implements CommandLineRunner {
                     uiShowStatistics();
                     break;
                 case "9":
+                    DeltaSyncResult delta = servicio.refreshIncremental();
+                    System.out.println(ANSI_GREEN + "Cache refrescada" + (delta != null ? " (" + delta + ")" : "") + ". Pulsa ENTER para continuar..." + ANSI_RESET);
+                    scanner.nextLine();
+                    break;
+                case "10":
                     servicio.refreshCache();
-                    System.out.println(ANSI_GREEN + "Cache refrescada. Pulsa ENTER para continuar..." + ANSI_RESET);
+                    System.out.println(ANSI_GREEN + "Cache recargada por completo. Pulsa ENTER para continuar..." + ANSI_RESET);
                     scanner.nextLine();
                     break;
                 default:
@@ -81,6 +94,8 @@ public class LiteraturaConsoleController implements CommandLineRunner {
                     scanner.nextLine();
                     break;
             }
+            // includes the "Pulsa ENTER" wait of each view
+            if (MENU_OPTION.matcher(opt).matches()) servicio.getMetrics().menu("controller", opt, System.nanoTime() - started);
         }
     }
 
@@ -97,11 +112,12 @@ public class LiteraturaConsoleController implements CommandLineRunner {
         System.out.println("  2) Listar todos los libros registrados");
         System.out.println("  3) Listar todos los autores registrados");
         System.out.println("  4) Listar autores vivos en un año dado");
-        System.out.println("  5) Filtrar por idioma (listado completo desde la API)");
+        System.out.println("  5) Filtrar por idioma (por páginas)");
         System.out.println("  6) Top 10 libros más descargados");
         System.out.println("  7) Buscar autor por nombre");
         System.out.println("  8) Mostrar estadísticas generales");
-        System.out.println("  9) Refrescar cache de la API");
+        System.out.println("  9) Refrescar cache de la API (incremental)");
+        System.out.println(" 10) Recargar cache completa");
         System.out.println("  0) Salir");
         System.out.println();
     }
@@ -131,24 +147,22 @@ public class LiteraturaConsoleController implements CommandLineRunner {
     }
 
     private void uiListAllBooks() {
-        List<Book> list = servicio.listAllBooks();
-        if (list == null || list.isEmpty()) {
-            System.out.println(ANSI_YELLOW + "No hay libros cargados." + ANSI_RESET);
-            pause();
-            return;
-        }
+        BookOrder order = ConsolePager.askOrder(scanner);
         // ask if user wants to apply a language filter
         System.out.print("¿Deseás filtrar la lista por idioma? (s/N): ");
         String ans = scanner.nextLine().trim().toLowerCase();
+        String code = null;
         if (ans.equals("s") || ans.equals("si") || ans.equals("y") || ans.equals("yes")) {
             System.out.print("Ingresá código de idioma (ej: en, es, fr) o dejá vacío para todos: ");
             String lang = scanner.nextLine().trim();
-            if (lang != null && !lang.isEmpty()) {
-                final String code = lang.toLowerCase();
-                list = list.stream().filter(b -> b.getLanguages()!=null && b.getLanguages().stream().anyMatch(l -> l.equalsIgnoreCase(code))).collect(java.util.stream.Collectors.toList());
-            }
+            if (!lang.isEmpty()) code = lang.toLowerCase();
+        }
+        final String filter = code;
+        int shown = ConsolePager.show(scanner, order,
+                cursor -> servicio.booksPage(cursor, ConsolePager.PAGE_SIZE, filter), this::printBooksTable);
+        if (shown == 0) {
+            System.out.println(ANSI_YELLOW + "No hay libros cargados." + ANSI_RESET);
         }
-        printBooksTable(list);
         pause();
     }
 
@@ -178,11 +192,10 @@ public class LiteraturaConsoleController implements CommandLineRunner {
     private void uiFilterByLanguage() {
         System.out.print("Ingresá el código de idioma (ej: en, es, fr) o dejá vacío para listar todos: ");
         String lang = scanner.nextLine().trim();
-        List<Book> list = servicio.listBooksByLanguage(lang);
-        if (list == null || list.isEmpty()) {
+        int shown = ConsolePager.show(scanner, BookOrder.DOWNLOADS,
+                cursor -> servicio.booksPage(cursor, ConsolePager.PAGE_SIZE, lang), this::printBooksTable);
+        if (shown == 0) {
             System.out.println(ANSI_YELLOW + "No se encontraron libros para el idioma: " + (lang.isEmpty() ? "todos" : lang) + ANSI_RESET);
-        } else {
-            printBooksTable(list);
         }
         pause();
     }
@@ -206,13 +219,21 @@ public class LiteraturaConsoleController implements CommandLineRunner {
     }
 
     private void uiShowStatistics() {
-        DoubleSummaryStatistics st = servicio.downloadStats();
+        DownloadStatistics st = servicio.statistics();
         System.out.println("Estadísticas de descargas:");
-        System.out.println("  Total libros: " + servicio.listAllBooks().size());
-        System.out.println("  Min: " + (long)st.getMin());
-        System.out.println("  Max: " + (long)st.getMax());
-        System.out.println("  Avg: " + (long)st.getAverage());
-        System.out.println("  Sum: " + (long)st.getSum());
+        System.out.println("  Total libros: " + st.getCount());
+        System.out.println("  Min: " + st.getMin());
+        System.out.println("  Max: " + st.getMax());
+        System.out.println("  Avg: " + (long)st.getMean());
+        System.out.println("  Sum: " + st.getSum());
+        System.out.println("  p50/p90/p99: " + (long)st.getP50() + " / " + (long)st.getP90() + " / " + (long)st.getP99());
+        System.out.println("  Histograma:");
+        st.histogram().forEach((bucket, n) -> System.out.printf("    %-12s %d%n", bucket, n));
+        System.out.println("  Por idioma:");
+        st.byLanguage().forEach((lang, f) -> System.out.println("    " + lang + ": " + f));
+        System.out.println("  Por siglo del autor:");
+        st.byAuthorCentury().forEach((c, f) ->
+                System.out.println("    " + (c == DownloadStatistics.UNKNOWN_CENTURY ? "desconocido" : c) + ": " + f));
         pause();
     }
 
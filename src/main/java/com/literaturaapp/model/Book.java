@@ -4,6 +4,12 @@ import java.util.List;
 import java.util.Map;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+/**
+ * The one book type of the application: decoded from Gutendex, held by the shared
+ * catalog generation and the caches, and mapped to {@link Libro} for persistence.
+ * Once published a book is shared by both services and is not modified; a changed
+ * download count is a new Book (see {@code CatalogDelta}).
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Book {
     private int id;
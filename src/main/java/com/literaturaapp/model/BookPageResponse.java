@@ -0,0 +1,25 @@
+package com.literaturaapp.model;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /api/books}: the books and the cursor token to pass as
+ * {@code cursor} for the next page (null on the last one).
+ */
+public class BookPageResponse {
+    private List<Book> books;
+    private String next;
+
+    public BookPageResponse() {}
+
+    public BookPageResponse(List<Book> books, String next) {
+        this.books = books;
+        this.next = next;
+    }
+
+    public List<Book> getBooks() { return books; }
+    public void setBooks(List<Book> books) { this.books = books; }
+
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+}
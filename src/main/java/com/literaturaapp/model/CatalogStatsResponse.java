@@ -0,0 +1,94 @@
+package com.literaturaapp.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** Body of {@code GET /api/stats}: download statistics of the catalog being served. */
+public class CatalogStatsResponse {
+    private long books;
+    private long minDownloads;
+    private long maxDownloads;
+    private double avgDownloads;
+    private long totalDownloads;
+    private long generation;
+    private Instant loadedAt;
+    private double p50Downloads;
+    private double p90Downloads;
+    private double p99Downloads;
+    private Map<String, Long> histogram;
+    private Map<String, Facet> languages;
+    private Map<Integer, Facet> centuries;
+
+    public CatalogStatsResponse() {}
+
+    public CatalogStatsResponse(long books, long minDownloads, long maxDownloads, double avgDownloads,
+                                long totalDownloads, long generation, Instant loadedAt) {
+        this.books = books;
+        this.minDownloads = minDownloads;
+        this.maxDownloads = maxDownloads;
+        this.avgDownloads = avgDownloads;
+        this.totalDownloads = totalDownloads;
+        this.generation = generation;
+        this.loadedAt = loadedAt;
+    }
+
+    public long getBooks() { return books; }
+    public void setBooks(long books) { this.books = books; }
+
+    public long getMinDownloads() { return minDownloads; }
+    public void setMinDownloads(long minDownloads) { this.minDownloads = minDownloads; }
+
+    public long getMaxDownloads() { return maxDownloads; }
+    public void setMaxDownloads(long maxDownloads) { this.maxDownloads = maxDownloads; }
+
+    public double getAvgDownloads() { return avgDownloads; }
+    public void setAvgDownloads(double avgDownloads) { this.avgDownloads = avgDownloads; }
+
+    public long getTotalDownloads() { return totalDownloads; }
+    public void setTotalDownloads(long totalDownloads) { this.totalDownloads = totalDownloads; }
+
+    public long getGeneration() { return generation; }
+    public void setGeneration(long generation) { this.generation = generation; }
+
+    public Instant getLoadedAt() { return loadedAt; }
+    public void setLoadedAt(Instant loadedAt) { this.loadedAt = loadedAt; }
+
+    public double getP50Downloads() { return p50Downloads; }
+    public void setP50Downloads(double p50Downloads) { this.p50Downloads = p50Downloads; }
+
+    public double getP90Downloads() { return p90Downloads; }
+    public void setP90Downloads(double p90Downloads) { this.p90Downloads = p90Downloads; }
+
+    public double getP99Downloads() { return p99Downloads; }
+    public void setP99Downloads(double p99Downloads) { this.p99Downloads = p99Downloads; }
+
+    /** Books per order of magnitude of downloads. */
+    public Map<String, Long> getHistogram() { return histogram; }
+    public void setHistogram(Map<String, Long> histogram) { this.histogram = histogram; }
+
+    public Map<String, Facet> getLanguages() { return languages; }
+    public void setLanguages(Map<String, Facet> languages) { this.languages = languages; }
+
+    /** By century of the authors' birth; 0 is unknown. */
+    public Map<Integer, Facet> getCenturies() { return centuries; }
+    public void setCenturies(Map<Integer, Facet> centuries) { this.centuries = centuries; }
+
+    /** Books and their total downloads in one language or century. */
+    public static class Facet {
+        private long books;
+        private long downloads;
+
+        public Facet() {}
+
+        public Facet(long books, long downloads) {
+            this.books = books;
+            this.downloads = downloads;
+        }
+
+        public long getBooks() { return books; }
+        public void setBooks(long books) { this.books = books; }
+
+        public long getDownloads() { return downloads; }
+        public void setDownloads(long downloads) { this.downloads = downloads; }
+    }
+}
@@ -3,36 +3,67 @@ package com.literaturaapp.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
+import java.util.Map;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
-import jakarta.persistence.Transient;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity
-@Table(name = "libros")
+@Table(name = "libros", indexes = {
+        @Index(name = "idx_libro_descargas", columnList = "downloadCount DESC, id"),
+        @Index(name = "idx_libro_titulo", columnList = "title, id")
+})
 public class Libro {
 
     @Id
     private Integer id;
 
+    @Column(length = 1024)
     private String title;
 
     @JsonProperty("download_count")
     private Integer downloadCount;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "libro_languages")
+    // codes are stored lower-cased (see LibroBulkWriter), so lookups are equality on this index
+    @CollectionTable(name = "libro_languages", indexes = @Index(name = "idx_libro_idioma", columnList = "language, libro_id"))
     @Column(name = "language")
+    @OrderColumn(name = "position")
+    @Fetch(FetchMode.SUBSELECT)
     private List<String> languages;
 
-    // authors from Gutendex; not persisted as a relation in this simple model
-    @Transient
-    private List<Autor> authors;
+    // one Persona row per person, shared by all of their books
+    @ManyToMany
+    @JoinTable(name = "libro_autor",
+            joinColumns = @JoinColumn(name = "libro_id"),
+            inverseJoinColumns = @JoinColumn(name = "persona_id"),
+            indexes = @Index(name = "idx_libro_autor_persona", columnList = "persona_id"))
+    @OrderColumn(name = "position")
+    @Fetch(FetchMode.SUBSELECT)
+    private List<Persona> authors;
+
+    @ElementCollection
+    @CollectionTable(name = "libro_formatos")
+    @MapKeyColumn(name = "mime_type")
+    @Column(name = "url", length = 1024)
+    @Fetch(FetchMode.SUBSELECT)
+    private Map<String, String> formats;
+
+    // hash of the stored content; a re-sync only rewrites books whose hash changed
+    private Long huella;
 
     public Libro() {}
 
@@ -48,8 +79,14 @@ public class Libro {
     public List<String> getIdiomas() { return languages; }
     public void setIdiomas(List<String> languages) { this.languages = languages; }
 
-    public List<Autor> getAutores() { return authors; }
-    public void setAutores(List<Autor> authors) { this.authors = authors; }
+    public List<Persona> getAutores() { return authors; }
+    public void setAutores(List<Persona> authors) { this.authors = authors; }
+
+    public Map<String, String> getFormatos() { return formats; }
+    public void setFormatos(Map<String, String> formats) { this.formats = formats; }
+
+    public Long getHuella() { return huella; }
+    public void setHuella(Long huella) { this.huella = huella; }
 
     @Override
     public String toString() {
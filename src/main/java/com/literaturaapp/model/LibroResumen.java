@@ -0,0 +1,11 @@
+package com.literaturaapp.model;
+
+/**
+ * Projection of {@link Libro} for list screens: only the columns of {@code libros},
+ * no collections.
+ */
+public interface LibroResumen {
+    Integer getId();
+    String getTitle();
+    Integer getDownloadCount();
+}
@@ -5,16 +5,28 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import java.util.Date;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_persona_vida", columnList = "anioNacimiento, anioFallecimiento"),
+        @Index(name = "idx_persona_clave", columnList = "clave")
+})
 public class Persona {
 
+    // ids come from a sequence in blocks, so inserts can be batched (IDENTITY forces one insert per row)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "persona_seq")
+    @SequenceGenerator(name = "persona_seq", sequenceName = "persona_seq", allocationSize = 500)
     private Long id;
 
     private String nombre;
+    // identity key of the name (see AuthorDimension.nameKey); with the years it identifies the person
+    @Column(length = 512)
+    private String clave;
     private Integer edad;
     private Integer anioNacimiento;
     private Integer anioFallecimiento;
@@ -48,6 +60,14 @@ public class Persona {
         this.nombre = nombre;
     }
 
+    public String getClave() {
+        return clave;
+    }
+
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
     public Integer getEdad() {
         return edad;
     }
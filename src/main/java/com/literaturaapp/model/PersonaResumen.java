@@ -0,0 +1,11 @@
+package com.literaturaapp.model;
+
+/**
+ * Projection of {@link Persona} with the name and life years.
+ */
+public interface PersonaResumen {
+    Long getId();
+    String getNombre();
+    Integer getAnioNacimiento();
+    Integer getAnioFallecimiento();
+}
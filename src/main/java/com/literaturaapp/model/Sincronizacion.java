@@ -0,0 +1,72 @@
+package com.literaturaapp.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Watermark of the local catalog mirror: when it was last synced and what it holds.
+ */
+@Entity
+@Table(name = "sincronizacion")
+public class Sincronizacion {
+
+    public static final String CATALOGO = "catalogo";
+
+    @Id
+    private String id;
+
+    private Instant ultimaSincronizacion;
+    private Integer cantidadLibros;
+    private Integer maxLibroId;
+
+    public Sincronizacion() {
+    }
+
+    public Sincronizacion(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getUltimaSincronizacion() {
+        return ultimaSincronizacion;
+    }
+
+    public void setUltimaSincronizacion(Instant ultimaSincronizacion) {
+        this.ultimaSincronizacion = ultimaSincronizacion;
+    }
+
+    public int getCantidadLibros() {
+        return cantidadLibros == null ? 0 : cantidadLibros;
+    }
+
+    public void setCantidadLibros(Integer cantidadLibros) {
+        this.cantidadLibros = cantidadLibros;
+    }
+
+    public int getMaxLibroId() {
+        return maxLibroId == null ? 0 : maxLibroId;
+    }
+
+    public void setMaxLibroId(Integer maxLibroId) {
+        this.maxLibroId = maxLibroId;
+    }
+
+    @Override
+    public String toString() {
+        return "Sincronizacion{" +
+                "id='" + id + '\'' +
+                ", ultimaSincronizacion=" + ultimaSincronizacion +
+                ", cantidadLibros=" + cantidadLibros +
+                ", maxLibroId=" + maxLibroId +
+                '}';
+    }
+}
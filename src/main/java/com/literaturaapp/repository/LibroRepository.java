@@ -1,18 +1,62 @@
 package com.literaturaapp.repository;
 
 import com.literaturaapp.model.Libro;
+import com.literaturaapp.model.LibroResumen;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Set;
 
 public interface LibroRepository extends JpaRepository<Libro, Integer> {
 
-    @Query("select l from Libro l join l.languages lang where lower(lang) = lower(:idioma)")
+    // codes are stored lower-cased, so only the parameter is lowered and idx_libro_idioma applies
+    @Query("select l from Libro l join l.languages lang where lang = lower(:idioma)")
     List<Libro> findByLanguage(@Param("idioma") String idioma);
 
+    @Query(value = "select l.id as id, l.title as title, l.downloadCount as downloadCount " +
+            "from Libro l join l.languages lang where lang = lower(:idioma) order by l.downloadCount desc, l.id",
+            countQuery = "select count(l) from Libro l join l.languages lang where lang = lower(:idioma)")
+    Page<LibroResumen> findResumenByIdioma(@Param("idioma") String idioma, Pageable pageable);
+
+    // reads idx_libro_descargas in order and stops after the page
+    @Query("select l.id as id, l.title as title, l.downloadCount as downloadCount from Libro l order by l.downloadCount desc, l.id")
+    List<LibroResumen> findTopResumen(Pageable pageable);
+
     List<Libro> findTop10ByOrderByDownloadCountDesc();
 
+    // Keyset pages (ids only, in order). The first condition is a range on the index,
+    // the second drops the rows tied with the cursor that were already shown.
+    @Query("select l.id from Libro l where l.downloadCount <= :descargas " +
+            "and (l.downloadCount < :descargas or l.id > :id) order by l.downloadCount desc, l.id")
+    List<Integer> findIdsTrasDescargas(@Param("descargas") int descargas, @Param("id") int id, Pageable pageable);
+
+    @Query("select l.id from Libro l join l.languages lang where lang = lower(:idioma) and l.downloadCount <= :descargas " +
+            "and (l.downloadCount < :descargas or l.id > :id) order by l.downloadCount desc, l.id")
+    List<Integer> findIdsTrasDescargasPorIdioma(@Param("idioma") String idioma, @Param("descargas") int descargas,
+                                                @Param("id") int id, Pageable pageable);
+
+    @Query("select l.id from Libro l where l.title >= :titulo and (l.title > :titulo or l.id > :id) order by l.title, l.id")
+    List<Integer> findIdsTrasTitulo(@Param("titulo") String titulo, @Param("id") int id, Pageable pageable);
+
+    // untitled rows sort first: after one of them come the remaining untitled ones, then all titled ones
+    @Query("select l.id from Libro l where l.title is not null or l.id > :id order by l.title, l.id")
+    List<Integer> findIdsTrasSinTitulo(@Param("id") int id, Pageable pageable);
+
     Libro findByTitleIgnoreCase(String titulo);
+
+    @Query("select l.id from Libro l")
+    Set<Integer> findAllIds();
+
+    // [id, huella] of every stored book
+    @Query("select l.id, l.huella from Libro l")
+    List<Object[]> findAllHuellas();
+
+    @Modifying
+    @Query("update Libro l set l.downloadCount = :descargas where l.id = :id")
+    int updateDownloadCount(@Param("id") Integer id, @Param("descargas") Integer descargas);
 }
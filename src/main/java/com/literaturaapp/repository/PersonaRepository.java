@@ -2,13 +2,40 @@
 package com.literaturaapp.repository;
 
 import com.literaturaapp.model.Persona;
+import com.literaturaapp.model.PersonaResumen;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface PersonaRepository extends JpaRepository<Persona, Long> {
     List<Persona> findByAnioNacimientoLessThanEqualAndAnioFallecimientoGreaterThanEqual(Integer anio, Integer anio2);
+    // leading wildcard: scans the table; buscarPorNombre uses the full-text index
     List<Persona> findByNombreContainingIgnoreCase(String nombre);
     List<Persona> findByAnioNacimiento(Integer anioNacimiento);
     List<Persona> findByAnioFallecimiento(Integer anioFallecimiento);
+
+    // range scans on the (anioNacimiento, anioFallecimiento) index; unknown death = still alive
+    @Query("select p from Persona p where p.anioNacimiento <= :anio " +
+            "and (p.anioFallecimiento is null or p.anioFallecimiento >= :anio) order by p.anioNacimiento")
+    List<Persona> findVivosEnAnio(@Param("anio") Integer anio);
+
+    @Query("select p from Persona p where p.anioNacimiento <= :hasta " +
+            "and (p.anioFallecimiento is null or p.anioFallecimiento >= :desde) order by p.anioNacimiento")
+    List<Persona> findVivosEntre(@Param("desde") Integer desde, @Param("hasta") Integer hasta);
+
+    @Query(value = "select p.id as id, p.nombre as nombre, p.anioNacimiento as anioNacimiento, p.anioFallecimiento as anioFallecimiento " +
+            "from Persona p where p.anioNacimiento <= :anio " +
+            "and (p.anioFallecimiento is null or p.anioFallecimiento >= :anio) order by p.anioNacimiento, p.id",
+            countQuery = "select count(p) from Persona p where p.anioNacimiento <= :anio " +
+                    "and (p.anioFallecimiento is null or p.anioFallecimiento >= :anio)")
+    Page<PersonaResumen> findResumenVivosEnAnio(@Param("anio") Integer anio, Pageable pageable);
+
+    // H2 full-text index on nombre (see PersonaFullTextIndex): whole words, all of them must match
+    @Query(value = "select p.* from FT_SEARCH_DATA(:palabras, 0, 0) ft " +
+            "join persona p on p.id = cast(ft.KEYS[1] as bigint) where ft.\"TABLE\" = 'PERSONA'", nativeQuery = true)
+    List<Persona> buscarPorNombre(@Param("palabras") String palabras);
 }
@@ -0,0 +1,7 @@
+package com.literaturaapp.repository;
+
+import com.literaturaapp.model.Sincronizacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SincronizacionRepository extends JpaRepository<Sincronizacion, String> {
+}
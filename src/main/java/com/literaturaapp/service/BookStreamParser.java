@@ -0,0 +1,318 @@
+package com.literaturaapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.literaturaapp.catalog.ValuePool;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.GutendexResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token-level reader for Gutendex {@code /books/} pages. Books are emitted one by one
+ * as soon as their closing brace is read; only id, title, authors, languages and
+ * download_count are bound, and {@code formats} only when asked for. Everything else
+ * (subjects, bookshelves, summaries...) is skipped without building objects.
+ *
+ * <p>Works on a blocking {@link InputStream} or on a {@code Flux<DataBuffer>} through
+ * Jackson's non-blocking parser, so a page is never held in memory as a whole.
+ * Given a {@link ValuePool}, each book's authors and languages are the pool's shared
+ * instances.
+ */
+public final class BookStreamParser {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final boolean includeFormats;
+    private final Consumer<Book> sink;
+    // null when values are not pooled
+    private final ValuePool pool;
+
+    private int count;
+    private String next;
+    private String previous;
+
+    private int depth;
+    private int skipping;
+    private String rootField;
+    private String bookField;
+    private String authorField;
+    private String formatKey;
+    private Book book;
+    private Author author;
+
+    public BookStreamParser(boolean includeFormats, Consumer<Book> sink) {
+        this(includeFormats, sink, null);
+    }
+
+    public BookStreamParser(boolean includeFormats, Consumer<Book> sink, ValuePool pool) {
+        this.includeFormats = includeFormats;
+        this.sink = sink;
+        this.pool = pool;
+    }
+
+    public int getCount() { return count; }
+
+    public String getNext() { return next; }
+
+    public String getPrevious() { return previous; }
+
+    /** Parses a whole page from a stream, returning it with its results bound. */
+    public static GutendexResponse parsePage(InputStream in, boolean includeFormats) throws IOException {
+        return parsePage(in, includeFormats, null);
+    }
+
+    public static GutendexResponse parsePage(InputStream in, boolean includeFormats, ValuePool pool) throws IOException {
+        List<Book> results = new ArrayList<>();
+        BookStreamParser state = new BookStreamParser(includeFormats, results::add, pool);
+        try (JsonParser p = FACTORY.createParser(in)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) state.accept(t, p);
+        }
+        return state.toResponse(results);
+    }
+
+    /** Books of one page as they are decoded from the body chunks. */
+    public static Flux<Book> decode(Flux<DataBuffer> body, boolean includeFormats) {
+        return Flux.defer(() -> {
+            List<Book> ready = new ArrayList<>();
+            BookStreamParser state = new BookStreamParser(includeFormats, ready::add);
+            JsonParser p;
+            try {
+                p = FACTORY.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            return body.concatMapIterable(buffer -> {
+                        state.feed(p, buffer);
+                        return drainReady(ready);
+                    })
+                    .concatWith(Flux.defer(() -> {
+                        state.finish(p);
+                        return Flux.fromIterable(drainReady(ready));
+                    }))
+                    .doFinally(signal -> {
+                        try { p.close(); } catch (IOException ignored) { /* nothing to release */ }
+                    });
+        });
+    }
+
+    /** Whole page, decoded incrementally from the body chunks. */
+    public static Mono<GutendexResponse> decodePage(Flux<DataBuffer> body, boolean includeFormats) {
+        return decodePage(body, includeFormats, null);
+    }
+
+    /**
+     * Like {@link #decodePage(Flux, boolean)}, reporting the time spent parsing (not
+     * waiting for chunks) to {@code decodeNanos} once the page is complete.
+     */
+    public static Mono<GutendexResponse> decodePage(Flux<DataBuffer> body, boolean includeFormats, LongConsumer decodeNanos) {
+        return decodePage(body, includeFormats, null, decodeNanos);
+    }
+
+    /** Like {@link #decodePage(Flux, boolean, LongConsumer)}, taking authors and languages from {@code pool}. */
+    public static Mono<GutendexResponse> decodePage(Flux<DataBuffer> body, boolean includeFormats, ValuePool pool,
+                                                    LongConsumer decodeNanos) {
+        return Mono.defer(() -> {
+            List<Book> results = new ArrayList<>();
+            BookStreamParser state = new BookStreamParser(includeFormats, results::add, pool);
+            JsonParser p;
+            try {
+                p = FACTORY.createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            long[] parsing = new long[1];
+            // feed() releases each buffer; then() hands what it ignores to the subscriber's
+            // discard hook (WebFlux responses release DataBuffers there), so only sizes go on
+            return body.map(buffer -> {
+                        long start = System.nanoTime();
+                        int fed = state.feed(p, buffer);
+                        parsing[0] += System.nanoTime() - start;
+                        return fed;
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        long start = System.nanoTime();
+                        state.finish(p);
+                        GutendexResponse resp = state.toResponse(results);
+                        if (decodeNanos != null) decodeNanos.accept(parsing[0] + System.nanoTime() - start);
+                        return resp;
+                    }))
+                    .doFinally(signal -> {
+                        try { p.close(); } catch (IOException ignored) { /* nothing to release */ }
+                    });
+        });
+    }
+
+    /** Feeds and releases the buffer; returns the number of bytes fed. */
+    private int feed(JsonParser p, DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        try {
+            ((ByteArrayFeeder) p.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            drain(p);
+            return bytes.length;
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid Gutendex JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private void finish(JsonParser p) {
+        ((ByteArrayFeeder) p.getNonBlockingInputFeeder()).endOfInput();
+        try {
+            drain(p);
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid Gutendex JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<Book> drainReady(List<Book> ready) {
+        List<Book> out = new ArrayList<>(ready);
+        ready.clear();
+        return out;
+    }
+
+    private void drain(JsonParser p) throws IOException {
+        JsonToken t;
+        while ((t = p.nextToken()) != null && t != JsonToken.NOT_AVAILABLE) accept(t, p);
+    }
+
+    private GutendexResponse toResponse(List<Book> results) {
+        GutendexResponse resp = new GutendexResponse();
+        resp.setCount(count);
+        resp.setNext(next);
+        resp.setPrevious(previous);
+        resp.setResults(results);
+        return resp;
+    }
+
+    /**
+     * Consumes one token. Depth 1 is the page object, 2 the results array, 3 a book,
+     * 4 a book's authors/languages/formats, 5 an author.
+     */
+    public void accept(JsonToken t, JsonParser p) throws IOException {
+        if (skipping > 0) {
+            if (t.isStructStart()) skipping++;
+            else if (t.isStructEnd()) skipping--;
+            return;
+        }
+        switch (depth) {
+            case 0:
+                if (t == JsonToken.START_OBJECT) depth = 1;
+                break;
+            case 1:
+                if (t == JsonToken.FIELD_NAME) rootField = p.currentName();
+                else if (t == JsonToken.END_OBJECT) depth = 0;
+                else if (t == JsonToken.START_ARRAY && "results".equals(rootField)) depth = 2;
+                else if (t.isStructStart()) skipping = 1;
+                else if ("count".equals(rootField) && t == JsonToken.VALUE_NUMBER_INT) count = p.getIntValue();
+                else if ("next".equals(rootField)) next = t == JsonToken.VALUE_STRING ? p.getText() : null;
+                else if ("previous".equals(rootField)) previous = t == JsonToken.VALUE_STRING ? p.getText() : null;
+                break;
+            case 2:
+                if (t == JsonToken.START_OBJECT) {
+                    book = new Book();
+                    book.setAuthors(new ArrayList<>(2));
+                    book.setLanguages(new ArrayList<>(1));
+                    depth = 3;
+                } else if (t == JsonToken.END_ARRAY) {
+                    depth = 1;
+                } else if (t.isStructStart()) {
+                    skipping = 1;
+                }
+                break;
+            case 3:
+                bookToken(t, p);
+                break;
+            case 4:
+                listToken(t, p);
+                break;
+            case 5:
+                authorToken(t, p);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void bookToken(JsonToken t, JsonParser p) throws IOException {
+        if (t == JsonToken.FIELD_NAME) {
+            bookField = p.currentName();
+        } else if (t == JsonToken.END_OBJECT) {
+            if (pool != null) {
+                book.setAuthors(pool.authors(book.getAuthors()));
+                book.setLanguages(pool.languages(book.getLanguages()));
+            }
+            sink.accept(book);
+            book = null;
+            depth = 2;
+        } else if (t == JsonToken.START_ARRAY && ("authors".equals(bookField) || "languages".equals(bookField))) {
+            depth = 4;
+        } else if (t == JsonToken.START_OBJECT && includeFormats && "formats".equals(bookField)) {
+            book.setFormats(new LinkedHashMap<>());
+            depth = 4;
+        } else if (t.isStructStart()) {
+            skipping = 1;
+        } else if ("id".equals(bookField) && t == JsonToken.VALUE_NUMBER_INT) {
+            book.setId(p.getIntValue());
+        } else if ("title".equals(bookField) && t == JsonToken.VALUE_STRING) {
+            book.setTitle(p.getText());
+        } else if ("download_count".equals(bookField) && t == JsonToken.VALUE_NUMBER_INT) {
+            book.setDownload_count(p.getIntValue());
+        }
+    }
+
+    private void listToken(JsonToken t, JsonParser p) throws IOException {
+        if (t.isStructEnd()) {
+            depth = 3;
+        } else if ("authors".equals(bookField)) {
+            if (t == JsonToken.START_OBJECT) {
+                author = new Author();
+                depth = 5;
+            } else if (t.isStructStart()) {
+                skipping = 1;
+            }
+        } else if ("languages".equals(bookField)) {
+            if (t == JsonToken.VALUE_STRING) book.getLanguages().add(p.getText());
+            else if (t.isStructStart()) skipping = 1;
+        } else if ("formats".equals(bookField)) {
+            if (t == JsonToken.FIELD_NAME) formatKey = p.currentName();
+            else if (t == JsonToken.VALUE_STRING) book.getFormats().put(formatKey, p.getText());
+            else if (t.isStructStart()) skipping = 1;
+        }
+    }
+
+    private void authorToken(JsonToken t, JsonParser p) throws IOException {
+        if (t == JsonToken.FIELD_NAME) {
+            authorField = p.currentName();
+        } else if (t == JsonToken.END_OBJECT) {
+            book.getAuthors().add(author);
+            author = null;
+            depth = 4;
+        } else if (t.isStructStart()) {
+            skipping = 1;
+        } else if ("name".equals(authorField) && t == JsonToken.VALUE_STRING) {
+            author.setName(p.getText());
+        } else if ("birth_year".equals(authorField) && t == JsonToken.VALUE_NUMBER_INT) {
+            author.setBirth_year(p.getIntValue());
+        } else if ("death_year".equals(authorField) && t == JsonToken.VALUE_NUMBER_INT) {
+            author.setDeath_year(p.getIntValue());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.literaturaapp.service;
+
+/**
+ * Snapshot of a {@link ResponseCache}'s counters.
+ */
+public class CacheStats {
+    private final String name;
+    private final int size;
+    private final long hits;
+    private final long negativeHits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+
+    public CacheStats(String name, int size, long hits, long negativeHits, long misses, long evictions, long expirations) {
+        this.name = name;
+        this.size = size;
+        this.hits = hits;
+        this.negativeHits = negativeHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    public String getName() { return name; }
+
+    public int getSize() { return size; }
+
+    public long getHits() { return hits; }
+
+    /** Hits on a cached empty answer. */
+    public long getNegativeHits() { return negativeHits; }
+
+    public long getMisses() { return misses; }
+
+    public long getEvictions() { return evictions; }
+
+    public long getExpirations() { return expirations; }
+
+    public double getHitRate() {
+        long total = hits + negativeHits + misses;
+        return total == 0 ? 0 : (double) (hits + negativeHits) / total;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + size + " entradas, aciertos: " + hits + " (+" + negativeHits + " vacíos), fallos: " + misses
+                + ", desalojos: " + evictions + ", expirados: " + expirations
+                + String.format(" (%.0f%% aciertos)", getHitRate() * 100);
+    }
+}
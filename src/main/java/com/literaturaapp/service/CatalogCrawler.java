@@ -0,0 +1,301 @@
+package com.literaturaapp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.literaturaapp.catalog.ValuePool;
+import com.literaturaapp.config.GutendexMetrics;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.GutendexResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Walks the paginated {@code /books/} listing with a bounded number of requests in flight.
+ * Page 1 is fetched first to learn the total count; the remaining pages are requested
+ * concurrently and merged back in page order.
+ *
+ * <p>A full crawl cut short by an upstream error leaves a checkpoint with the pages read
+ * in order so far; the next full crawl within {@link #CHECKPOINT_TTL} only requests the
+ * pages after it instead of starting again from page 1. The listing may have shifted in
+ * between, so a resumed crawl that ends up with fewer books than Gutendex lists is
+ * reported as incomplete and the crawl after it starts over.
+ */
+public class CatalogCrawler {
+
+    /** How long the pages of an interrupted crawl are trusted for resuming it. */
+    public static final Duration CHECKPOINT_TTL = Duration.ofHours(1);
+
+    private final WebClient webClient;
+    private final int concurrency;
+    private final int maxPages;
+    private final boolean includeFormats;
+    private final GutendexMetrics metrics;
+    private final GutendexResilience resilience;
+    private volatile Checkpoint checkpoint;
+    // authors and language lists of the books this crawler has decoded
+    private volatile ValuePool pool = new ValuePool();
+    // progress of the current full crawl; full crawls are never run concurrently by the services
+    private final AtomicInteger progressPages = new AtomicInteger();
+    private final AtomicInteger progressBooks = new AtomicInteger();
+    private volatile int progressTotalPages;
+    private volatile boolean crawling;
+
+    public CatalogCrawler(WebClient webClient, int concurrency, int maxPages) {
+        this(webClient, concurrency, maxPages, true);
+    }
+
+    /**
+     * @param includeFormats bind each book's {@code formats} map; when false pages are
+     *                       decoded with only the fields the listings need
+     */
+    public CatalogCrawler(WebClient webClient, int concurrency, int maxPages, boolean includeFormats) {
+        this(webClient, concurrency, maxPages, includeFormats, null);
+    }
+
+    public CatalogCrawler(WebClient webClient, int concurrency, int maxPages, boolean includeFormats, GutendexMetrics metrics) {
+        this(webClient, concurrency, maxPages, includeFormats, metrics, null);
+    }
+
+    public CatalogCrawler(WebClient webClient, int concurrency, int maxPages, boolean includeFormats,
+                          GutendexMetrics metrics, GutendexResilience resilience) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be >= 1");
+        if (maxPages < 1) throw new IllegalArgumentException("maxPages must be >= 1");
+        this.webClient = webClient;
+        this.concurrency = concurrency;
+        this.maxPages = maxPages;
+        this.includeFormats = includeFormats;
+        this.metrics = metrics != null ? metrics : GutendexMetrics.standalone();
+        this.resilience = resilience != null ? resilience : GutendexResilience.disabled();
+    }
+
+    public int getConcurrency() { return concurrency; }
+
+    public int getMaxPages() { return maxPages; }
+
+    /** Progress of the running full crawl, or the totals of the last one. */
+    public CrawlProgress getProgress() {
+        return new CrawlProgress(crawling, progressPages.get(), progressTotalPages, progressBooks.get());
+    }
+
+    /** First page the next full crawl will request; 1 unless an interrupted crawl can be resumed. */
+    public int getResumePage() {
+        Checkpoint c = resumable();
+        return c != null ? c.nextPage : 1;
+    }
+
+    public Mono<CrawlResult> crawl() {
+        return crawl(null);
+    }
+
+    /**
+     * Full crawl that also hands each page to {@code onPage} as it is merged, in listing
+     * order; a resumed crawl first hands over the books it already had.
+     */
+    public Mono<CrawlResult> crawl(Consumer<List<Book>> onPage) {
+        Consumer<List<Book>> listener = onPage != null ? onPage : list -> {};
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Checkpoint resume = resumable();
+            // a full crawl starts a new pool so people no longer listed are not kept;
+            // a resumed one keeps the pool its first pages were decoded with
+            if (resume == null) pool = new ValuePool();
+            List<Book> books = resume != null ? new ArrayList<>(resume.books) : new ArrayList<>();
+            // pages merged contiguously from page 1; where a later crawl can pick up
+            AtomicInteger nextPage = new AtomicInteger(resume != null ? resume.nextPage : 1);
+            AtomicInteger lastPage = new AtomicInteger(resume != null ? resume.lastPage : 0);
+            AtomicInteger pageSize = new AtomicInteger(resume != null ? resume.pageSize : 0);
+            // books in the listing, as of the most recent page read
+            AtomicInteger listed = new AtomicInteger(resume != null ? resume.listed : 0);
+            AtomicInteger pages = new AtomicInteger();
+            AtomicReference<String> error = new AtomicReference<>();
+            crawling = true;
+            progressPages.set(nextPage.get() - 1);
+            progressBooks.set(books.size());
+            progressTotalPages = lastPage.get();
+            Flux<List<Book>> read;
+            if (resume != null) {
+                listener.accept(resume.books);
+                read = remainingPages(resume.nextPage, resume.lastPage, listed);
+            } else {
+                read = fetchPage(1).flatMapMany(first -> {
+                    List<Book> firstBooks = results(first);
+                    if (firstBooks.isEmpty()) return Flux.<List<Book>>empty();
+                    int last = first.getNext() == null ? 1 : lastPage(first, firstBooks.size());
+                    lastPage.set(last);
+                    pageSize.set(firstBooks.size());
+                    listed.set(first.getCount());
+                    progressTotalPages = last;
+                    if (last < 2) return Flux.just(firstBooks);
+                    return Flux.concat(Flux.just(firstBooks), remainingPages(2, last, listed));
+                });
+            }
+            return read
+                    .doOnNext(list -> {
+                        books.addAll(list);
+                        listener.accept(list);
+                        nextPage.incrementAndGet();
+                        pages.incrementAndGet();
+                        progressPages.incrementAndGet();
+                        progressBooks.addAndGet(list.size());
+                    })
+                    .onErrorResume(e -> {
+                        // keep the pages merged so far, like the sequential loop did
+                        System.err.println("Error listAllBooks: " + e.getMessage());
+                        error.set(String.valueOf(e.getMessage()));
+                        return Flux.empty();
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        // the listing may have shifted between the two runs
+                        List<Book> merged = resume != null ? distinctById(books) : books;
+                        int expected = Math.min(listed.get(), lastPage.get() * pageSize.get());
+                        if (error.get() == null && resume != null && merged.size() < expected) {
+                            // books that moved up into pages read before the cut were missed;
+                            // not a full catalog, and the next crawl starts from page 1
+                            error.set("crawl reanudado con " + merged.size() + " de " + expected + " libros");
+                            checkpoint = null;
+                        } else if (error.get() == null) {
+                            checkpoint = null;
+                        } else if (lastPage.get() > 0 && nextPage.get() > 1) {
+                            Instant createdAt = resume != null ? resume.createdAt : Instant.now();
+                            checkpoint = new Checkpoint(List.copyOf(merged), nextPage.get(), lastPage.get(),
+                                    pageSize.get(), listed.get(), createdAt);
+                        }
+                        return new CrawlResult(Collections.unmodifiableList(merged), pages.get(), System.nanoTime() - start, error.get());
+                    }))
+                    .doOnNext(r -> metrics.crawled("full", r.isComplete(), r.getPages(), r.getBooks().size(), r.getElapsedNanos()))
+                    .doFinally(signal -> crawling = false);
+        });
+    }
+
+    private Flux<List<Book>> remainingPages(int from, int lastPage, AtomicInteger listed) {
+        if (from > lastPage) return Flux.empty();
+        return Flux.range(from, lastPage - from + 1)
+                .flatMapSequential(this::fetchPage, concurrency, 1)
+                .doOnNext(resp -> listed.set(resp.getCount()))
+                .map(CatalogCrawler::results)
+                .takeWhile(list -> !list.isEmpty());
+    }
+
+    private Checkpoint resumable() {
+        Checkpoint c = checkpoint;
+        if (c == null) return null;
+        if (Duration.between(c.createdAt, Instant.now()).compareTo(CHECKPOINT_TTL) > 0) {
+            checkpoint = null;
+            return null;
+        }
+        return c;
+    }
+
+    private static List<Book> distinctById(List<Book> books) {
+        Set<Integer> seen = new HashSet<>();
+        List<Book> distinct = new ArrayList<>(books.size());
+        for (Book b : books) {
+            if (seen.add(b.getId())) distinct.add(b);
+        }
+        return distinct;
+    }
+
+    /**
+     * Pages through {@code sort=descending} (newest ids first) until a page reaches
+     * {@code maxKnownId}, then re-reads the first {@code popularPages} of the default
+     * popularity order so download counts of the most active books stay fresh.
+     */
+    public Mono<CrawlResult> crawlSince(int maxKnownId, int popularPages) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicInteger pages = new AtomicInteger();
+            AtomicReference<String> error = new AtomicReference<>();
+            // set once the newest-first walk reaches known ids or the end of the listing
+            AtomicBoolean walked = new AtomicBoolean();
+            Flux<List<Book>> newest = Flux.range(1, maxPages)
+                    .concatMap(page -> fetch("delta", "/books/?sort=descending&page=" + page))
+                    .doOnNext(resp -> {
+                        if (resp.getNext() == null || results(resp).isEmpty()
+                                || results(resp).stream().anyMatch(b -> b.getId() <= maxKnownId)) walked.set(true);
+                    })
+                    .takeUntil(resp -> walked.get())
+                    .map(CatalogCrawler::results)
+                    .takeWhile(list -> !list.isEmpty());
+            Flux<List<Book>> popular = Flux.range(1, Math.max(popularPages, 0))
+                    .flatMapSequential(this::fetchPage, concurrency, 1)
+                    .map(CatalogCrawler::results);
+            return Flux.concat(newest, popular)
+                    .doOnNext(list -> pages.incrementAndGet())
+                    .onErrorResume(e -> {
+                        System.err.println("Error crawlSince: " + e.getMessage());
+                        error.set(String.valueOf(e.getMessage()));
+                        return Flux.empty();
+                    })
+                    .collect(ArrayList<Book>::new, List::addAll)
+                    .map(all -> {
+                        if (walked.get()) {
+                            return new CrawlResult(Collections.unmodifiableList(all), pages.get(), System.nanoTime() - start, error.get());
+                        }
+                        // new ids between the known ones and the last page read were never seen: keep only the updates
+                        String cause = error.get() != null ? error.get() : "delta sin llegar a libros conocidos en " + maxPages + " páginas";
+                        return new CrawlResult(Collections.unmodifiableList(CatalogDelta.knownOnly(all, maxKnownId)),
+                                pages.get(), System.nanoTime() - start, cause);
+                    })
+                    .doOnNext(r -> metrics.crawled("delta", r.isComplete(), r.getPages(), r.getBooks().size(), r.getElapsedNanos()));
+        });
+    }
+
+    private int lastPage(GutendexResponse first, int pageSize) {
+        int total = (first.getCount() + pageSize - 1) / pageSize;
+        return Math.min(Math.max(total, 1), maxPages);
+    }
+
+    private Mono<GutendexResponse> fetchPage(int page) {
+        return fetch("page", "/books/?page=" + page);
+    }
+
+    private Mono<GutendexResponse> fetch(String operation, String uri) {
+        return metrics.upstream(GutendexMetrics.WEBCLIENT, operation,
+                resilience.call(GutendexMetrics.WEBCLIENT, operation, () -> webClient.get()
+                        .uri(uri)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToFlux(DataBuffer.class)
+                        .as(body -> BookStreamParser.decodePage(body, includeFormats, pool,
+                                nanos -> metrics.decoded(GutendexMetrics.WEBCLIENT, nanos)))));
+    }
+
+    private static List<Book> results(GutendexResponse resp) {
+        if (resp == null || resp.getResults() == null) return Collections.emptyList();
+        return resp.getResults();
+    }
+
+    /** The pages an interrupted full crawl read in order, from page 1 up to {@code nextPage - 1}. */
+    private static final class Checkpoint {
+        final List<Book> books;
+        final int nextPage;
+        final int lastPage;
+        final int pageSize;
+        final int listed;
+        final Instant createdAt;
+
+        Checkpoint(List<Book> books, int nextPage, int lastPage, int pageSize, int listed, Instant createdAt) {
+            this.books = books;
+            this.nextPage = nextPage;
+            this.lastPage = lastPage;
+            this.pageSize = pageSize;
+            this.listed = listed;
+            this.createdAt = createdAt;
+        }
+    }
+}
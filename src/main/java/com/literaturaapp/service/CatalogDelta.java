@@ -0,0 +1,72 @@
+package com.literaturaapp.service;
+
+import java.util.*;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * Merges freshly fetched pages into an existing catalog: unknown ids are appended,
+ * known ids only get their download count replaced when it changed.
+ */
+final class CatalogDelta {
+
+    private CatalogDelta() {}
+
+    static DeltaSyncResult apply(List<Book> current, List<Book> fetched, int pages, long elapsedNanos) {
+        Map<Integer, Integer> positions = new HashMap<>(current.size() * 2);
+        for (int i = 0; i < current.size(); i++) positions.put(current.get(i).getId(), i);
+
+        List<Book> merged = new ArrayList<>(current);
+        List<Book> added = new ArrayList<>();
+        List<Book> updatedBooks = new ArrayList<>();
+        Map<Integer, Integer> updated = new LinkedHashMap<>();
+        Set<Integer> seen = new HashSet<>();
+        int unchanged = 0;
+        for (Book b : fetched) {
+            if (b == null || !seen.add(b.getId())) continue;
+            Integer pos = positions.get(b.getId());
+            if (pos == null) {
+                positions.put(b.getId(), merged.size());
+                merged.add(b);
+                added.add(b);
+            } else if (merged.get(pos).getDownload_count() != b.getDownload_count()) {
+                // readers may still hold the old list, so replace the book instead of mutating it
+                Book replaced = withDownloads(merged.get(pos), b.getDownload_count());
+                merged.set(pos, replaced);
+                updatedBooks.add(replaced);
+                updated.put(b.getId(), b.getDownload_count());
+            } else {
+                unchanged++;
+            }
+        }
+        return new DeltaSyncResult(Collections.unmodifiableList(merged), added, updatedBooks, updated, unchanged, pages, elapsedNanos);
+    }
+
+    /**
+     * Only the fetched books that are already in a catalog whose highest id is {@code maxKnownId}:
+     * what is left of a delta whose newest-first walk stopped before reaching known ids, since
+     * adding its newest books would move the watermark past the ones it never read.
+     */
+    static List<Book> knownOnly(List<Book> fetched, int maxKnownId) {
+        List<Book> known = new ArrayList<>(fetched.size());
+        for (Book b : fetched) if (b != null && b.getId() <= maxKnownId) known.add(b);
+        return known;
+    }
+
+    static int maxId(List<Book> books) {
+        int max = 0;
+        for (Book b : books) max = Math.max(max, b.getId());
+        return max;
+    }
+
+    private static Book withDownloads(Book old, int downloads) {
+        Book b = new Book();
+        b.setId(old.getId());
+        b.setTitle(old.getTitle());
+        b.setAuthors(old.getAuthors());
+        b.setLanguages(old.getLanguages());
+        b.setFormats(old.getFormats());
+        b.setDownload_count(downloads);
+        return b;
+    }
+}
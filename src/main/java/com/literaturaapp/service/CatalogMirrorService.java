@@ -0,0 +1,227 @@
+package com.literaturaapp.service;
+
+import java.time.Instant;
+import java.util.*;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.literaturaapp.catalog.AuthorDimension;
+import com.literaturaapp.catalog.BookCursor;
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.BookPage;
+import com.literaturaapp.catalog.ValuePool;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.Libro;
+import com.literaturaapp.model.Persona;
+import com.literaturaapp.model.Sincronizacion;
+import com.literaturaapp.repository.LibroRepository;
+import com.literaturaapp.repository.PersonaRepository;
+import com.literaturaapp.repository.SincronizacionRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Local copy of the Gutendex catalog kept in H2, so a restart can serve books
+ * without crawling the API again. Authors are stored once per person as {@link Persona}
+ * rows, identified like in {@link AuthorDimension}, and linked from {@link Libro}.
+ * The {@link Sincronizacion} row is the watermark.
+ */
+@Service
+public class CatalogMirrorService {
+
+    private final LibroRepository libroRepository;
+    private final PersonaRepository personaRepository;
+    private final SincronizacionRepository sincronizacionRepository;
+    private final EntityManager entityManager;
+    private final LibroBulkWriter bulkWriter;
+    private final int batchSize;
+
+    public CatalogMirrorService(LibroRepository libroRepository,
+                                PersonaRepository personaRepository,
+                                SincronizacionRepository sincronizacionRepository,
+                                EntityManager entityManager,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        this.libroRepository = libroRepository;
+        this.personaRepository = personaRepository;
+        this.sincronizacionRepository = sincronizacionRepository;
+        this.entityManager = entityManager;
+        this.bulkWriter = jdbcTemplate != null ? new LibroBulkWriter(jdbcTemplate) : null;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Books stored by the last sync, most downloaded first; empty if nothing was synced yet.
+     */
+    @Transactional(readOnly = true)
+    public List<Book> load() {
+        Optional<Sincronizacion> sync = lastSync();
+        if (sync.isEmpty() || sync.get().getCantidadLibros() == 0) return Collections.emptyList();
+        List<Libro> libros = libroRepository.findAll(Sort.by(Sort.Direction.DESC, "downloadCount").and(Sort.by("id")));
+        List<Book> books = new ArrayList<>(libros.size());
+        ValuePool pool = new ValuePool();
+        for (Libro l : libros) books.add(LibroMapper.toBook(l, pool));
+        return Collections.unmodifiableList(books);
+    }
+
+    /**
+     * One keyset page read through the mirror's indexes: the page's ids first, then
+     * those books with their collections, so only {@code size} rows are ever loaded.
+     * Title order with a language filter is not indexed and is left to the cache.
+     */
+    @Transactional(readOnly = true)
+    public BookPage page(BookCursor after, int size, String language) {
+        if (size <= 0) throw new IllegalArgumentException("page size must be positive: " + size);
+        String code = language == null || language.isBlank() ? null : language.trim();
+        // one extra row tells whether there is a next page
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Integer> ids;
+        if (after.getOrder() == BookOrder.DOWNLOADS) {
+            int downloads = after.isStart() ? Integer.MAX_VALUE : after.getDownloads();
+            int id = after.isStart() ? Integer.MIN_VALUE : after.getId();
+            ids = code == null
+                    ? libroRepository.findIdsTrasDescargas(downloads, id, limit)
+                    : libroRepository.findIdsTrasDescargasPorIdioma(code, downloads, id, limit);
+        } else {
+            if (code != null) throw new UnsupportedOperationException("title pages by language come from the cache");
+            ids = after.isStart() || after.getTitle() == null
+                    ? libroRepository.findIdsTrasSinTitulo(after.isStart() ? Integer.MIN_VALUE : after.getId(), limit)
+                    : libroRepository.findIdsTrasTitulo(after.getTitle(), after.getId(), limit);
+        }
+        boolean more = ids.size() > size;
+        if (more) ids = ids.subList(0, size);
+        Map<Integer, Libro> byId = new HashMap<>(ids.size() * 2);
+        for (Libro l : libroRepository.findAllById(ids)) byId.put(l.getId(), l);
+        List<Book> books = new ArrayList<>(ids.size());
+        for (Integer id : ids) books.add(LibroMapper.toBook(byId.get(id)));
+        return new BookPage(books, more ? BookCursor.after(books.get(books.size() - 1), after.getOrder()) : null);
+    }
+
+    /**
+     * Upserts the given books in JDBC batches of {@code batchSize} and moves the
+     * watermark forward. Authors are resolved to {@link Persona} rows first (through
+     * JPA, ids from a sequence so the inserts batch too); books go through
+     * {@link LibroBulkWriter}. A re-sync reads one hash per stored book and only
+     * rewrites the books whose content changed, instead of loading and merging every
+     * stored entity.
+     */
+    @Transactional
+    public void store(List<Book> books) {
+        Set<Integer> seen = new HashSet<>();
+        List<Book> unique = new ArrayList<>(books.size());
+        for (Book b : books) {
+            if (b != null && seen.add(b.getId())) unique.add(b);
+        }
+        AuthorDimension dimension = AuthorDimension.build(unique);
+        List<Persona> personas = resolvePersonas(dimension);
+
+        // a stored row without a hash (written before hashes existed) is always rewritten
+        Map<Integer, Long> stored = new HashMap<>();
+        for (Object[] row : libroRepository.findAllHuellas()) stored.put((Integer) row[0], (Long) row[1]);
+        List<Book> changed = new ArrayList<>(batchSize);
+        List<long[]> personaIds = new ArrayList<>(batchSize);
+        List<Long> huellas = new ArrayList<>(batchSize);
+        List<Integer> storedIds = new ArrayList<>();
+        for (int pos = 0; pos < unique.size(); pos++) {
+            Book b = unique.get(pos);
+            int[] authorIds = dimension.authorsOf(pos);
+            long[] ids = new long[authorIds.length];
+            for (int i = 0; i < authorIds.length; i++) ids[i] = personas.get(authorIds[i]).getId();
+            long huella = LibroBulkWriter.huella(b, ids);
+            boolean exists = stored.containsKey(b.getId());
+            if (exists && Objects.equals(stored.get(b.getId()), huella)) continue;
+            changed.add(b);
+            personaIds.add(ids);
+            huellas.add(huella);
+            if (exists) storedIds.add(b.getId());
+            if (changed.size() == batchSize) {
+                bulkWriter.upsert(changed, personaIds, huellas, storedIds);
+                changed.clear();
+                personaIds.clear();
+                huellas.clear();
+                storedIds.clear();
+            }
+        }
+        bulkWriter.upsert(changed, personaIds, huellas, storedIds);
+
+        Sincronizacion sync = sincronizacionRepository.findById(Sincronizacion.CATALOGO)
+                .orElseGet(() -> new Sincronizacion(Sincronizacion.CATALOGO));
+        sync.setUltimaSincronizacion(Instant.now());
+        sync.setCantidadLibros((int) libroRepository.count());
+        int maxId = seen.stream().mapToInt(Integer::intValue).max().orElse(0);
+        sync.setMaxLibroId(Math.max(sync.getMaxLibroId(), maxId));
+        sincronizacionRepository.save(sync);
+    }
+
+    /**
+     * Applies an incremental refresh: inserts the new books and touches only the
+     * download count of the ones that changed.
+     */
+    @Transactional
+    public void applyDelta(DeltaSyncResult delta) {
+        if (!delta.getAddedBooks().isEmpty()) store(delta.getAddedBooks());
+        bulkWriter.updateDownloads(delta.getUpdatedDownloads());
+        Sincronizacion sync = sincronizacionRepository.findById(Sincronizacion.CATALOGO)
+                .orElseGet(() -> new Sincronizacion(Sincronizacion.CATALOGO));
+        sync.setUltimaSincronizacion(Instant.now());
+        sync.setCantidadLibros((int) libroRepository.count());
+        sincronizacionRepository.save(sync);
+    }
+
+    /**
+     * One {@link Persona} per author of the dimension, indexed by canonical id: the
+     * stored row of the same person if there is one (missing years are filled in),
+     * otherwise a new row. New rows are flushed so books can reference them.
+     */
+    private List<Persona> resolvePersonas(AuthorDimension dimension) {
+        Map<String, List<Persona>> storedByKey = new HashMap<>();
+        for (Persona p : personaRepository.findAll()) {
+            if (p.getClave() != null) storedByKey.computeIfAbsent(p.getClave(), k -> new ArrayList<>()).add(p);
+        }
+        List<Persona> out = new ArrayList<>(dimension.size());
+        for (int id = 0; id < dimension.size(); id++) {
+            Integer birth = year(dimension.birth(id)), death = year(dimension.death(id));
+            Persona match = null;
+            for (Persona p : storedByKey.getOrDefault(dimension.key(id), Collections.emptyList())) {
+                if (compatible(p.getAnioNacimiento(), birth) && compatible(p.getAnioFallecimiento(), death)) {
+                    match = p;
+                    break;
+                }
+            }
+            if (match == null) {
+                match = new Persona(dimension.name(id), null, birth, death, null);
+                match.setClave(dimension.key(id));
+                entityManager.persist(match);
+                storedByKey.computeIfAbsent(match.getClave(), k -> new ArrayList<>()).add(match);
+            } else {
+                if (match.getAnioNacimiento() == null) match.setAnioNacimiento(birth);
+                if (match.getAnioFallecimiento() == null) match.setAnioFallecimiento(death);
+            }
+            out.add(match);
+        }
+        // one flush: inserts and year updates go out in JDBC batches; the rows are
+        // only referenced by id from here on
+        entityManager.flush();
+        entityManager.clear();
+        return out;
+    }
+
+    private static Integer year(int y) {
+        return y == AuthorDimension.NO_YEAR ? null : y;
+    }
+
+    private static boolean compatible(Integer a, Integer b) {
+        return a == null || b == null || a.equals(b);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Sincronizacion> lastSync() {
+        return sincronizacionRepository.findById(Sincronizacion.CATALOGO);
+    }
+}
@@ -0,0 +1,135 @@
+package com.literaturaapp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.config.GutendexMetrics;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps {@link GutendexService}'s catalog loaded and fresh without a user waiting on it.
+ * At startup it loads the catalog on a background thread, so the first listing finds it
+ * ready (or joins the load already in flight). After that it runs a refresh every
+ * {@code catalog.refresh.interval-seconds}. Readers keep the current generation until
+ * the refreshed one is swapped in.
+ *
+ * <p>When Gutendex cannot be read, the next attempt waits
+ * {@code backoff-initial-seconds}, doubling after each further failure up to
+ * {@code backoff-max-seconds}. The first success returns to the normal interval.
+ */
+@Component
+public class CatalogRefreshScheduler implements AutoCloseable {
+
+    private final GutendexService gutendex;
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final ScheduledExecutorService executor;
+
+    private volatile CatalogRefreshStatus.State state;
+    private volatile Instant lastRefreshAt;
+    private volatile Instant nextRunAt;
+    private volatile int consecutiveFailures;
+    private boolean started;
+
+    @Autowired
+    public CatalogRefreshScheduler(GutendexService gutendex,
+                                   @Value("${catalog.refresh.enabled:true}") boolean enabled,
+                                   @Value("${catalog.refresh.interval-seconds:3600}") long intervalSeconds,
+                                   @Value("${catalog.refresh.backoff-initial-seconds:30}") long backoffInitialSeconds,
+                                   @Value("${catalog.refresh.backoff-max-seconds:1800}") long backoffMaxSeconds) {
+        this(gutendex, enabled, Duration.ofSeconds(intervalSeconds), Duration.ofSeconds(backoffInitialSeconds),
+                Duration.ofSeconds(backoffMaxSeconds));
+    }
+
+    public CatalogRefreshScheduler(GutendexService gutendex, boolean enabled, Duration interval,
+                                   Duration backoffInitial, Duration backoffMax) {
+        if (interval.isNegative() || interval.isZero()) throw new IllegalArgumentException("interval must be positive");
+        if (backoffInitial.isNegative() || backoffInitial.isZero()) throw new IllegalArgumentException("backoff must be positive");
+        this.gutendex = gutendex;
+        this.enabled = enabled;
+        this.intervalMillis = interval.toMillis();
+        this.backoffInitialMillis = backoffInitial.toMillis();
+        this.backoffMaxMillis = Math.max(backoffInitial.toMillis(), backoffMax.toMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        this.state = enabled ? CatalogRefreshStatus.State.WARMING_UP : CatalogRefreshStatus.State.DISABLED;
+    }
+
+    /** Schedules the warm-up right away; later calls do nothing. */
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled || started) return;
+        started = true;
+        schedule(0);
+    }
+
+    public CatalogRefreshStatus getStatus() {
+        Instant refreshed = lastRefreshAt;
+        // a manual reload publishes a newer generation than the scheduler's last run
+        CatalogGeneration current = gutendex.loadedCatalog();
+        if (current != null && !current.isEmpty() && (refreshed == null || current.getCreatedAt().isAfter(refreshed))) {
+            refreshed = current.getCreatedAt();
+        }
+        return new CatalogRefreshStatus(state, gutendex.getCrawlProgress(), refreshed, nextRunAt,
+                consecutiveFailures, Instant.now());
+    }
+
+    /** Delay before the attempt that follows {@code failures} consecutive failures. */
+    static long backoffMillis(int failures, long initialMillis, long maxMillis) {
+        int doublings = Math.min(Math.max(failures - 1, 0), 30);
+        long delay = initialMillis << doublings;
+        return delay <= 0 || delay > maxMillis ? maxMillis : delay;
+    }
+
+    private void run() {
+        state = lastRefreshAt != null ? CatalogRefreshStatus.State.REFRESHING : CatalogRefreshStatus.State.WARMING_UP;
+        if (consecutiveFailures > 0) gutendex.getMetrics().retry(GutendexMetrics.WEBCLIENT, "refresh");
+        boolean ok;
+        try {
+            ok = gutendex.refreshInBackground();
+        } catch (Exception e) {
+            System.err.println("Error refrescando el catálogo: " + e.getMessage());
+            ok = false;
+        }
+        if (ok) {
+            consecutiveFailures = 0;
+            lastRefreshAt = Instant.now();
+            state = CatalogRefreshStatus.State.READY;
+            schedule(intervalMillis);
+        } else {
+            int failures = ++consecutiveFailures;
+            state = CatalogRefreshStatus.State.BACKING_OFF;
+            schedule(backoffMillis(failures, backoffInitialMillis, backoffMaxMillis));
+        }
+    }
+
+    private void schedule(long delayMillis) {
+        nextRunAt = Instant.now().plusMillis(delayMillis);
+        try {
+            executor.schedule(this::run, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed while a refresh was running
+            nextRunAt = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package com.literaturaapp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Snapshot of {@link CatalogRefreshScheduler}: what it is doing, how far the warm-up
+ * crawl got, when the catalog was last refreshed and when the next attempt runs.
+ */
+public class CatalogRefreshStatus {
+
+    public enum State {
+        /** Scheduler turned off ({@code catalog.refresh.enabled=false}). */
+        DISABLED,
+        /** First load running; readers wait for it or trigger the same load. */
+        WARMING_UP,
+        /** Catalog loaded, waiting for the next interval. */
+        READY,
+        /** A background refresh is running; readers get the current generation meanwhile. */
+        REFRESHING,
+        /** The last attempt could not reach Gutendex; waiting before retrying. */
+        BACKING_OFF
+    }
+
+    private final State state;
+    private final CrawlProgress progress;
+    private final Instant lastRefreshAt;
+    private final Instant nextRunAt;
+    private final int consecutiveFailures;
+    private final Instant now;
+
+    public CatalogRefreshStatus(State state, CrawlProgress progress, Instant lastRefreshAt, Instant nextRunAt,
+                                int consecutiveFailures, Instant now) {
+        this.state = state;
+        this.progress = progress;
+        this.lastRefreshAt = lastRefreshAt;
+        this.nextRunAt = nextRunAt;
+        this.consecutiveFailures = consecutiveFailures;
+        this.now = now;
+    }
+
+    public State getState() { return state; }
+
+    public CrawlProgress getProgress() { return progress; }
+
+    /** When the catalog being served was loaded or last refreshed, or null before the first load. */
+    public Instant getLastRefreshAt() { return lastRefreshAt; }
+
+    /** Age of the catalog being served, or null before the first load. */
+    public Duration getAge() {
+        return lastRefreshAt == null ? null : Duration.between(lastRefreshAt, now);
+    }
+
+    /** When the scheduler runs next, or null when it is not scheduled. */
+    public Instant getNextRunAt() { return nextRunAt; }
+
+    public int getConsecutiveFailures() { return consecutiveFailures; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Catálogo: ");
+        switch (state) {
+            case DISABLED: sb.append("refresco automático desactivado"); break;
+            case WARMING_UP: sb.append("cargando (").append(progress).append(")"); break;
+            case READY: sb.append("listo"); break;
+            case REFRESHING: sb.append("actualizando en segundo plano"); break;
+            case BACKING_OFF: sb.append("Gutendex no responde (").append(consecutiveFailures).append(" fallos seguidos)"); break;
+        }
+        Duration age = getAge();
+        if (age != null) sb.append(" · actualizado hace ").append(format(age));
+        if (nextRunAt != null && state != State.DISABLED) {
+            sb.append(state == State.BACKING_OFF ? " · reintento en " : " · próximo refresco en ")
+                    .append(format(Duration.between(now, nextRunAt)));
+        }
+        return sb.toString();
+    }
+
+    private static String format(Duration d) {
+        long s = Math.max(0, d.getSeconds());
+        if (s < 60) return s + " s";
+        if (s < 3600) return (s / 60) + " min";
+        return (s / 3600) + " h " + (s % 3600 / 60) + " min";
+    }
+}
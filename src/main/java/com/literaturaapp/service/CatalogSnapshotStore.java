@@ -0,0 +1,73 @@
+package com.literaturaapp.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.literaturaapp.catalog.CatalogSnapshot;
+import com.literaturaapp.model.Book;
+
+/**
+ * Where both services keep the offline copy of the catalog ({@code catalog.snapshot.path}).
+ * It is written after every successful full load and read back when Gutendex cannot be
+ * reached, or always with {@code catalog.offline=true}. Errors are reported and turned
+ * into "no snapshot" so the callers only have to check for an empty list.
+ */
+@Component
+public class CatalogSnapshotStore {
+
+    private final Path path;
+    private final boolean offline;
+
+    public CatalogSnapshotStore(@Value("${catalog.snapshot.path:./data/catalog.snap}") String path,
+                                @Value("${catalog.offline:false}") boolean offline) {
+        this.path = Paths.get(path);
+        this.offline = offline;
+    }
+
+    /** True when the network must not be used at all. */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+    /**
+     * The snapshot's books, decoded once into objects, or an empty list. The file is
+     * read rather than mapped: a lazy view would decode a new book on every access, and
+     * {@link #save} must be able to replace the file while these books are being served.
+     */
+    public List<Book> load() {
+        if (!exists()) return Collections.emptyList();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(CatalogSnapshot.read(path).asBooks()));
+        } catch (Exception e) {
+            System.err.println("Error leyendo el snapshot " + path + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /** Writes the books unless the list is empty; returns whether the file was written. */
+    public boolean save(List<Book> books) {
+        if (books == null || books.isEmpty()) return false;
+        try {
+            CatalogSnapshot.write(books, path);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error escribiendo el snapshot " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
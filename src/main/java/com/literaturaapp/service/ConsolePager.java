@@ -0,0 +1,56 @@
+package com.literaturaapp.service;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.literaturaapp.catalog.BookCursor;
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.BookPage;
+import com.literaturaapp.model.Book;
+
+/**
+ * Shows a keyset listing one page at a time. The next page is only read when the user
+ * asks for it, so the first rows appear after one page and only that page is held,
+ * whatever the size of the catalog.
+ */
+public final class ConsolePager {
+
+    public static final int PAGE_SIZE = 20;
+
+    private ConsolePager() {}
+
+    /**
+     * Prints pages from {@code source} until the listing ends or the user types "q".
+     * Nothing is printed for an empty listing.
+     *
+     * @return how many books were shown
+     */
+    public static int show(Scanner scanner, BookOrder order, Function<BookCursor, BookPage> source,
+                           Consumer<List<Book>> printer) {
+        BookCursor cursor = BookCursor.start(order);
+        int page = 1, shown = 0;
+        while (true) {
+            BookPage current = source.apply(cursor);
+            if (current.isEmpty()) return shown;
+            printer.accept(current.getBooks());
+            shown += current.getBooks().size();
+            if (!current.hasNext()) {
+                System.out.println("Fin del listado (" + shown + " libros).");
+                return shown;
+            }
+            System.out.print("Página " + page + " · ENTER para seguir, q para volver: ");
+            if (!scanner.hasNextLine() || scanner.nextLine().trim().equalsIgnoreCase("q")) return shown;
+            cursor = current.getNext();
+            page++;
+        }
+    }
+
+    /** Asks for the listing order; anything but "2" is by downloads. */
+    public static BookOrder askOrder(Scanner scanner) {
+        System.out.print("Ordenar por 1) descargas o 2) título [1]: ");
+        String ans = scanner.hasNextLine() ? scanner.nextLine().trim() : "";
+        return ans.equals("2") ? BookOrder.TITLE : BookOrder.DOWNLOADS;
+    }
+}
@@ -1,10 +1,14 @@
 package com.literaturaapp.service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.catalog.DownloadStatistics;
 import com.literaturaapp.model.Author;
 import com.literaturaapp.model.Book;
 
@@ -12,7 +16,10 @@ import com.literaturaapp.model.Book;
 public class ConsoleService {
 
     private final GutendexService gutendexService;
+    // background warm-up and refresh; null when not running one
+    private final CatalogRefreshScheduler refreshScheduler;
     private final Scanner scanner = new Scanner(System.in);
+    private static final Pattern MENU_OPTION = Pattern.compile("[1-9]|10");
 
     // ANSI colors
     private static final String ANSI_RESET = "\u001B[0m";
@@ -20,8 +27,14 @@ public class ConsoleService {
     private static final String ANSI_GREEN = "\u001B[32m";
     private static final String ANSI_YELLOW = "\u001B[33m";
 
-    public ConsoleService(GutendexService gutendexService) {
+    @Autowired
+    public ConsoleService(GutendexService gutendexService, CatalogRefreshScheduler refreshScheduler) {
         this.gutendexService = gutendexService;
+        this.refreshScheduler = refreshScheduler;
+    }
+
+    public ConsoleService(GutendexService gutendexService) {
+        this(gutendexService, null);
     }
 
     public void start() {
@@ -29,6 +42,7 @@ public class ConsoleService {
         while (running) {
             printMenu();
             String opt = scanner.nextLine().trim();
+            long started = System.nanoTime();
             switch (opt) {
                 case "1": listAllBooksUI(); break;
                 case "2": listAuthorsUI(); break;
@@ -36,7 +50,10 @@ public class ConsoleService {
                 case "4": statsUI(); break;
                 case "5": searchByLanguageUI(); break;
                 case "6": searchAuthorByNameUI(); break;
-                case "7": refreshCacheUI(); break;
+                case "7": refreshIncrementalUI(); break;
+                case "8": refreshCacheUI(); break;
+                case "9": exportSnapshotUI(); break;
+                case "10": catalogStatusUI(); break;
                 case "0":
                 case "salir":
                 case "Salir":
@@ -47,6 +64,8 @@ public class ConsoleService {
                 default:
                     System.out.println(ANSI_YELLOW + "Opción inválida. Intentá de nuevo." + ANSI_RESET);
             }
+            // menu options only, so mistyped input does not create new series
+            if (MENU_OPTION.matcher(opt).matches()) gutendexService.getMetrics().menu("console", opt, System.nanoTime() - started);
         }
         System.exit(0);
     }
@@ -64,15 +83,21 @@ public class ConsoleService {
         System.out.printf("║ 4) Estadísticas                                  %s║%n", "");
         System.out.printf("║ 5) Buscar libros por idioma                      %s║%n", "");
         System.out.printf("║ 6) Buscar autor por nombre                       %s║%n", "");
-        System.out.printf("║ 7) Refrescar cache                               %s║%n", "");
+        System.out.printf("║ 7) Refrescar cache (incremental)                 %s║%n", "");
+        System.out.printf("║ 8) Recargar catálogo completo                    %s║%n", "");
+        System.out.printf("║ 9) Exportar snapshot para uso sin conexión       %s║%n", "");
+        System.out.printf("║10) Estado del catálogo                           %s║%n", "");
         System.out.printf("║ 0) Salir                                         %s║%n", "");
         System.out.println(footer);
+        if (refreshScheduler != null) System.out.println(ANSI_CYAN + refreshScheduler.getStatus() + ANSI_RESET);
         System.out.print(ANSI_GREEN + "Seleccioná una opción: " + ANSI_RESET);
     }
 
     private void listAllBooksUI() {
-        List<Book> books = gutendexService.listAllBooks();
-        printBooksTable(books);
+        BookOrder order = ConsolePager.askOrder(scanner);
+        int shown = ConsolePager.show(scanner, order,
+                cursor -> gutendexService.booksPage(cursor, ConsolePager.PAGE_SIZE, null), this::printBooksTable);
+        if (shown == 0) printBooksTable(Collections.emptyList());
     }
 
     private void listAuthorsUI() {
@@ -81,14 +106,22 @@ public class ConsoleService {
     }
 
     private void topDownloadsUI() {
-        List<Book> top = gutendexService.getTopDownloads(10);
+        List<Book> top = gutendexService.topDownloads(10).collectList().block();
         printBooksTable(top);
     }
 
     private void statsUI() {
-        DoubleSummaryStatistics stats = downloadStats();
+        DownloadStatistics stats = gutendexService.catalog().statistics();
         System.out.println(ANSI_CYAN + "Estadísticas de descargas:" + ANSI_RESET);
-        System.out.println("Mín: " + stats.getMin() + " | Máx: " + stats.getMax() + " | Prom: " + String.format("%.2f", stats.getAverage()));
+        System.out.println("Mín: " + stats.getMin() + " | Máx: " + stats.getMax() + " | Prom: " + String.format("%.2f", stats.getMean()));
+        System.out.printf("p50: %.0f | p90: %.0f | p99: %.0f%n", stats.getP50(), stats.getP90(), stats.getP99());
+        System.out.println("Histograma: " + stats.histogram());
+        stats.byLanguage().entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().getBooks(), a.getValue().getBooks()))
+                .limit(5)
+                .forEach(e -> System.out.println("  Idioma " + e.getKey() + ": " + e.getValue()));
+        stats.byAuthorCentury().forEach((c, f) ->
+                System.out.println("  Siglo " + (c == DownloadStatistics.UNKNOWN_CENTURY ? "desconocido" : c) + ": " + f));
     }
 
     private void searchAuthorByNameUI() {
@@ -102,9 +135,48 @@ public class ConsoleService {
         printAuthorsTable(found);
     }
 
+    private void refreshIncrementalUI() {
+        DeltaSyncResult delta = gutendexService.refreshIncremental();
+        if (delta == null) {
+            System.out.println(ANSI_GREEN + "Catálogo cargado." + ANSI_RESET);
+            return;
+        }
+        System.out.println(ANSI_GREEN + "Cache actualizada: " + delta + ANSI_RESET);
+        for (CacheStats stats : gutendexService.getCacheStats()) {
+            System.out.println("  " + stats);
+        }
+    }
+
     private void refreshCacheUI() {
         gutendexService.refreshCache();
-        System.out.println(ANSI_GREEN + "Cache refrescada." + ANSI_RESET);
+        CrawlResult crawl = gutendexService.getLastCrawl();
+        System.out.println(ANSI_GREEN + "Cache refrescada." + (crawl != null ? " " + crawl : "") + ANSI_RESET);
+        System.out.println("  " + gutendexService.getHttpMetrics());
+    }
+
+    private void catalogStatusUI() {
+        if (refreshScheduler != null) System.out.println(ANSI_CYAN + refreshScheduler.getStatus() + ANSI_RESET);
+        CrawlProgress progress = gutendexService.getCrawlProgress();
+        if (progress.isRunning()) System.out.println("  Carga en curso: " + progress);
+        CatalogGeneration current = gutendexService.loadedCatalog();
+        System.out.println("  Libros en memoria: " + (current == null ? "aún no cargados" : current.getBooks().size()));
+        CrawlResult crawl = gutendexService.getLastCrawl();
+        if (crawl != null) System.out.println("  Última carga completa: " + crawl);
+        DeltaSyncResult delta = gutendexService.getLastDelta();
+        if (delta != null) System.out.println("  Último refresco incremental: " + delta);
+    }
+
+    private void exportSnapshotUI() {
+        CatalogSnapshotStore snapshots = gutendexService.getSnapshots();
+        if (snapshots == null) {
+            System.out.println(ANSI_YELLOW + "⚠ No hay snapshot configurado." + ANSI_RESET);
+            return;
+        }
+        if (gutendexService.exportSnapshot()) {
+            System.out.println(ANSI_GREEN + "Snapshot guardado en " + snapshots.getPath().toAbsolutePath() + ANSI_RESET);
+        } else {
+            System.out.println(ANSI_YELLOW + "⚠ No se pudo guardar el snapshot." + ANSI_RESET);
+        }
     }
 
     private void searchByLanguageUI() {
@@ -139,14 +211,11 @@ public class ConsoleService {
             return;
         }
         final String langChosen = chosenCode;
-        List<Book> results = all.stream()
-                .filter(b -> b.getLanguages() != null && b.getLanguages().contains(langChosen))
-                .collect(Collectors.toList());
-        if (results.isEmpty()) {
+        int shown = ConsolePager.show(scanner, BookOrder.DOWNLOADS,
+                cursor -> gutendexService.booksPage(cursor, ConsolePager.PAGE_SIZE, langChosen), this::printBooksTable);
+        if (shown == 0) {
             System.out.println(ANSI_YELLOW + "⚠ No se encontraron libros en este idioma." + ANSI_RESET);
-            return;
         }
-        printBooksTable(results);
     }
 
     private String languageNameFallback(String code) {
@@ -167,7 +236,7 @@ public class ConsoleService {
             System.out.println(ANSI_YELLOW + "Sin resultados." + ANSI_RESET);
             return;
         }
-        // compute widths with limits
+        // compute widths with limits (over one page at most)
         int maxTitle = Math.min(50, books.stream().map(b -> b.getTitle()==null?0:b.getTitle().length()).max(Integer::compareTo).orElse(10));
         int wTitle = Math.max(20, maxTitle);
         int maxAuth = Math.min(30, books.stream().map(b -> {
@@ -222,13 +291,6 @@ public class ConsoleService {
     }
 
     public DoubleSummaryStatistics downloadStats() {
-        DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
-        List<Book> books = gutendexService.listAllBooks();
-        if (books != null) {
-            for (Book b : books) {
-                stats.accept(b.getDownload_count());
-            }
-        }
-        return stats;
+        return gutendexService.catalog().downloadStats();
     }
 }
@@ -0,0 +1,41 @@
+package com.literaturaapp.service;
+
+/**
+ * How far the running (or last) full crawl got: pages and books read so far, and the
+ * page count learned from the first page (0 until it arrives).
+ */
+public class CrawlProgress {
+
+    static final CrawlProgress IDLE = new CrawlProgress(false, 0, 0, 0);
+
+    private final boolean running;
+    private final int pages;
+    private final int totalPages;
+    private final int books;
+
+    public CrawlProgress(boolean running, int pages, int totalPages, int books) {
+        this.running = running;
+        this.pages = pages;
+        this.totalPages = totalPages;
+        this.books = books;
+    }
+
+    public boolean isRunning() { return running; }
+
+    public int getPages() { return pages; }
+
+    public int getTotalPages() { return totalPages; }
+
+    public int getBooks() { return books; }
+
+    /** Fraction of the pages read, 0 while the total is not known yet. */
+    public double getFraction() {
+        return totalPages <= 0 ? 0 : Math.min(1.0, pages / (double) totalPages);
+    }
+
+    @Override
+    public String toString() {
+        String total = totalPages > 0 ? "/" + totalPages : "";
+        return pages + total + " páginas, " + books + " libros" + (running ? " (en curso)" : "");
+    }
+}
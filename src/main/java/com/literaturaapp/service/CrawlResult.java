@@ -0,0 +1,51 @@
+package com.literaturaapp.service;
+
+import java.util.List;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * Outcome of a catalog crawl: the books merged in page order plus timing figures.
+ * A crawl cut short by an upstream error keeps the pages read so far and the error.
+ */
+public class CrawlResult {
+    private final List<Book> books;
+    private final int pages;
+    private final long elapsedNanos;
+    private final String error;
+
+    public CrawlResult(List<Book> books, int pages, long elapsedNanos) {
+        this(books, pages, elapsedNanos, null);
+    }
+
+    public CrawlResult(List<Book> books, int pages, long elapsedNanos, String error) {
+        this.books = books;
+        this.pages = pages;
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+
+    public List<Book> getBooks() { return books; }
+
+    public int getPages() { return pages; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    /** Message of the error that stopped the crawl, or null if it read every page. */
+    public String getError() { return error; }
+
+    public boolean isComplete() { return error == null; }
+
+    public double getPagesPerSecond() {
+        if (elapsedNanos <= 0) return 0;
+        return pages / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return books.size() + " libros, " + pages + " páginas en " + getElapsedMillis() + " ms ("
+                + String.format("%.1f", getPagesPerSecond()) + " pág/s)" + (error != null ? ", interrumpido: " + error : "");
+    }
+}
@@ -0,0 +1,59 @@
+package com.literaturaapp.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.literaturaapp.model.Book;
+
+/**
+ * Outcome of an incremental refresh: the merged catalog and what changed in it.
+ */
+public class DeltaSyncResult {
+    private final List<Book> books;
+    private final List<Book> added;
+    private final List<Book> updatedBooks;
+    private final Map<Integer, Integer> updatedDownloads;
+    private final int unchanged;
+    private final int pages;
+    private final long elapsedNanos;
+
+    public DeltaSyncResult(List<Book> books, List<Book> added, List<Book> updatedBooks,
+                           Map<Integer, Integer> updatedDownloads, int unchanged, int pages, long elapsedNanos) {
+        this.books = books;
+        this.added = added;
+        this.updatedBooks = updatedBooks;
+        this.updatedDownloads = updatedDownloads;
+        this.unchanged = unchanged;
+        this.pages = pages;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** The full catalog after the merge. */
+    public List<Book> getBooks() { return books; }
+
+    public List<Book> getAddedBooks() { return added; }
+
+    /** Known books whose download count changed, as they are in the merged catalog. */
+    public List<Book> getUpdatedBooks() { return updatedBooks; }
+
+    /** Book id to its new download count, for books that were already known. */
+    public Map<Integer, Integer> getUpdatedDownloads() { return updatedDownloads; }
+
+    public int getAdded() { return added.size(); }
+
+    public int getUpdated() { return updatedDownloads.size(); }
+
+    public int getUnchanged() { return unchanged; }
+
+    public int getPages() { return pages; }
+
+    public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+    public boolean hasChanges() { return !added.isEmpty() || !updatedDownloads.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "nuevos: " + getAdded() + ", actualizados: " + getUpdated() + ", sin cambios: " + unchanged
+                + " (" + pages + " páginas en " + getElapsedMillis() + " ms)";
+    }
+}
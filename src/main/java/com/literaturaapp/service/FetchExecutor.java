@@ -0,0 +1,129 @@
+package com.literaturaapp.service;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs batches of independent blocking fetches (RestTemplate pages) for
+ * {@link ServicioLiteratura}.
+ *
+ * <ul>
+ * <li>{@code sequential} (default): tasks run one after another on the caller thread.</li>
+ * <li>{@code parallel}: tasks run on virtual threads when the JVM has them (Java 21+),
+ * otherwise on a bounded daemon pool, never more than {@code concurrency} at once.</li>
+ * </ul>
+ *
+ * A batch behaves like a structured scope: results come back in task order, the first
+ * failure cancels the remaining tasks, and no task outlives the call.
+ */
+@Component
+public class FetchExecutor implements AutoCloseable {
+
+    private final boolean parallel;
+    private final int concurrency;
+    private final boolean virtualThreads;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public FetchExecutor(@Value("${gutendex.fetch.mode:sequential}") String mode,
+                         @Value("${gutendex.fetch.concurrency:8}") int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be >= 1");
+        this.parallel = "parallel".equalsIgnoreCase(mode);
+        this.concurrency = concurrency;
+        this.permits = new Semaphore(concurrency);
+        ExecutorService virtual = parallel ? virtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        if (!parallel) {
+            this.executor = null;
+        } else if (virtual != null) {
+            this.executor = virtual;
+        } else {
+            AtomicInteger n = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+                Thread t = new Thread(r, "gutendex-fetch-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public static FetchExecutor sequential() {
+        return new FetchExecutor("sequential", 1);
+    }
+
+    public boolean isParallel() { return parallel; }
+
+    public boolean isVirtualThreads() { return virtualThreads; }
+
+    public int getConcurrency() { return concurrency; }
+
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        if (!parallel || tasks.size() <= 1) return runInline(tasks);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        CompletionService<T> done = new ExecutorCompletionService<>(executor);
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(done.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            // wait in completion order so a failure is seen as soon as it happens
+            for (int i = 0; i < tasks.size(); i++) done.take().get();
+            List<T> out = new ArrayList<>(tasks.size());
+            for (Future<T> f : futures) out.add(f.get());
+            return out;
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Fetch interrupted", e);
+        } finally {
+            for (Future<T> f : futures) f.cancel(true);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    private static <T> List<T> runInline(List<Callable<T>> tasks) {
+        List<T> out = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            try {
+                out.add(task.call());
+            } catch (Exception e) {
+                throw unchecked(e);
+            }
+        }
+        return out;
+    }
+
+    private static RuntimeException unchecked(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t.getMessage(), t);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() exists from Java 21; looked up
+    // reflectively so the code still builds and runs on 17
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
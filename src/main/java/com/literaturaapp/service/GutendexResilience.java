@@ -0,0 +1,169 @@
+package com.literaturaapp.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.literaturaapp.config.GutendexMetrics;
+
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * What both services put around every Gutendex request, shared so they count against
+ * the same limits:
+ *
+ * <ul>
+ *   <li>a {@link TokenBucket} ({@code gutendex.rate.*}), so parallel crawls stay under
+ *       the rate Gutendex throttles at</li>
+ *   <li>retries of transient failures (5xx, 429, connection errors and timeouts) with
+ *       exponential backoff and ±50% jitter ({@code gutendex.retry.*})</li>
+ *   <li>a {@link CircuitBreaker} ({@code gutendex.breaker.*}) that refuses calls with
+ *       {@link GutendexUnavailableException} during an outage, so callers go to their
+ *       cached or offline data instead of waiting on timeouts</li>
+ * </ul>
+ *
+ * A 404 or any other answer that is not an outage is passed on without retrying.
+ */
+@Component
+public class GutendexResilience {
+
+    private static final double JITTER = 0.5;
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    // null when disabled
+    private final CircuitBreaker breaker;
+    private final TokenBucket rateLimiter;
+    private final GutendexMetrics metrics;
+
+    @Autowired
+    public GutendexResilience(@Value("${gutendex.retry.max-attempts:3}") int maxAttempts,
+                              @Value("${gutendex.retry.initial-backoff-ms:200}") long initialBackoffMs,
+                              @Value("${gutendex.retry.max-backoff-ms:5000}") long maxBackoffMs,
+                              @Value("${gutendex.breaker.failure-threshold:5}") int failureThreshold,
+                              @Value("${gutendex.breaker.open-seconds:30}") long openSeconds,
+                              @Value("${gutendex.rate.permits-per-second:10}") double permitsPerSecond,
+                              @Value("${gutendex.rate.burst:20}") int burst,
+                              GutendexMetrics metrics) {
+        this(maxAttempts, Duration.ofMillis(initialBackoffMs), Duration.ofMillis(maxBackoffMs),
+                failureThreshold, Duration.ofSeconds(openSeconds), permitsPerSecond, burst, metrics);
+    }
+
+    /**
+     * @param failureThreshold 0 disables the circuit breaker
+     * @param permitsPerSecond 0 disables rate limiting
+     */
+    public GutendexResilience(int maxAttempts, Duration initialBackoff, Duration maxBackoff, int failureThreshold,
+                              Duration openFor, double permitsPerSecond, int burst, GutendexMetrics metrics) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff.compareTo(initialBackoff) < 0 ? initialBackoff : maxBackoff;
+        this.breaker = failureThreshold > 0 ? new CircuitBreaker(failureThreshold, openFor) : null;
+        this.rateLimiter = permitsPerSecond > 0 ? new TokenBucket(permitsPerSecond, Math.max(1, burst)) : null;
+        this.metrics = metrics != null ? metrics : GutendexMetrics.standalone();
+        if (breaker != null) this.metrics.breaker(breaker);
+    }
+
+    /** One attempt per call, no breaker, no rate limit: what services built without Spring use. */
+    public static GutendexResilience disabled() {
+        return new GutendexResilience(1, Duration.ZERO, Duration.ZERO, 0, Duration.ZERO, 0, 0, null);
+    }
+
+    /** CLOSED when the breaker is disabled. */
+    public CircuitBreaker.State getBreakerState() {
+        return breaker != null ? breaker.getState() : CircuitBreaker.State.CLOSED;
+    }
+
+    /** Runs {@code call} (subscribed again for each attempt) under the rate limit, breaker and retry policy. */
+    public <T> Mono<T> call(String client, String operation, Supplier<Mono<T>> call) {
+        Mono<T> attempt = Mono.defer(() -> {
+            if (breaker != null && !breaker.tryAcquire()) {
+                metrics.rejected(client, operation);
+                return Mono.<T>error(new GutendexUnavailableException());
+            }
+            Mono<T> request = rateLimiter != null ? rateLimiter.acquireAsync().then(Mono.defer(call)) : Mono.defer(call);
+            if (breaker == null) return request;
+            return request.doOnSuccess(v -> breaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isTransient(e)) breaker.onFailure();
+                        else breaker.onSuccess();
+                    })
+                    .doOnCancel(breaker::onCancel);
+        });
+        if (maxAttempts == 1) return attempt;
+        return attempt.retryWhen(Retry.backoff(maxAttempts - 1, initialBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(JITTER)
+                .filter(GutendexResilience::isTransient)
+                .doBeforeRetry(signal -> metrics.retry(client, operation))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /** Blocking form of {@link #call(String, String, Supplier)}; waits on the calling thread. */
+    public <T> T callBlocking(String client, String operation, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            if (breaker != null && !breaker.tryAcquire()) {
+                metrics.rejected(client, operation);
+                throw new GutendexUnavailableException();
+            }
+            try {
+                if (rateLimiter != null) rateLimiter.acquire();
+                T result = call.get();
+                if (breaker != null) breaker.onSuccess();
+                return result;
+            } catch (InterruptedException e) {
+                if (breaker != null) breaker.onCancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Petición a Gutendex interrumpida", e);
+            } catch (RuntimeException e) {
+                boolean transientFailure = isTransient(e);
+                if (breaker != null) {
+                    if (transientFailure) breaker.onFailure();
+                    else breaker.onSuccess();
+                }
+                if (!transientFailure || attempt >= maxAttempts) throw e;
+                metrics.retry(client, operation);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos(attempt));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // same shape as Reactor's Retry.backoff: initial * 2^(n-1), capped, then ±JITTER
+    private long backoffNanos(int attempt) {
+        long base = initialBackoff.toNanos() << Math.min(attempt - 1, 30);
+        if (base <= 0 || base > maxBackoff.toNanos()) base = maxBackoff.toNanos();
+        long spread = (long) (base * JITTER);
+        return spread == 0 ? base : base - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+
+    /** An outage worth retrying, as opposed to an answer (404, bad request, bad JSON). */
+    static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException) return isTransientStatus(((WebClientResponseException) e).getStatusCode().value());
+        if (e instanceof HttpStatusCodeException) return isTransientStatus(((HttpStatusCodeException) e).getStatusCode().value());
+        return e instanceof WebClientRequestException || e instanceof ResourceAccessException
+                || e instanceof TimeoutException || e instanceof IOException;
+    }
+
+    private static boolean isTransientStatus(int status) {
+        return status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
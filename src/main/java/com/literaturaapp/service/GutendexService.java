@@ -3,38 +3,115 @@ package com.literaturaapp.service;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import com.literaturaapp.catalog.BookCursor;
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.BookPage;
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.config.GutendexHttpClientFactory;
+import com.literaturaapp.config.GutendexMetrics;
+import com.literaturaapp.config.HttpClientMetrics;
 import com.literaturaapp.model.Book;
 import com.literaturaapp.model.Author;
 import com.literaturaapp.model.GutendexResponse;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
 @Service
 public class GutendexService {
 
+    private static final int LOCAL_PAGE_SIZE = 32;
+
+    private final GutendexHttpClientFactory httpClients;
     private final WebClient webClient;
-    private List<Book> cachedBooks = null;
+    private final CatalogCrawler crawler;
+    // local H2 copy of the catalog; null when running without persistence
+    private final CatalogMirrorService mirror;
+    // serializes full and incremental refreshes
+    private final Object loadLock = new Object();
+    // published catalog generation, shared with ServicioLiteratura
+    private final SharedCatalog catalogs;
+    private volatile CrawlResult lastCrawl = null;
+    // pages of the catalog load in progress, replayed to books() subscribers; null when none
+    private volatile Sinks.Many<List<Book>> loadingPages = null;
+    private volatile DeltaSyncResult lastDelta = null;
+    private volatile CrawlResult lastDeltaCrawl = null;
+    private final int deltaPopularPages;
+    private final boolean columnarStore;
+    // concurrent misses for the same key share one upstream request
+    private final SingleFlight<String, CatalogGeneration> catalogLoads = new SingleFlight<>();
+    // search pages and books by id; these also coalesce concurrent misses
+    private final ResponseCache<String, GutendexResponse> searchLookups;
+    private final ResponseCache<Integer, Optional<Book>> bookLookups;
+    // offline copy of the catalog; null when running without one
+    private final CatalogSnapshotStore snapshots;
+    private final GutendexMetrics metrics;
+    // retries, circuit breaker and rate limit around every request
+    private final GutendexResilience resilience;
+
+    @Autowired
+    public GutendexService(@Value("${gutendex.base-url:https://gutendex.com}") String baseUrl,
+                           @Value("${gutendex.crawl.concurrency:4}") int crawlConcurrency,
+                           @Value("${gutendex.crawl.max-pages:50}") int crawlMaxPages,
+                           @Value("${gutendex.delta.popular-pages:1}") int deltaPopularPages,
+                           @Value("${catalog.store:objects}") String catalogStore,
+                           @Value("${gutendex.crawl.include-formats:false}") boolean crawlIncludeFormats,
+                           CatalogMirrorService mirror,
+                           ResponseCacheSettings cacheSettings,
+                           GutendexHttpClientFactory httpClients,
+                           CatalogSnapshotStore snapshots,
+                           GutendexMetrics metrics,
+                           GutendexResilience resilience,
+                           SharedCatalog catalogs) {
+        this.httpClients = httpClients != null ? httpClients : GutendexHttpClientFactory.defaults();
+        this.metrics = metrics != null ? metrics : GutendexMetrics.standalone();
+        this.resilience = resilience != null ? resilience : GutendexResilience.disabled();
+        this.catalogs = catalogs != null ? catalogs : new SharedCatalog();
+        this.webClient = this.httpClients.webClient(baseUrl);
+        // what is persisted must keep its formats: the mirror and the snapshot would store none
+        boolean includeFormats = crawlIncludeFormats || mirror != null || snapshots != null;
+        this.crawler = new CatalogCrawler(webClient, crawlConcurrency, crawlMaxPages, includeFormats,
+                this.metrics, this.resilience);
+        this.deltaPopularPages = deltaPopularPages;
+        this.columnarStore = "columnar".equalsIgnoreCase(catalogStore);
+        this.mirror = mirror;
+        ResponseCacheSettings settings = cacheSettings != null ? cacheSettings : ResponseCacheSettings.defaults();
+        this.searchLookups = settings.newCache("búsquedas", resp -> resp.getResults() == null || resp.getResults().isEmpty());
+        this.bookLookups = settings.newCache("libros por id", Optional::isEmpty);
+        this.snapshots = snapshots;
+        this.metrics.catalog("gutendex", this.catalogs::get);
+        this.metrics.cache("gutendex", searchLookups);
+        this.metrics.cache("gutendex", bookLookups);
+        this.metrics.httpClient(this.httpClients.getWebClientMetrics());
+    }
+
+    public GutendexService(String baseUrl, int crawlConcurrency, int crawlMaxPages, int deltaPopularPages,
+                           String catalogStore, boolean crawlIncludeFormats, CatalogMirrorService mirror,
+                           ResponseCacheSettings cacheSettings, GutendexHttpClientFactory httpClients,
+                           CatalogSnapshotStore snapshots) {
+        this(baseUrl, crawlConcurrency, crawlMaxPages, deltaPopularPages, catalogStore, crawlIncludeFormats,
+                mirror, cacheSettings, httpClients, snapshots, null, null, null);
+    }
 
-    public GutendexService() {
-        this.webClient = WebClient.builder()
-                .baseUrl("https://gutendex.com")
-                .build();
+    public GutendexService(String baseUrl, int crawlConcurrency, int crawlMaxPages) {
+        this(baseUrl, crawlConcurrency, crawlMaxPages, 1, "objects", false, null, null, null, null, null, null, null);
     }
 
     public GutendexResponse searchBooks(String query, int page) {
         try {
-            String q = URLEncoder.encode(query, StandardCharsets.UTF_8);
-            String uri = "/books/?search=" + q + "&page=" + page;
-            return webClient.get()
-                    .uri(uri)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(GutendexResponse.class)
-                    .block();
+            return searchPage(query, page).block();
         } catch (Exception e) {
             System.err.println("Error searchBooks: " + e.getMessage());
             return null;
@@ -43,76 +120,401 @@ public class GutendexService {
 
     public Book getBookById(int id) {
         try {
-            String uri = "/books/" + id + "/";
-            return webClient.get()
-                    .uri(uri)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(Book.class)
-                    .block();
+            return book(id).block();
         } catch (Exception e) {
             return null;
         }
     }
 
-    public synchronized List<Book> listAllBooks() {
-        if (cachedBooks != null) return cachedBooks;
-        List<Book> all = new ArrayList<>();
-        try {
-            int page = 1;
-            while (true) {
-                String uri = "/books/?page=" + page;
-                GutendexResponse resp = webClient.get()
-                        .uri(uri)
-                        .accept(MediaType.APPLICATION_JSON)
-                        .retrieve()
-                        .bodyToMono(GutendexResponse.class)
-                        .block();
-                if (resp == null || resp.getResults() == null || resp.getResults().isEmpty()) break;
-                all.addAll(resp.getResults());
-                if (resp.getNext() == null) break;
-                page++;
-                // safety cap
-                if (page > 50) break;
+    public List<Book> listAllBooks() {
+        return catalog().getBooks();
+    }
+
+    /**
+     * Up to {@code size} books after the cursor, optionally in one language. Served by the
+     * loaded catalog; before it is loaded, by the mirror's indexes, so a first page does
+     * not wait for the whole catalog. Cursors work across both sources.
+     */
+    public BookPage booksPage(BookCursor after, int size, String language) {
+        boolean titleByLanguage = after.getOrder() == BookOrder.TITLE && language != null && !language.isBlank();
+        if (catalogs.get() == null && mirror != null && !titleByLanguage) {
+            try {
+                BookPage page = mirror.page(after, size, language);
+                // an empty first page means nothing is mirrored yet
+                if (!page.isEmpty() || !after.isStart()) return page;
+            } catch (Exception e) {
+                System.err.println("Error paginando la réplica local: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.err.println("Error listAllBooks: " + e.getMessage());
         }
-        cachedBooks = all;
-        return cachedBooks;
+        return catalog().page(after, size, language);
     }
 
-    public synchronized void refreshCache() {
-        this.cachedBooks = null;
-        listAllBooks();
+    /** The published generation, or null while nothing is loaded; never triggers a load. */
+    public CatalogGeneration loadedCatalog() {
+        return catalogs.get();
     }
 
-    public List<Author> listAllAuthors() {
-        List<Book> all = listAllBooks();
-        Map<String, Author> map = new LinkedHashMap<>();
-        for (Book b : all) {
-            if (b.getAuthors() == null) continue;
-            for (Author a : b.getAuthors()) {
-                if (a == null || a.getName() == null) continue;
-                map.putIfAbsent(a.getName(), a);
+    public CatalogGeneration catalog() {
+        CatalogGeneration current = catalogs.get();
+        if (current != null) return current;
+        return catalogAsync().block();
+    }
+
+    public void refreshCache() {
+        // the previous catalog keeps being served until the new crawl is swapped in;
+        // callers asking for a reload while one is running get that one
+        catalogLoads.load("refresh", () -> {
+            synchronized (loadLock) {
+                CatalogGeneration previous = catalogs.get();
+                List<Book> books = isOffline() ? snapshots.load() : crawlAndStore();
+                CrawlResult crawl = isOffline() ? null : lastCrawl;
+                if (books.isEmpty() || (crawl != null && !crawl.isComplete())) {
+                    // Gutendex unreachable or cut off mid-crawl: keep serving what we have
+                    // rather than an empty or partial catalog
+                    CatalogGeneration current = catalogs.get();
+                    if (current != null && !current.isEmpty()) return current;
+                    if (books.isEmpty() && snapshots != null) books = snapshots.load();
+                }
+                CatalogGeneration fresh = CatalogGeneration.of(books, crawl == null || crawl.isComplete(), columnarStore);
+                // a generation the other service published during the crawl wins over this one
+                if (!catalogs.replace(previous, fresh)) return catalogs.get();
+                searchLookups.invalidateAll();
+                bookLookups.invalidateAll();
+                return fresh;
+            }
+        });
+    }
+
+    /**
+     * Fetches only what changed since the cached catalog: ids newer than the highest
+     * known one, plus download counts seen on the first popularity pages.
+     * Falls back to a full load when nothing is cached yet; does nothing offline.
+     */
+    public DeltaSyncResult refreshIncremental() {
+        synchronized (loadLock) {
+            CatalogGeneration current = catalogs.get();
+            if (current == null || current.isEmpty()) {
+                catalog();
+                return null;
             }
+            if (isOffline()) return null;
+            CrawlResult fetched = crawler.crawlSince(CatalogDelta.maxId(current.getBooks()), deltaPopularPages).block();
+            lastDeltaCrawl = fetched;
+            if (fetched == null) return null;
+            DeltaSyncResult delta = CatalogDelta.apply(current.getBooks(), fetched.getBooks(), fetched.getPages(), fetched.getElapsedNanos());
+            // a generation published meanwhile by the other service wins over this delta;
+            // it is not persisted either, so the next delta starts from the same watermark
+            if (delta.hasChanges()
+                    && catalogs.replace(current, current.next(delta.getBooks(), delta.getAddedBooks(), delta.getUpdatedBooks()))) {
+                searchLookups.invalidateAll();
+                bookLookups.invalidateAll();
+                if (mirror != null) {
+                    try {
+                        mirror.applyDelta(delta);
+                    } catch (Exception e) {
+                        System.err.println("Error guardando la réplica local: " + e.getMessage());
+                    }
+                }
+                if (snapshots != null) snapshots.save(delta.getBooks());
+            }
+            lastDelta = delta;
+            return delta;
         }
-        return new ArrayList<>(map.values());
+    }
+
+    /**
+     * Counters (added/updated/unchanged) of the most recent incremental refresh, or null.
+     */
+    public DeltaSyncResult getLastDelta() {
+        return lastDelta;
+    }
+
+    /**
+     * Timing of the most recent crawl (pages/sec, warm-up time), or null before the first one.
+     */
+    public CrawlResult getLastCrawl() {
+        return lastCrawl;
+    }
+
+    /** Pages and books read by the running full crawl (the warm-up or a reload). */
+    public CrawlProgress getCrawlProgress() {
+        return crawler.getProgress();
+    }
+
+    /**
+     * One step of {@link CatalogRefreshScheduler}: the first load if nothing is published
+     * yet, a full reload if the catalog is empty or came from an interrupted crawl, an
+     * incremental refresh otherwise. Readers keep getting the current generation until
+     * the new one is published. Returns false when Gutendex could not be read.
+     */
+    boolean refreshInBackground() {
+        CatalogGeneration current = catalogs.get();
+        if (current == null) {
+            current = catalog();
+            CrawlResult crawl = lastCrawl;
+            return !current.isEmpty() && (crawl == null || crawl.isComplete());
+        }
+        if (isOffline()) return true;
+        CrawlResult crawl = lastCrawl;
+        if (current.isEmpty() || (crawl != null && !crawl.isComplete())) {
+            refreshCache();
+            crawl = lastCrawl;
+            return !catalogs.get().isEmpty() && crawl != null && crawl.isComplete();
+        }
+        refreshIncremental();
+        CrawlResult delta = lastDeltaCrawl;
+        return delta != null && delta.isComplete();
+    }
+
+    /**
+     * Hit/miss counters of the search and by-id caches.
+     */
+    public List<CacheStats> getCacheStats() {
+        return List.of(searchLookups.stats(), bookLookups.stats());
+    }
+
+    /**
+     * Bytes and connection reuse of the Gutendex WebClient.
+     */
+    public HttpClientMetrics getHttpMetrics() {
+        return httpClients.getWebClientMetrics();
+    }
+
+    public GutendexMetrics getMetrics() {
+        return metrics;
+    }
+
+    public GutendexResilience getResilience() {
+        return resilience;
+    }
+
+    /**
+     * Writes the loaded catalog to the snapshot file so a later start can run offline.
+     * Returns false when there is no snapshot store, nothing loaded, or the write failed.
+     */
+    public boolean exportSnapshot() {
+        if (snapshots == null) return false;
+        CatalogGeneration current = catalog();
+        return !current.isEmpty() && snapshots.save(current.getBooks());
+    }
+
+    /** The snapshot store, or null when this service has none. */
+    public CatalogSnapshotStore getSnapshots() {
+        return snapshots;
+    }
+
+    private boolean isOffline() {
+        return snapshots != null && snapshots.isOffline();
+    }
+
+    // a refresh that finished while this load was running wins over it
+    private CatalogGeneration publishIfAbsent(CatalogGeneration generation) {
+        return catalogs.publishIfAbsent(generation);
+    }
+
+    private List<Book> crawlAndStore() {
+        return crawlAndStoreAsync(null).block();
+    }
+
+    /**
+     * Snapshot first (binary, so no JSON is parsed at startup), then the H2
+     * mirror, then a crawl. Offline, only the snapshot is read.
+     */
+    private Mono<List<Book>> loadCatalogAsync(Consumer<List<Book>> onPage) {
+        Mono<List<Book>> fromSnapshot = snapshots == null
+                ? Mono.just(Collections.<Book>emptyList())
+                : Mono.fromCallable(snapshots::load).subscribeOn(Schedulers.boundedElastic());
+        if (isOffline()) return fromSnapshot.doOnNext(onPage);
+        return fromSnapshot
+                .flatMap(local -> local.isEmpty() ? loadFromMirrorAsync() : Mono.just(local))
+                .flatMap(local -> local.isEmpty() ? crawlAndStoreAsync(onPage) : Mono.just(local).doOnNext(onPage));
+    }
+
+    private Mono<List<Book>> loadFromMirrorAsync() {
+        if (mirror == null) return Mono.just(Collections.emptyList());
+        // JPA is blocking, so the mirror is read on the bounded elastic scheduler
+        return Mono.fromCallable(mirror::load)
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    System.err.println("Error leyendo la réplica local: " + e.getMessage());
+                    return Mono.just(Collections.emptyList());
+                });
+    }
+
+    private Mono<List<Book>> crawlAndStoreAsync(Consumer<List<Book>> onPage) {
+        return crawler.crawl(onPage).flatMap(result -> {
+            lastCrawl = result;
+            List<Book> books = result.getBooks();
+            // an interrupted crawl may still be served, but is not persisted as the full catalog
+            if (books.isEmpty() || !result.isComplete() || (mirror == null && snapshots == null)) return Mono.just(books);
+            return Mono.fromRunnable(() -> store(books))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .thenReturn(books);
+        });
+    }
+
+    private void store(List<Book> books) {
+        if (mirror != null) {
+            try {
+                mirror.store(books);
+            } catch (Exception e) {
+                System.err.println("Error guardando la réplica local: " + e.getMessage());
+            }
+        }
+        if (snapshots != null) snapshots.save(books);
+    }
+
+    // --- reactive API: same queries, results are pushed as they are available and no
+    // thread waits on the network; the blocking methods above are thin wrappers ---
+
+    /**
+     * The current catalog generation, loaded (snapshot, mirror, then a crawl) by the first
+     * subscriber; concurrent subscribers and blocking callers share that load.
+     */
+    public Mono<CatalogGeneration> catalogAsync() {
+        return Mono.defer(() -> {
+            CatalogGeneration current = catalogs.get();
+            if (current != null) return Mono.just(current);
+            return catalogLoads.loadAsync("catalog", () -> {
+                Sinks.Many<List<Book>> pages = Sinks.many().replay().all();
+                loadingPages = pages;
+                return loadCatalogAsync(pages::tryEmitNext)
+                        .map(books -> {
+                            // a cut crawl is served, but not as the full catalog
+                            CrawlResult crawl = lastCrawl;
+                            return publishIfAbsent(CatalogGeneration.of(books, crawl == null || crawl.isComplete(), columnarStore));
+                        })
+                        .doOnError(pages::tryEmitError)
+                        .doOnCancel(() -> pages.tryEmitError(new CancellationException("carga del catálogo cancelada")))
+                        .doFinally(signal -> {
+                            loadingPages = null;
+                            pages.tryEmitComplete();
+                        });
+            });
+        });
+    }
+
+    /**
+     * Every book of the catalog. On a cold catalog this starts (or joins) the load that
+     * publishes it and emits the crawled pages as they arrive instead of waiting for all of them.
+     */
+    public Flux<Book> books() {
+        return Flux.defer(() -> {
+            CatalogGeneration current = catalogs.get();
+            if (current != null) return Flux.fromIterable(current.getBooks());
+            // the load runs to the end even if this subscriber cancels, so the catalog still gets published
+            catalogAsync().subscribe(g -> {}, e -> System.err.println("Error cargando el catálogo: " + e.getMessage()));
+            Sinks.Many<List<Book>> pages = loadingPages;
+            if (pages == null) return catalogAsync().flatMapIterable(CatalogGeneration::getBooks);
+            // a resumed crawl may read a book twice where the listing shifted; the published catalog does not keep it
+            return pages.asFlux().concatMapIterable(list -> list).distinct(Book::getId);
+        });
+    }
+
+    /**
+     * Books matching the query. Once the catalog is loaded this reads the local index;
+     * before that, Gutendex search pages are emitted as they arrive and the next page is
+     * only requested while the subscriber keeps consuming.
+     */
+    public Flux<Book> search(String query) {
+        if (query == null || query.isBlank()) return Flux.empty();
+        return Flux.defer(() -> {
+            CatalogGeneration current = catalogs.get();
+            if (current != null) return Flux.fromIterable(current.searchBooks(query));
+            if (isOffline()) return catalogAsync().flatMapIterable(g -> g.searchBooks(query));
+            return Flux.range(1, crawler.getMaxPages())
+                    .concatMap(page -> searchPage(query, page))
+                    .takeUntil(resp -> resp.getNext() == null)
+                    .concatMapIterable(resp -> resp.getResults() != null ? resp.getResults() : Collections.<Book>emptyList());
+        });
+    }
+
+    /**
+     * One page of the Gutendex search endpoint, cached by normalized term and page.
+     * Offline, or when the request fails and a catalog is loaded, the page is cut from
+     * the local index instead.
+     */
+    public Mono<GutendexResponse> searchPage(String query, int page) {
+        if (isOffline()) return catalogAsync().map(g -> localPage(g.searchBooks(query), page));
+        String q = URLEncoder.encode(query.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "), StandardCharsets.UTF_8);
+        String uri = "/books/?search=" + q + "&page=" + page;
+        return searchLookups.getAsync(uri, () -> metrics.upstream(GutendexMetrics.WEBCLIENT, "search",
+                        resilience.call(GutendexMetrics.WEBCLIENT, "search", () -> webClient.get()
+                                .uri(uri)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .retrieve()
+                                .bodyToMono(GutendexResponse.class))))
+                .onErrorResume(e -> catalogs.get() != null, e -> Mono.just(localPage(catalogs.get().searchBooks(query), page)));
+    }
+
+    // same page size and "next" convention as the Gutendex endpoint
+    private static GutendexResponse localPage(List<Book> matches, int page) {
+        int from = Math.min(matches.size(), Math.max(0, page - 1) * LOCAL_PAGE_SIZE);
+        int to = Math.min(matches.size(), from + LOCAL_PAGE_SIZE);
+        GutendexResponse resp = new GutendexResponse();
+        resp.setCount(matches.size());
+        resp.setResults(new ArrayList<>(matches.subList(from, to)));
+        resp.setNext(to < matches.size() ? "?page=" + (page + 1) : null);
+        return resp;
+    }
+
+    /**
+     * The book with this id, or empty if Gutendex does not know it. Offline, or when
+     * the request fails and a catalog is loaded, the local catalog answers.
+     */
+    public Mono<Book> book(int id) {
+        if (isOffline()) return catalogAsync().flatMap(g -> Mono.justOrEmpty(g.findById(id)));
+        return bookLookups.getAsync(id, () -> metrics.upstream(GutendexMetrics.WEBCLIENT, "book",
+                        resilience.call(GutendexMetrics.WEBCLIENT, "book", () -> webClient.get()
+                                .uri("/books/" + id + "/")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .retrieve()
+                                .bodyToMono(Book.class))
+                        .map(Optional::of)
+                        // remembered as a negative entry; other failures are not cached
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Optional.empty()))))
+                .onErrorResume(e -> catalogs.get() != null, e -> Mono.just(Optional.ofNullable(catalogs.get().findById(id))))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public Flux<Book> booksByLanguage(String language) {
+        if (language == null || language.isBlank()) return books();
+        String code = language.trim();
+        return catalogAsync().flatMapIterable(g -> g.booksInLanguage(code));
+    }
+
+    public Flux<Book> topDownloads(int n) {
+        return catalogAsync().flatMapIterable(g -> g.ranking().top(n));
+    }
+
+    public Flux<Book> topDownloads(String language, int n) {
+        return catalogAsync().flatMapIterable(g -> g.ranking().top(language, n));
+    }
+
+    /** One entry per person (see {@link com.literaturaapp.catalog.AuthorDimension}), sorted by name. */
+    public List<Author> listAllAuthors() {
+        return catalog().authors().sortedByName();
+    }
+
+    /**
+     * Books whose title or author names contain every word of the query as a word prefix,
+     * answered from the local index (accents ignored).
+     */
+    public List<Book> searchLocal(String q) {
+        if (q == null || q.isBlank()) return Collections.emptyList();
+        return catalog().searchBooks(q);
     }
 
     public List<Book> getTopDownloads(int n) {
-        List<Book> all = listAllBooks();
-        return all.stream()
-                .sorted(Comparator.comparingInt(Book::getDownload_count).reversed())
-                .limit(n)
-                .collect(Collectors.toList());
+        return catalog().ranking().top(n);
+    }
+
+    public List<Book> getTopDownloads(String language, int n) {
+        return catalog().ranking().top(language, n);
     }
 
     public List<Author> findAuthorsByName(String q) {
         if (q == null) return Collections.emptyList();
-        String low = q.toLowerCase();
-        return listAllAuthors().stream()
-                .filter(a -> a.getName() != null && a.getName().toLowerCase().contains(low))
-                .collect(Collectors.toList());
+        return catalog().search().searchAuthors(q);
     }
 }
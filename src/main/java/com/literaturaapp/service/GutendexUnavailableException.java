@@ -0,0 +1,9 @@
+package com.literaturaapp.service;
+
+/** Thrown instead of calling Gutendex while the circuit breaker is open. */
+public class GutendexUnavailableException extends RuntimeException {
+
+    public GutendexUnavailableException() {
+        super("Gutendex no disponible (circuito abierto)");
+    }
+}
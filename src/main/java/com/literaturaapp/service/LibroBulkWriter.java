@@ -0,0 +1,118 @@
+package com.literaturaapp.service;
+
+import java.util.*;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.Libro;
+
+/**
+ * Writes {@link Libro} rows and their collection tables with plain JDBC batches.
+ * Going through the persistence context cost more in flush bookkeeping than in SQL
+ * (70k books carry about 200k collections), and a re-sync would first have to load
+ * every stored book. Here a book is one {@code MERGE} on {@code libros}; the
+ * collection rows of books already stored are deleted and inserted again. The
+ * caller skips books whose {@link #huella} matches the stored one.
+ *
+ * <p>Table and column names are the ones Hibernate derives from {@link Libro}'s mapping.
+ * Runs in the caller's transaction.
+ */
+final class LibroBulkWriter {
+
+    private static final String UPSERT_LIBRO = "merge into libros (id, title, download_count, huella) key (id) values (?, ?, ?, ?)";
+    private static final String INSERT_IDIOMA = "insert into libro_languages (libro_id, position, language) values (?, ?, ?)";
+    private static final String INSERT_AUTOR = "insert into libro_autor (libro_id, position, persona_id) values (?, ?, ?)";
+    private static final String INSERT_FORMATO = "insert into libro_formatos (libro_id, mime_type, url) values (?, ?, ?)";
+    private static final String UPDATE_DESCARGAS = "update libros set download_count = ?, huella = null where id = ?";
+    private static final List<String> COLLECTION_TABLES = List.of("libro_languages", "libro_autor", "libro_formatos");
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+
+    LibroBulkWriter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.named = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    /**
+     * Upserts one batch of books.
+     *
+     * @param personaIds ids of each book's authors, by position in {@code books}
+     * @param huellas    {@link #huella} of each book, by position
+     * @param storedIds  ids of the books in this batch that already have rows
+     */
+    void upsert(List<Book> books, List<long[]> personaIds, List<Long> huellas, Collection<Integer> storedIds) {
+        if (!storedIds.isEmpty()) {
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", storedIds);
+            for (String table : COLLECTION_TABLES) named.update("delete from " + table + " where libro_id in (:ids)", ids);
+        }
+        List<Object[]> libros = new ArrayList<>(books.size());
+        List<Object[]> idiomas = new ArrayList<>();
+        List<Object[]> autores = new ArrayList<>();
+        List<Object[]> formatos = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            Book b = books.get(i);
+            libros.add(new Object[]{b.getId(), b.getTitle(), b.getDownload_count(), huellas.get(i)});
+            if (b.getLanguages() != null) {
+                for (int p = 0; p < b.getLanguages().size(); p++) idiomas.add(new Object[]{b.getId(), p, idioma(b.getLanguages().get(p))});
+            }
+            long[] autorIds = personaIds.get(i);
+            for (int p = 0; p < autorIds.length; p++) autores.add(new Object[]{b.getId(), p, autorIds[p]});
+            if (b.getFormats() != null) {
+                for (Map.Entry<String, String> f : b.getFormats().entrySet()) formatos.add(new Object[]{b.getId(), f.getKey(), f.getValue()});
+            }
+        }
+        batch(UPSERT_LIBRO, libros);
+        batch(INSERT_IDIOMA, idiomas);
+        batch(INSERT_AUTOR, autores);
+        batch(INSERT_FORMATO, formatos);
+    }
+
+    /**
+     * 64-bit hash of everything stored for a book (title, downloads, languages,
+     * author rows, formats). Equal hashes mean the stored rows can be left alone.
+     */
+    static long huella(Book b, long[] personaIds) {
+        long h = 1125899906842597L;
+        h = mix(h, b.getTitle());
+        h = 31 * h + b.getDownload_count();
+        if (b.getLanguages() != null) {
+            for (String l : b.getLanguages()) h = mix(h, l);
+        }
+        h = 31 * h + 0x1f;
+        for (long id : personaIds) h = 31 * h + id;
+        h = 31 * h + 0x1f;
+        if (b.getFormats() != null) {
+            for (Map.Entry<String, String> f : b.getFormats().entrySet()) h = mix(mix(h, f.getKey()), f.getValue());
+        }
+        return h;
+    }
+
+    private static long mix(long h, String s) {
+        if (s == null) return 31 * h + 0x1e;
+        for (int i = 0; i < s.length(); i++) h = 31 * h + s.charAt(i);
+        return 31 * h + 0x1f;
+    }
+
+    // stored lower-cased so language lookups are plain equality on idx_libro_idioma
+    private static String idioma(String code) {
+        return code == null ? null : code.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sets the download count of each book id in the map, in one batch. The hash covers
+     * the count, so it is cleared and the next full store rewrites those rows.
+     */
+    void updateDownloads(Map<Integer, Integer> downloadsById) {
+        List<Object[]> rows = new ArrayList<>(downloadsById.size());
+        for (Map.Entry<Integer, Integer> e : downloadsById.entrySet()) rows.add(new Object[]{e.getValue(), e.getKey()});
+        batch(UPDATE_DESCARGAS, rows);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) jdbc.batchUpdate(sql, rows);
+    }
+}
@@ -0,0 +1,49 @@
+package com.literaturaapp.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.literaturaapp.catalog.ValuePool;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.Libro;
+import com.literaturaapp.model.Persona;
+
+/**
+ * Converts the persisted model ({@link Libro} and its {@link Persona} authors) back to
+ * the API one ({@link Book}); writes go through {@link LibroBulkWriter}.
+ */
+final class LibroMapper {
+
+    private LibroMapper() {}
+
+    static Book toBook(Libro l) {
+        return toBook(l, null);
+    }
+
+    /** With a pool, authors and language lists are its shared instances. */
+    static Book toBook(Libro l, ValuePool pool) {
+        Book b = new Book();
+        b.setId(l.getId());
+        b.setTitle(l.getTítulo());
+        b.setDownload_count(l.getDownloadCount());
+        List<String> languages = l.getIdiomas() == null ? new ArrayList<>() : new ArrayList<>(l.getIdiomas());
+        b.setLanguages(pool != null ? pool.languages(languages) : languages);
+        List<Author> authors = new ArrayList<>();
+        if (l.getAutores() != null) {
+            for (Persona p : l.getAutores()) authors.add(toAuthor(p));
+        }
+        b.setAuthors(pool != null ? pool.authors(authors) : authors);
+        b.setFormats(l.getFormatos() == null ? new LinkedHashMap<>() : new LinkedHashMap<>(l.getFormatos()));
+        return b;
+    }
+
+    static Author toAuthor(Persona p) {
+        Author a = new Author();
+        a.setName(p.getNombre());
+        a.setBirth_year(p.getAnioNacimiento());
+        a.setDeath_year(p.getAnioFallecimiento());
+        return a;
+    }
+}
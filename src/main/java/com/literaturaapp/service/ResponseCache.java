@@ -0,0 +1,154 @@
+package com.literaturaapp.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded LRU cache for Gutendex lookups. Entries expire after a TTL; empty answers
+ * (no results, unknown id) are kept too, but with their own, usually shorter, TTL so a
+ * miss is not asked upstream again on every keystroke. Misses go through a
+ * {@link SingleFlight}, and failures are never cached: the loader's exception reaches
+ * the callers and the next call tries again.
+ */
+public class ResponseCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Predicate<V> isEmpty;
+    private final LongSupplier clock;
+    private final SingleFlight<K, V> flight = new SingleFlight<>();
+
+    // access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public ResponseCache(String name, int maxEntries, long ttlSeconds, long negativeTtlSeconds, Predicate<V> isEmpty) {
+        this(name, maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), TimeUnit.SECONDS.toNanos(negativeTtlSeconds),
+                isEmpty, System::nanoTime);
+    }
+
+    ResponseCache(String name, int maxEntries, long ttlNanos, long negativeTtlNanos, Predicate<V> isEmpty, LongSupplier clock) {
+        if (maxEntries < 0) throw new IllegalArgumentException("maxEntries must be >= 0");
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.isEmpty = isEmpty;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Cached value for the key, or the loader's result if there is none or it expired.
+     * Null results are returned but not stored.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> cached = lookup(key);
+        if (cached != null) {
+            if (cached.negative) negativeHits.incrementAndGet();
+            else hits.incrementAndGet();
+            return cached.value;
+        }
+        misses.incrementAndGet();
+        return flight.load(key, () -> {
+            V value = loader.get();
+            if (value != null) put(key, value);
+            return value;
+        });
+    }
+
+    /**
+     * Non-blocking {@link #get}: a hit completes immediately, a miss subscribes to the
+     * loader (shared with concurrent callers of either method). An empty result is not stored.
+     */
+    public Mono<V> getAsync(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Entry<V> cached = lookup(key);
+            if (cached != null) {
+                if (cached.negative) negativeHits.incrementAndGet();
+                else hits.incrementAndGet();
+                return Mono.just(cached.value);
+            }
+            misses.incrementAndGet();
+            return flight.loadAsync(key, () -> loader.get().doOnNext(value -> put(key, value)));
+        });
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, size(), hits.get(), negativeHits.get(), misses.get(), evictions.get(), expirations.get());
+    }
+
+    private Entry<V> lookup(K key) {
+        synchronized (entries) {
+            Entry<V> e = entries.get(key);
+            if (e == null) return null;
+            if (clock.getAsLong() - e.expiresAt >= 0) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                return null;
+            }
+            return e;
+        }
+    }
+
+    private void put(K key, V value) {
+        if (maxEntries == 0) return;
+        boolean negative = isEmpty != null && isEmpty.test(value);
+        long ttl = negative ? negativeTtlNanos : ttlNanos;
+        if (ttl <= 0) return;
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, negative, clock.getAsLong() + ttl));
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final boolean negative;
+        final long expiresAt;
+
+        Entry(V value, boolean negative, long expiresAt) {
+            this.value = value;
+            this.negative = negative;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.literaturaapp.service;
+
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing of the lookup caches both services build with {@link #newCache}.
+ * {@code gutendex.cache.max-entries=0} turns caching off.
+ */
+@Component
+public class ResponseCacheSettings {
+
+    private final int maxEntries;
+    private final long ttlSeconds;
+    private final long negativeTtlSeconds;
+
+    public ResponseCacheSettings(@Value("${gutendex.cache.max-entries:1000}") int maxEntries,
+                                 @Value("${gutendex.cache.ttl-seconds:600}") long ttlSeconds,
+                                 @Value("${gutendex.cache.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.negativeTtlSeconds = negativeTtlSeconds;
+    }
+
+    public static ResponseCacheSettings defaults() {
+        return new ResponseCacheSettings(1000, 600, 60);
+    }
+
+    public <K, V> ResponseCache<K, V> newCache(String name, Predicate<V> isEmpty) {
+        return new ResponseCache<>(name, maxEntries, ttlSeconds, negativeTtlSeconds, isEmpty);
+    }
+
+    public int getMaxEntries() { return maxEntries; }
+
+    public long getTtlSeconds() { return ttlSeconds; }
+
+    public long getNegativeTtlSeconds() { return negativeTtlSeconds; }
+}
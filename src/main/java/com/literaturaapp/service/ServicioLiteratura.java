@@ -1,13 +1,25 @@
 package com.literaturaapp.service;
 
+import com.literaturaapp.catalog.BookCursor;
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.BookPage;
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.catalog.DownloadRanking;
+import com.literaturaapp.catalog.DownloadStatistics;
+import com.literaturaapp.config.GutendexMetrics;
 import com.literaturaapp.model.Book;
 import com.literaturaapp.model.GutendexResponse;
 import com.literaturaapp.model.Author;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.DoubleSummaryStatistics;
 
@@ -15,80 +27,220 @@ import java.util.DoubleSummaryStatistics;
 public class ServicioLiteratura {
 
     private final RestTemplate restTemplate;
-    private final String BASE = "https://gutendex.com";
+    // runs independent page fetches one by one or in parallel (gutendex.fetch.mode)
+    private final FetchExecutor fetchExecutor;
+    private final String baseUrl;
+    private final CatalogMirrorService mirror;
+    private final int deltaPopularPages;
+    private final boolean columnarStore;
 
-    // simple cache to avoid many API calls in a short run; can be refreshed
-    private List<Book> cachedResults = null;
+    // published catalog generation, shared with GutendexService
+    private final SharedCatalog catalogs;
+    // what this service could read on its own (e.g. only the first API page) while
+    // nothing is shared; never published, since other readers expect a full catalog
+    private volatile CatalogGeneration catalog = null;
+    // ranking of the popularity pages, used for top N while no synced catalog is loaded
+    private volatile DownloadRanking topCandidates = null;
+    private DeltaSyncResult lastDelta = null;
+    // concurrent misses share one load: the catalog by a fixed key, API pages by their URI
+    private final SingleFlight<String, CatalogGeneration> catalogLoads = new SingleFlight<>();
+    private final SingleFlight<String, GutendexResponse> pageLoads = new SingleFlight<>();
+    // answers of network lookups (title, language, author), keyed by the normalized query
+    private final ResponseCache<String, List<Book>> bookLookups;
+    private final ResponseCache<String, List<String>> authorLookups;
+    // offline copy of the catalog, read when there is no mirror; null when unused
+    private final CatalogSnapshotStore snapshots;
+    private final GutendexMetrics metrics;
+    // retries, circuit breaker and rate limit, shared with GutendexService
+    private final GutendexResilience resilience;
 
-    public ServicioLiteratura() {
-        this.restTemplate = new RestTemplate();
+    @Autowired
+    public ServicioLiteratura(@Value("${gutendex.base-url:https://gutendex.com}") String baseUrl,
+                              RestTemplate restTemplate,
+                              FetchExecutor fetchExecutor,
+                              CatalogMirrorService mirror,
+                              @Value("${gutendex.delta.popular-pages:1}") int deltaPopularPages,
+                              @Value("${catalog.store:objects}") String catalogStore,
+                              ResponseCacheSettings cacheSettings,
+                              CatalogSnapshotStore snapshots,
+                              GutendexMetrics metrics,
+                              GutendexResilience resilience,
+                              SharedCatalog catalogs) {
+        this.restTemplate = restTemplate != null ? restTemplate : new RestTemplate();
+        this.fetchExecutor = fetchExecutor != null ? fetchExecutor : FetchExecutor.sequential();
+        this.baseUrl = baseUrl;
+        this.mirror = mirror;
+        this.deltaPopularPages = deltaPopularPages;
+        this.columnarStore = "columnar".equalsIgnoreCase(catalogStore);
+        ResponseCacheSettings settings = cacheSettings != null ? cacheSettings : ResponseCacheSettings.defaults();
+        this.bookLookups = settings.newCache("libros", List::isEmpty);
+        this.authorLookups = settings.newCache("autores", List::isEmpty);
+        this.snapshots = snapshots;
+        this.metrics = metrics != null ? metrics : GutendexMetrics.standalone();
+        this.resilience = resilience != null ? resilience : GutendexResilience.disabled();
+        this.catalogs = catalogs != null ? catalogs : new SharedCatalog();
+        this.metrics.catalog("servicio", this::current);
+        this.metrics.cache("servicio", bookLookups);
+        this.metrics.cache("servicio", authorLookups);
     }
 
-    // Search books by title using Gutendex search endpoint
+    public ServicioLiteratura(String baseUrl, RestTemplate restTemplate, FetchExecutor fetchExecutor,
+                              CatalogMirrorService mirror, int deltaPopularPages, String catalogStore,
+                              ResponseCacheSettings cacheSettings, CatalogSnapshotStore snapshots) {
+        this(baseUrl, restTemplate, fetchExecutor, mirror, deltaPopularPages, catalogStore, cacheSettings, snapshots, null, null, null);
+    }
+
+    public ServicioLiteratura(String baseUrl, RestTemplate restTemplate, FetchExecutor fetchExecutor,
+                              CatalogMirrorService mirror, int deltaPopularPages, String catalogStore,
+                              ResponseCacheSettings cacheSettings) {
+        this(baseUrl, restTemplate, fetchExecutor, mirror, deltaPopularPages, catalogStore, cacheSettings, null, null, null, null);
+    }
+
+    // Search books by title: local index when a synced catalog is loaded, Gutendex search endpoint otherwise
     public List<Book> searchByTitle(String title) {
         if (title == null || title.trim().isEmpty()) return Collections.emptyList();
-        String uri = UriComponentsBuilder.fromHttpUrl(BASE + "/books")
+        CatalogGeneration local = syncedCatalog();
+        if (local != null) return local.searchBooks(title);
+        String uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
                 .queryParam("search", title)
                 .queryParam("page_size", 20)
                 .toUriString();
         try {
-            GutendexResponse resp = restTemplate.getForObject(uri, GutendexResponse.class);
-            if (resp == null || resp.getResults() == null) return Collections.emptyList();
-            return resp.getResults();
+            return bookLookups.get("title:" + normalizeQuery(title), () -> results(fetchPage("search", uri)));
         } catch (Exception e) {
             System.err.println("Error searching books: " + e.getMessage());
-            return Collections.emptyList();
+            // whatever is loaded is better than nothing while Gutendex is down
+            CatalogGeneration current = current();
+            return current != null ? current.searchBooks(title) : Collections.emptyList();
         }
     }
 
-    // List books - fetch first page (or cached)
+    // List books - local mirror if synced, otherwise fetch first page (or cached)
     public List<Book> listAllBooks() {
-        if (cachedResults != null && !cachedResults.isEmpty()) return cachedResults;
+        return catalog().getBooks();
+    }
+
+    /**
+     * Up to {@code size} books after the cursor, optionally in one language: from the
+     * cached catalog once it is loaded, from the mirror's indexes before that.
+     */
+    public BookPage booksPage(BookCursor after, int size, String language) {
+        boolean titleByLanguage = after.getOrder() == BookOrder.TITLE && language != null && !language.isBlank();
+        if (current() == null && mirror != null && !titleByLanguage) {
+            try {
+                BookPage page = mirror.page(after, size, language);
+                // an empty first page means nothing is mirrored yet
+                if (!page.isEmpty() || !after.isStart()) return page;
+            } catch (Exception e) {
+                System.err.println("Error paging local mirror: " + e.getMessage());
+            }
+        }
+        return catalog().page(after, size, language);
+    }
+
+    private CatalogGeneration catalog() {
+        CatalogGeneration current = current();
+        if (current != null && !current.isEmpty()) return current;
+        return catalogLoads.load("catalog", () -> loadCatalog(false));
+    }
+
+    // the shared generation once there is one, otherwise this service's own
+    private CatalogGeneration current() {
+        CatalogGeneration shared = catalogs.get();
+        return shared != null && !shared.isEmpty() ? shared : catalog;
+    }
+
+    /**
+     * @param reload read the mirror again and replace the shared generation, instead of
+     *               returning one that is already loaded
+     */
+    private CatalogGeneration loadCatalog(boolean reload) {
+        // a load that finished just before this one started may already have published it
+        CatalogGeneration current = current();
+        if (!reload && current != null && !current.isEmpty()) return current;
+        if (mirror != null) {
+            try {
+                List<Book> local = mirror.load();
+                if (!local.isEmpty()) return share(CatalogGeneration.of(local, true, columnarStore), reload);
+
+            } catch (Exception e) {
+                System.err.println("Error reading local mirror: " + e.getMessage());
+            }
+        }
+        if (snapshots != null) {
+            List<Book> local = snapshots.load();
+            if (!local.isEmpty()) return share(CatalogGeneration.of(local, true, columnarStore), reload);
+            if (snapshots.isOffline()) {
+                this.catalog = CatalogGeneration.of(local, false, columnarStore);
+                return this.catalog;
+            }
+        }
         List<Book> all = new ArrayList<>();
-        String uri = UriComponentsBuilder.fromHttpUrl(BASE + "/books")
+        String uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
                 .queryParam("page_size", 40)
                 .toUriString();
         try {
-            GutendexResponse resp = restTemplate.getForObject(uri, GutendexResponse.class);
+            GutendexResponse resp = fetchPage("page", uri);
             if (resp != null && resp.getResults() != null) {
                 all.addAll(resp.getResults());
             }
         } catch (Exception e) {
             System.err.println("Error listing books: " + e.getMessage());
         }
-        this.cachedResults = all;
-        return all;
+        this.catalog = CatalogGeneration.of(all, false);
+        return this.catalog;
+    }
+
+    private CatalogGeneration share(CatalogGeneration generation, boolean replace) {
+        this.catalog = null;
+        return replace ? catalogs.publish(generation) : catalogs.publishIfAbsent(generation);
+    }
+
+    // identical requests issued concurrently share one upstream call; the URI is already
+    // encoded, so it is passed as a URI to keep RestTemplate from encoding it a second time
+    private GutendexResponse fetchPage(String operation, String uri) {
+        return pageLoads.load(uri, () -> metrics.upstreamBlocking(GutendexMetrics.RESTTEMPLATE, operation,
+                () -> resilience.callBlocking(GutendexMetrics.RESTTEMPLATE, operation,
+                        () -> restTemplate.getForObject(URI.create(uri), GutendexResponse.class))));
+    }
+
+    private static List<Book> results(GutendexResponse resp) {
+        if (resp == null || resp.getResults() == null) return Collections.emptyList();
+        return Collections.unmodifiableList(resp.getResults());
+    }
+
+    private static String normalizeQuery(String q) {
+        return q.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    public GutendexMetrics getMetrics() {
+        return metrics;
+    }
+
+    /** Hit/miss counters of the lookup caches. */
+    public List<CacheStats> getCacheStats() {
+        return List.of(bookLookups.stats(), authorLookups.stats());
+    }
+
+    // the loaded catalog if it is a full synced one, so lookups can skip the network
+    private CatalogGeneration syncedCatalog() {
+        CatalogGeneration current = catalog();
+        return current.isFullCatalog() ? current : null;
     }
 
     public List<String> listAllAuthors() {
-        List<Book> books = listAllBooks();
-        Set<String> names = new TreeSet<>();
-        for (Book b : books) {
-            if (b.getAuthors() != null) {
-                for (Author a : b.getAuthors()) {
-                    if (a.getName()!=null) names.add(a.getName());
-                }
-            }
-        }
-        return new ArrayList<>(names);
+        List<Author> authors = catalog().authors().sortedByName();
+        List<String> names = new ArrayList<>(authors.size());
+        for (Author a : authors) names.add(a.getName());
+        return names;
     }
 
+    // same rule as listAuthorsAliveInYearObjects: birth <= year <= death, unknown death = still alive
     public List<String> listAuthorsAliveInYear(int year) {
-        List<Book> books = listAllBooks();
         Set<String> alive = new TreeSet<>();
-        for (Book b : books) {
-            if (b.getAuthors()!=null) {
-                for (Author a : b.getAuthors()) {
-                    Integer birth = a.getBirth_year();
-                    Integer death = a.getDeath_year();
-                    boolean aliveFlag = (birth==null || birth <= year) && (death==null || death>year);
-                    if (a.getName()!=null && aliveFlag) {
-                        String name = a.getName();
-                        if (birth!=null) name += " ("+birth+(death!=null?("-"+death):"")+")";
-                        alive.add(name);
-                    }
-                }
-            }
+        for (Author a : catalog().lifespans().aliveIn(year)) {
+            Integer death = a.getDeath_year();
+            alive.add(a.getName() + " (" + a.getBirth_year() + (death != null ? ("-" + death) : "") + ")");
         }
         return new ArrayList<>(alive);
     }
@@ -99,18 +251,14 @@ public class ServicioLiteratura {
             return listAllBooks();
         }
         String code = lang.trim().toLowerCase();
+        if (isOffline()) return catalog().booksInLanguage(code);
         // Try remote API query for the language to get more complete results
-        String uri = UriComponentsBuilder.fromHttpUrl(BASE + "/books")
+        String uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
                 .queryParam("languages", code)
                 .queryParam("page_size", 40)
                 .toUriString();
         try {
-            GutendexResponse resp = restTemplate.getForObject(uri, GutendexResponse.class);
-            if (resp != null && resp.getResults() != null) {
-                return resp.getResults();
-            } else {
-                return Collections.emptyList();
-            }
+            return bookLookups.get("lang:" + code, () -> results(fetchPage("language", uri)));
         } catch (Exception e) {
             // Fall back to cached filtering if remote call fails
             List<Book> all = listAllBooks();
@@ -121,46 +269,80 @@ public class ServicioLiteratura {
     }
 
 
-    // Aggregate first N pages and sort by download_count
+    // Aggregate first N pages and sort by download_count. A page that fails does not drop
+    // the others; if any is missing, a loaded synced catalog ranks instead.
     public List<Book> topNMostDownloaded(int pages) {
+        if (isOffline()) return catalog().ranking().top(pages * 100);
         List<Book> all = new ArrayList<>();
+        AtomicInteger missing = new AtomicInteger();
         try {
-            for (int p=1;p<=pages;p++) {
-                String uri = UriComponentsBuilder.fromHttpUrl(BASE + "/books")
-                        .queryParam("page", p)
-                        .queryParam("page_size", 100)
-                        .toUriString();
-                GutendexResponse resp = restTemplate.getForObject(uri, GutendexResponse.class);
-                if (resp==null || resp.getResults()==null || resp.getResults().isEmpty()) break;
-                all.addAll(resp.getResults());
-                if (resp.getNext()==null) break;
+            // page 1 gives the total count, so only pages that exist are requested after it
+            GutendexResponse first = fetchPage("top", topPageUri(1));
+            List<Book> firstBooks = results(first);
+            all.addAll(firstBooks);
+            if (!firstBooks.isEmpty() && first.getNext() != null) {
+                int last = Math.min(pages, (first.getCount() + firstBooks.size() - 1) / firstBooks.size());
+                List<Callable<GutendexResponse>> rest = new ArrayList<>();
+                for (int p = 2; p <= last; p++) {
+                    int page = p;
+                    String uri = topPageUri(page);
+                    rest.add(() -> {
+                        try {
+                            return fetchPage("top", uri);
+                        } catch (RuntimeException e) {
+                            System.err.println("Error fetching page " + page + " for top: " + e.getMessage());
+                            missing.incrementAndGet();
+                            return null;
+                        }
+                    });
+                }
+                for (GutendexResponse resp : fetchExecutor.invokeAll(rest)) all.addAll(results(resp));
             }
         } catch (Exception e) {
             System.err.println("Error fetching pages for top: " + e.getMessage());
+            missing.incrementAndGet();
+        }
+        if (missing.get() > 0) {
+            CatalogGeneration current = current();
+            if (current != null && current.isFullCatalog()) return current.ranking().top(pages * 100);
+            System.err.println("Top incompleto: faltan " + missing.get() + " páginas de " + pages);
         }
         return all.stream().sorted(Comparator.comparingInt(Book::getDownload_count).reversed()).collect(Collectors.toList());
     }
 
+    private String topPageUri(int page) {
+        return UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
+                .queryParam("page", page)
+                .queryParam("page_size", 100)
+                .toUriString();
+    }
+
     public List<String> searchAuthorByName(String name) {
         if (name==null || name.trim().isEmpty()) return Collections.emptyList();
-        String uri = UriComponentsBuilder.fromHttpUrl(BASE + "/books")
+        CatalogGeneration local = syncedCatalog();
+        if (local != null) {
+            Set<String> authors = new TreeSet<>();
+            for (Author a : local.search().searchAuthors(name)) authors.add(a.toString());
+            return new ArrayList<>(authors);
+        }
+        String uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
                 .queryParam("search", name)
                 .queryParam("page_size", 50)
                 .toUriString();
         try {
-            GutendexResponse resp = restTemplate.getForObject(uri, GutendexResponse.class);
-            if (resp==null || resp.getResults()==null) return Collections.emptyList();
-            Set<String> authors = new TreeSet<>();
-            for (Book b: resp.getResults()) {
-                if (b.getAuthors()!=null) {
-                    for (Author a : b.getAuthors()) {
-                        if (a.getName()!=null && a.getName().toLowerCase().contains(name.toLowerCase())) {
-                            authors.add(a.toString());
+            return authorLookups.get("author:" + normalizeQuery(name), () -> {
+                Set<String> authors = new TreeSet<>();
+                for (Book b : results(fetchPage("author", uri))) {
+                    if (b.getAuthors()!=null) {
+                        for (Author a : b.getAuthors()) {
+                            if (a.getName()!=null && a.getName().toLowerCase().contains(name.toLowerCase())) {
+                                authors.add(a.toString());
+                            }
                         }
                     }
                 }
-            }
-            return new ArrayList<>(authors);
+                return Collections.unmodifiableList(new ArrayList<>(authors));
+            });
         } catch (Exception e) {
             System.err.println("Error searching author: " + e.getMessage());
             return Collections.emptyList();
@@ -193,101 +375,157 @@ public class ServicioLiteratura {
     }
 
     /**
-     * Return a list of Author objects aggregated from books (unique by name).
+     * Return the distinct authors of the catalog (one per person, not per name), sorted by name.
      */
     public List<Author> listAllAuthorsObjects() {
-        List<Book> books = listAllBooks();
-        Map<String, Author> map = new LinkedHashMap<>();
-        for (Book b : books) {
-            if (b.getAuthors() != null) {
-                for (Author a : b.getAuthors()) {
-                    if (a.getName() != null && !map.containsKey(a.getName())) {
-                        map.put(a.getName(), a);
-                    }
-                }
-            }
-        }
-        return new ArrayList<>(map.values());
+        return catalog().authors().sortedByName();
     }
 
     /**
-     * Return authors alive in the given year as Author objects.
+     * Return authors alive in the given year as Author objects, ordered by birth year.
      */
     public List<Author> listAuthorsAliveInYearObjects(int year) {
-        List<Book> books = listAllBooks();
-        Map<String, Author> map = new LinkedHashMap<>();
-        for (Book b : books) {
-            if (b.getAuthors() != null) {
-                for (Author a : b.getAuthors()) {
-                    if (a.getName() == null) continue;
-                    boolean alive = false;
-                    if (a.getBirth_year() != null) {
-                        if (a.getDeath_year() == null) {
-                            if (a.getBirth_year() <= year) alive = true;
-                        } else {
-                            if (a.getBirth_year() <= year && a.getDeath_year() >= year) alive = true;
-                        }
-                    }
-                    if (alive && !map.containsKey(a.getName())) map.put(a.getName(), a);
-                }
-            }
-        }
-        return new ArrayList<>(map.values());
+        return catalog().lifespans().aliveIn(year);
     }
 
     /**
-     * Return top N books by download_count using the available aggregated method.
-     * If topNMostDownloaded exists, use it (pages param); otherwise fallback to cached results.
+     * Return authors alive at some point between the two years (inclusive), ordered by birth year.
+     */
+    public List<Author> listAuthorsAliveBetween(int from, int to) {
+        return catalog().lifespans().aliveDuring(Math.min(from, to), Math.max(from, to));
+    }
+
+    /**
+     * Return top N books by download_count. With a synced catalog this reads the precomputed
+     * ranking; otherwise the first pages from topNMostDownloaded(5) are fetched once and ranked,
+     * and reused until the cache is refreshed.
      */
     public List<Book> topNByDownloads(int n) {
-        try {
-            // try using topNMostDownloaded(5) to gather many results
+        CatalogGeneration local = syncedCatalog();
+        if (local != null) return local.ranking().top(n);
+        DownloadRanking ranking = topCandidates;
+        if (ranking == null) {
             List<Book> candidates = topNMostDownloaded(5);
-            if (candidates == null) candidates = listAllBooks();
-            return candidates.stream()
-                    .sorted(Comparator.comparingInt(Book::getDownload_count).reversed())
-                    .limit(n)
-                    .collect(Collectors.toList());
-        } catch (NoSuchMethodError | Exception e) {
-            List<Book> all = listAllBooks();
-            return all.stream()
-                    .sorted(Comparator.comparingInt(Book::getDownload_count).reversed())
-                    .limit(n)
-                    .collect(Collectors.toList());
+            if (candidates.isEmpty()) candidates = listAllBooks();
+            ranking = DownloadRanking.build(candidates, DownloadRanking.DEFAULT_CAPACITY);
+            topCandidates = ranking;
         }
+        return ranking.top(n);
     }
 
     /**
-     * Find authors by name (case-insensitive) and return Author objects.
+     * Find authors whose name words start with the query words (case and accent insensitive).
      */
     public List<Author> findAuthorsByName(String q) {
         if (q == null || q.trim().isEmpty()) return Collections.emptyList();
-        String low = q.toLowerCase();
-        return listAllAuthorsObjects().stream()
-                .filter(a -> a.getName()!=null && a.getName().toLowerCase().contains(low))
-                .collect(Collectors.toList());
+        return catalog().search().searchAuthors(q);
     }
 
     /**
      * Find a book by id within cached/listed books.
      */
     public Book findBookById(int id) {
-        return listAllBooks().stream().filter(b -> b.getId() == id).findFirst().orElse(null);
+        return catalog().findById(id);
     }
 
     // --- End compatibility wrappers ---
 
-public DoubleSummaryStatistics downloadStats() {
-        DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
-        List<Book> books = listAllBooks();
-        for (Book b : books) {
-            stats.accept(b.getDownload_count());
-        }
-        return stats;
+    public DoubleSummaryStatistics downloadStats() {
+        return catalog().downloadStats();
+    }
+
+    /** Percentiles, histogram and facets of the loaded catalog, cached per generation. */
+    public DownloadStatistics statistics() {
+        return catalog().statistics();
     }
 
     public void refreshCache() {
-        this.cachedResults = null;
-        listAllBooks();
+        this.catalog = null;
+        this.topCandidates = null;
+        bookLookups.invalidateAll();
+        authorLookups.invalidateAll();
+        catalogLoads.load("catalog", () -> loadCatalog(true));
+    }
+
+    /**
+     * Incremental refresh: walks books newest-id first until reaching ids already cached,
+     * then re-reads the first popularity pages to pick up download count changes.
+     */
+    public DeltaSyncResult refreshIncremental() {
+        CatalogGeneration generation = current();
+        if (generation == null || generation.isEmpty()) {
+            listAllBooks();
+            return null;
+        }
+        if (isOffline()) return null;
+        List<Book> current = generation.getBooks();
+        long start = System.nanoTime();
+        int maxKnownId = CatalogDelta.maxId(current);
+        List<Book> fetched = new ArrayList<>();
+        int pages = 0;
+        // set once the newest-first walk reaches known ids or the end of the listing
+        boolean walked = false;
+        try {
+            for (int p = 1; p <= 50; p++) {
+                String uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
+                        .queryParam("sort", "descending")
+                        .queryParam("page", p)
+                        .toUriString();
+                GutendexResponse resp = fetchPage("delta", uri);
+                if (resp == null || resp.getResults() == null || resp.getResults().isEmpty()) {
+                    walked = true;
+                    break;
+                }
+                pages++;
+                fetched.addAll(resp.getResults());
+                if (resp.getNext() == null || resp.getResults().stream().anyMatch(b -> b.getId() <= maxKnownId)) {
+                    walked = true;
+                    break;
+                }
+            }
+            List<Callable<GutendexResponse>> popular = new ArrayList<>();
+            for (int p = 1; p <= deltaPopularPages; p++) {
+                String uri = UriComponentsBuilder.fromHttpUrl(baseUrl + "/books")
+                        .queryParam("page", p)
+                        .toUriString();
+                popular.add(() -> fetchPage("delta", uri));
+            }
+            for (GutendexResponse resp : fetchExecutor.invokeAll(popular)) {
+                if (resp == null || resp.getResults() == null || resp.getResults().isEmpty()) break;
+                pages++;
+                fetched.addAll(resp.getResults());
+            }
+        } catch (Exception e) {
+            System.err.println("Error in incremental refresh: " + e.getMessage());
+        }
+        // new ids between the known ones and the last page read were never seen: keep only the updates
+        if (!walked) fetched = CatalogDelta.knownOnly(fetched, maxKnownId);
+        DeltaSyncResult delta = CatalogDelta.apply(current, fetched, pages, System.nanoTime() - start);
+        if (delta.hasChanges()) {
+            CatalogGeneration next = generation.next(delta.getBooks(), delta.getAddedBooks(), delta.getUpdatedBooks());
+            // a generation published meanwhile by the other service wins over this delta
+            if (!catalogs.replace(generation, next) && catalog == generation) this.catalog = next;
+            this.topCandidates = null;
+            bookLookups.invalidateAll();
+            authorLookups.invalidateAll();
+            // only extend the mirror if it already holds a full sync, never seed it with a partial list
+            if (mirror != null) {
+                try {
+                    if (mirror.lastSync().isPresent()) mirror.applyDelta(delta);
+                } catch (Exception e) {
+                    System.err.println("Error updating local mirror: " + e.getMessage());
+                }
+            }
+        }
+        this.lastDelta = delta;
+        return delta;
+    }
+
+    public DeltaSyncResult getLastDelta() {
+        return lastDelta;
+    }
+
+    private boolean isOffline() {
+        return snapshots != null && snapshots.isOffline();
     }
 }
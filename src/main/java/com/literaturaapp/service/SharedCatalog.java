@@ -0,0 +1,51 @@
+package com.literaturaapp.service;
+
+import org.springframework.stereotype.Component;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+
+/**
+ * The catalog generation {@link GutendexService} and {@link ServicioLiteratura} both
+ * serve. Whichever service loads or refreshes the catalog first publishes it here and
+ * the other one reads the same generation, so each book is decoded and held once.
+ * Services built without Spring get a holder of their own.
+ */
+@Component
+public class SharedCatalog {
+
+    private final Object lock = new Object();
+    // readers never take the lock
+    private volatile CatalogGeneration current;
+
+    /** The published generation, or null while nothing is loaded. */
+    public CatalogGeneration get() {
+        return current;
+    }
+
+    public CatalogGeneration publish(CatalogGeneration generation) {
+        synchronized (lock) {
+            current = generation;
+            return generation;
+        }
+    }
+
+    /**
+     * Publishes the generation unless a non-empty one already is; returns the one
+     * published. A refresh that finished while this load was running wins over it.
+     */
+    public CatalogGeneration publishIfAbsent(CatalogGeneration generation) {
+        synchronized (lock) {
+            if (current == null || (current.isEmpty() && !generation.isEmpty())) current = generation;
+            return current;
+        }
+    }
+
+    /** Publishes {@code next} only if {@code expected} is still the current generation. */
+    public boolean replace(CatalogGeneration expected, CatalogGeneration next) {
+        synchronized (lock) {
+            if (current != expected) return false;
+            current = next;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.literaturaapp.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, the
+ * others wait for its result (or its exception) instead of issuing the same request
+ * again. Nothing is kept once the load finishes, so this is not a cache; callers
+ * publish results in their own fields and only come here on a miss.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) return await(running);
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Non-blocking variant: subscribers for a key already being loaded, by either
+     * method, get that load's outcome; an empty loader result completes them empty.
+     */
+    public Mono<V> loadAsync(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+            if (running != null) return Mono.fromFuture(running);
+            return Mono.defer(loader)
+                    .doOnSuccess(value -> {
+                        inFlight.remove(key, mine);
+                        mine.complete(value);
+                    })
+                    .doOnError(e -> {
+                        inFlight.remove(key, mine);
+                        mine.completeExceptionally(e);
+                    })
+                    .doOnCancel(() -> {
+                        inFlight.remove(key, mine);
+                        mine.completeExceptionally(new CancellationException("load of " + key + " cancelled"));
+                    });
+        });
+    }
+
+    /** Number of keys currently being loaded. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.literaturaapp.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Client-side rate limiter: up to {@code burst} requests at once, refilled at
+ * {@code permitsPerSecond}. A caller reserves a permit and waits the returned delay,
+ * so no lock is held while waiting and reservations are served in order.
+ */
+public final class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier clock;
+    private double tokens;
+    private long last;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0) throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        if (burst < 1) throw new IllegalArgumentException("burst must be >= 1");
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.clock = clock;
+        this.tokens = burst;
+        this.last = clock.getAsLong();
+    }
+
+    /** Takes a permit; returns how many nanoseconds to wait before using it (0 = now). */
+    public synchronized long reserve() {
+        long now = clock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - last) * permitsPerNano);
+        last = now;
+        // a negative balance is the queue of permits already promised
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+
+    public void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    /** Completes once a permit is available, without blocking a thread. */
+    public Mono<Void> acquireAsync() {
+        return Mono.defer(() -> {
+            long wait = reserve();
+            return wait == 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(wait)).then();
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.literaturaapp.bench;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.literaturaapp.LiteraturaApp;
+import com.literaturaapp.support.StubGutendexServer;
+
+/**
+ * Closed-loop load test of the {@code /api} endpoints. Each worker thread sends one
+ * request at a time from a fixed mix (paging with cursors, search, top-N, language
+ * pages, authors alive, stats, by id and conditional GETs) and records its latency;
+ * the report gives requests/s and p50/p99/max per endpoint.
+ *
+ * <p>Arguments: {@code [baseUrl|local] [threads] [seconds] [books]}. With {@code local}
+ * (the default) the app is started in this JVM with the console off, an in-memory
+ * database and a stub Gutendex serving a synthetic catalog, and is warmed up before
+ * the clock starts. Run with {@code mvn -Ploadtest -Dloadtest.args="local 32 30"}.
+ */
+public final class ApiLoadRunner {
+
+    private static final Pattern NEXT = Pattern.compile("\"next\":\"([^\"]+)\"");
+    private static final String[] WORDS = {"historia", "love", "mar", "king", "corazón", "night", "viaje", "war"};
+    private static final String[] LANGS = {"en", "es", "fr", "de"};
+
+    private ApiLoadRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "local";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int books = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+
+        StubGutendexServer stub = null;
+        ConfigurableApplicationContext app = null;
+        String baseUrl = target;
+        try {
+            if ("local".equals(target)) {
+                stub = new StubGutendexServer(SyntheticCatalog.generate(books), 1000);
+                Path snapshot = Files.createTempFile("loadtest", ".snap");
+                Files.delete(snapshot);
+                // command line arguments, so they win over application.properties
+                app = new SpringApplicationBuilder(LiteraturaApp.class).run(
+                        "--server.port=0",
+                        "--console.enabled=false",
+                        "--gutendex.base-url=" + stub.baseUrl(),
+                        "--gutendex.crawl.max-pages=" + (books / 1000 + 2),
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--catalog.snapshot.path=" + snapshot);
+                baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            }
+            run(baseUrl, threads, seconds, books);
+        } finally {
+            if (app != null) app.close();
+            if (stub != null) stub.close();
+        }
+    }
+
+    private static void run(String baseUrl, int threads, int seconds, int books) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long warm = System.nanoTime();
+        HttpResponse<String> stats = http.send(get(baseUrl + "/api/stats", null).timeout(Duration.ofMinutes(5)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (stats.statusCode() != 200) throw new IllegalStateException("GET /api/stats: " + stats.statusCode());
+        String etag = stats.headers().firstValue("ETag").orElse(null);
+        System.out.printf("Catálogo listo en %d ms: %s%n", (System.nanoTime() - warm) / 1_000_000, stats.body());
+
+        Map<String, Recorder> recorders = new TreeMap<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Map<String, Recorder> own = new HashMap<>();
+            Thread worker = new Thread(() -> {
+                String cursor = null;
+                while (System.nanoTime() < deadline) {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    String name;
+                    String uri;
+                    String ifNoneMatch = null;
+                    switch (rnd.nextInt(8)) {
+                        case 0:
+                            name = "books (cursor)";
+                            uri = "/api/books?size=50" + (cursor != null ? "&cursor=" + cursor : "");
+                            break;
+                        case 1:
+                            name = "books/search";
+                            uri = "/api/books/search?limit=20&q=" + URLEncoder.encode(WORDS[rnd.nextInt(WORDS.length)], StandardCharsets.UTF_8);
+                            break;
+                        case 2:
+                            name = "books/top";
+                            uri = "/api/books/top?n=10";
+                            break;
+                        case 3:
+                            name = "books?lang";
+                            uri = "/api/books?size=50&lang=" + LANGS[rnd.nextInt(LANGS.length)];
+                            break;
+                        case 4:
+                            name = "authors/alive";
+                            uri = "/api/authors/alive?year=" + (1600 + rnd.nextInt(300));
+                            break;
+                        case 5:
+                            name = "stats";
+                            uri = "/api/stats";
+                            break;
+                        case 6:
+                            name = "books/{id}";
+                            uri = "/api/books/" + (1 + rnd.nextInt(books));
+                            break;
+                        default:
+                            name = "top (If-None-Match)";
+                            uri = "/api/books/top?n=10";
+                            ifNoneMatch = etag;
+                    }
+                    Recorder r = own.computeIfAbsent(name, k -> new Recorder());
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> resp = http.send(get(baseUrl + uri, ifNoneMatch).build(), HttpResponse.BodyHandlers.ofString());
+                        r.record(System.nanoTime() - start, resp.statusCode());
+                        if (name.equals("books (cursor)")) {
+                            Matcher m = NEXT.matcher(resp.body());
+                            cursor = m.find() ? m.group(1) : null;
+                        }
+                    } catch (Exception e) {
+                        r.record(System.nanoTime() - start, -1);
+                    }
+                }
+                synchronized (recorders) {
+                    own.forEach((k, v) -> recorders.computeIfAbsent(k, x -> new Recorder()).addAll(v));
+                }
+            }, "load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread w : workers) w.join();
+
+        Recorder all = new Recorder();
+        System.out.printf("%n%d hilos, %d s contra %s%n", threads, seconds, baseUrl);
+        System.out.printf("%-22s %9s %9s %9s %9s %9s %7s %7s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "304");
+        for (Map.Entry<String, Recorder> e : recorders.entrySet()) {
+            print(e.getKey(), e.getValue(), seconds);
+            all.addAll(e.getValue());
+        }
+        print("total", all, seconds);
+    }
+
+    private static HttpRequest.Builder get(String uri, String ifNoneMatch) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).GET();
+        if (ifNoneMatch != null) b.header("If-None-Match", ifNoneMatch);
+        return b;
+    }
+
+    private static void print(String name, Recorder r, int seconds) {
+        long[] sorted = r.sorted();
+        System.out.printf("%-22s %9d %9.0f %9.2f %9.2f %9.2f %7d %7d%n", name, sorted.length, sorted.length / (double) seconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]), r.errors, r.notModified);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /** Latencies of one endpoint; each worker fills its own, they are merged at the end. */
+    private static final class Recorder {
+        long[] nanos = new long[1024];
+        int count;
+        int errors;
+        int notModified;
+
+        void record(long elapsed, int status) {
+            if (count == nanos.length) nanos = Arrays.copyOf(nanos, count * 2);
+            nanos[count++] = elapsed;
+            if (status == 304) notModified++;
+            else if (status < 200 || status >= 400) errors++;
+        }
+
+        void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) record(other.nanos[i], 200);
+            errors += other.errors;
+            notModified += other.notModified;
+        }
+
+        long[] sorted() {
+            long[] s = Arrays.copyOf(nanos, count);
+            Arrays.sort(s);
+            return s;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.literaturaapp.bench;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the {@code jmh} Maven profile. Takes the usual JMH command line
+ * (include pattern, {@code -p size=...}, {@code -prof gc}...) and, unless told
+ * otherwise, writes the results as JSON to {@code target/jmh-result.json} so runs of
+ * different versions can be compared.
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT = "target/jmh-result.json";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions cli;
+        try {
+            cli = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing JMH options: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getIncludes().isEmpty()) options.include("com\\.literaturaapp\\.bench\\..*Benchmark");
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) {
+            String result = System.getProperty("jmh.result", DEFAULT_RESULT);
+            File parent = new File(result).getAbsoluteFile().getParentFile();
+            if (parent != null) parent.mkdirs();
+            options.result(result);
+        }
+        new Runner(options.build()).run();
+    }
+}
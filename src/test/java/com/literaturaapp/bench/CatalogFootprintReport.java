@@ -0,0 +1,98 @@
+package com.literaturaapp.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.literaturaapp.catalog.ValuePool;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.GutendexResponse;
+import com.literaturaapp.service.BookStreamParser;
+
+/**
+ * Decode time and retained heap of the catalog as the two services used to hold it
+ * (ServicioLiteratura's copy bound by ObjectMapper, GutendexService's own from the
+ * streaming parser) versus now (one streamed copy, shared, with pooled authors and
+ * languages). Used heap is measured after GC; run with a fixed heap, e.g. {@code -Xmx2g},
+ * and optionally the sizes as arguments.
+ */
+public final class CatalogFootprintReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private CatalogFootprintReport() {}
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{10_000, 70_000};
+        System.out.printf("%10s %14s %14s %14s %14s %14s %14s%n", "books",
+                "bound MB", "streamed MB", "pooled MB", "bound ms", "streamed ms", "pooled ms");
+        for (int size : sizes) {
+            List<byte[]> pages = GutendexPages.pages(SyntheticCatalog.generate(size));
+            // warm up the decoders so the timings are of compiled code
+            for (int i = 0; i < 3; i++) {
+                bound(pages);
+                streamed(pages, new ValuePool());
+            }
+            Copy bound = measure(() -> bound(pages));
+            Copy streamed = measure(() -> streamed(pages, null));
+            Copy pooled = measure(() -> streamed(pages, new ValuePool()));
+            System.out.printf("%10d %14.1f %14.1f %14.1f %14.1f %14.1f %14.1f%n", size,
+                    mb(bound.bytes), mb(streamed.bytes), mb(pooled.bytes),
+                    bound.nanos / 1e6, streamed.nanos / 1e6, pooled.nanos / 1e6);
+            System.out.printf("%10s before (bound + streamed) %.1f MB in %.1f ms, after (pooled, shared) %.1f MB in %.1f ms%n", "",
+                    mb(bound.bytes + streamed.bytes), (bound.nanos + streamed.nanos) / 1e6, mb(pooled.bytes), pooled.nanos / 1e6);
+        }
+    }
+
+    private interface Decode {
+        List<Book> run() throws IOException;
+    }
+
+    private static final class Copy {
+        long bytes;
+        long nanos;
+    }
+
+    // the decoded list stays reachable until after the second measurement
+    private static Copy measure(Decode decode) throws IOException {
+        Copy copy = new Copy();
+        long base = usedAfterGc();
+        long start = System.nanoTime();
+        List<Book> books = decode.run();
+        copy.nanos = System.nanoTime() - start;
+        copy.bytes = usedAfterGc() - base;
+        if (books.isEmpty()) throw new IllegalStateException("nothing decoded");
+        return copy;
+    }
+
+    private static List<Book> bound(List<byte[]> pages) throws IOException {
+        List<Book> books = new ArrayList<>();
+        for (byte[] page : pages) books.addAll(MAPPER.readValue(page, GutendexResponse.class).getResults());
+        return books;
+    }
+
+    private static List<Book> streamed(List<byte[]> pages, ValuePool pool) throws IOException {
+        List<Book> books = new ArrayList<>();
+        for (byte[] page : pages) {
+            books.addAll(BookStreamParser.parsePage(new ByteArrayInputStream(page), false, pool).getResults());
+        }
+        return books;
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try { Thread.sleep(50); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
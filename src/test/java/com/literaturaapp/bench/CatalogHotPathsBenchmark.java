@@ -0,0 +1,124 @@
+package com.literaturaapp.bench;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.catalog.ColumnarCatalog;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.service.ServicioLiteratura;
+
+/**
+ * Catalog queries behind the console menu, measured through {@link ServicioLiteratura}
+ * on a synced catalog served from memory. The "cold" variants rebuild the derived
+ * structure from a fresh generation, i.e. the cost paid once after each load or refresh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CatalogHotPathsBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"1850"})
+    public int year;
+
+    @Param({"es"})
+    public String language;
+
+    private List<Book> books;
+    private ServicioLiteratura service;
+    private ColumnarCatalog columns;
+
+    @Setup
+    public void setUp() {
+        books = SyntheticCatalog.generate(size);
+        service = new ServicioLiteratura("https://gutendex.com", null, null, new InMemoryMirror(books), 1, "objects", null);
+        service.listAllBooks();
+        columns = ColumnarCatalog.from(books);
+    }
+
+    @Benchmark
+    public List<String> listAllAuthors() {
+        return service.listAllAuthors();
+    }
+
+    @Benchmark
+    public List<Author> listAllAuthorsObjects() {
+        return service.listAllAuthorsObjects();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Author> authorDedupCold() {
+        return CatalogGeneration.of(books, true).search().getAuthors();
+    }
+
+    @Benchmark
+    public List<String> listAuthorsAliveInYear() {
+        return service.listAuthorsAliveInYear(year);
+    }
+
+    @Benchmark
+    public List<Author> listAuthorsAliveInYearObjects() {
+        return service.listAuthorsAliveInYearObjects(year);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Author> aliveInYearCold() {
+        return CatalogGeneration.of(books, true).lifespans().aliveIn(year);
+    }
+
+    @Benchmark
+    public List<Book> topTen() {
+        return service.topNByDownloads(10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Book> topTenCold() {
+        return CatalogGeneration.of(books, true).ranking().top(10);
+    }
+
+    @Benchmark
+    public List<Book> languageFilterScan() {
+        // the cached fallback of listBooksByLanguage
+        return books.stream()
+                .filter(b -> b.getLanguages() != null && b.getLanguages().stream().anyMatch(l -> l.equalsIgnoreCase(language)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Book> languageFilterColumnar() {
+        BitSet rows = columns.rowsWithLanguage(language);
+        List<Book> out = new ArrayList<>(rows.cardinality());
+        List<Book> view = columns.asBooks();
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) out.add(view.get(row));
+        return out;
+    }
+
+    @Benchmark
+    public DoubleSummaryStatistics downloadStats() {
+        return service.downloadStats();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.main(new String[] {CatalogHotPathsBenchmark.class.getSimpleName()});
+    }
+}
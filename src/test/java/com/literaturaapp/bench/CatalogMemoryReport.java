@@ -0,0 +1,49 @@
+package com.literaturaapp.bench;
+
+import java.util.List;
+
+import com.literaturaapp.catalog.ColumnarCatalog;
+import com.literaturaapp.model.Book;
+
+/**
+ * Prints the retained heap of the catalog as a {@code List<Book>} versus a
+ * {@link ColumnarCatalog}, measured as used heap after GC. Run with a fixed heap,
+ * e.g. {@code -Xmx2g}, and optionally the sizes as arguments.
+ */
+public final class CatalogMemoryReport {
+
+    private CatalogMemoryReport() {}
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{10_000, 70_000, 500_000};
+        System.out.printf("%10s %16s %16s %16s %8s%n", "books", "List<Book> MB", "columnar MB", "estimated MB", "ratio");
+        for (int size : sizes) {
+            long base = usedAfterGc();
+            List<Book> books = SyntheticCatalog.generate(size);
+            long objects = usedAfterGc() - base;
+
+            ColumnarCatalog columns = ColumnarCatalog.from(books);
+            books = null;
+            long columnar = usedAfterGc() - base;
+
+            System.out.printf("%10d %16.1f %16.1f %16.1f %7.1fx%n", size, mb(objects), mb(columnar),
+                    mb(columns.estimatedBytes()), objects / (double) Math.max(columnar, 1));
+            columns = null;
+        }
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try { Thread.sleep(50); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
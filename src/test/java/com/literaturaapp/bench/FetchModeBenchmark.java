@@ -0,0 +1,69 @@
+package com.literaturaapp.bench;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.literaturaapp.config.GutendexHttpClientFactory;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.service.FetchExecutor;
+import com.literaturaapp.service.ServicioLiteratura;
+import com.literaturaapp.support.StubGutendexServer;
+
+/**
+ * Wall time of {@code topNMostDownloaded(pages)} against a local stub that adds a fixed
+ * latency to every response, with page fetches run one after another or in parallel
+ * (virtual threads on Java 21+, a bounded pool before that).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FetchModeBenchmark {
+
+    @Param({"5", "20", "50"})
+    public int pages;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    @Param({"50"})
+    public long latencyMillis;
+
+    @Param({"8"})
+    public int concurrency;
+
+    private StubGutendexServer stub;
+    private FetchExecutor executor;
+    private ServicioLiteratura service;
+
+    @Setup
+    public void setUp() throws IOException {
+        stub = new StubGutendexServer(SyntheticCatalog.generate(pages * 100), 32);
+        stub.setLatencyMillis(latencyMillis);
+        executor = new FetchExecutor(mode, concurrency);
+        service = new ServicioLiteratura(stub.baseUrl(), new GutendexHttpClientFactory(Duration.ofSeconds(5), Duration.ofSeconds(30), concurrency, true, false).restTemplate(), executor,
+                null, 1, "objects", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public List<Book> topPages() {
+        return service.topNMostDownloaded(pages);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.main(new String[] {FetchModeBenchmark.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,84 @@
+package com.literaturaapp.bench;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Serialises books as full Gutendex {@code /books/} pages, including the fields the
+ * app never reads (subjects, bookshelves, summaries, translators, copyright...), so
+ * parsers are measured against the real payload shape.
+ */
+public final class GutendexPages {
+
+    public static final int PAGE_SIZE = 32;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private GutendexPages() {}
+
+    public static byte[] page(List<Book> books, int page, int total) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("count", total);
+        body.put("next", (page * PAGE_SIZE < total) ? "https://gutendex.com/books/?page=" + (page + 1) : null);
+        body.put("previous", page > 1 ? "https://gutendex.com/books/?page=" + (page - 1) : null);
+        List<Map<String, Object>> results = new ArrayList<>(books.size());
+        for (Book b : books) results.add(toJson(b));
+        body.put("results", results);
+        try {
+            return MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Splits a catalog into consecutive pages of {@link #PAGE_SIZE} books. */
+    public static List<byte[]> pages(List<Book> catalog) {
+        List<byte[]> out = new ArrayList<>();
+        for (int from = 0, page = 1; from < catalog.size(); from += PAGE_SIZE, page++) {
+            out.add(page(catalog.subList(from, Math.min(from + PAGE_SIZE, catalog.size())), page, catalog.size()));
+        }
+        return out;
+    }
+
+    private static Map<String, Object> toJson(Book b) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", b.getId());
+        m.put("title", b.getTitle());
+        List<Map<String, Object>> authors = new ArrayList<>();
+        if (b.getAuthors() != null) {
+            for (Author a : b.getAuthors()) {
+                Map<String, Object> am = new LinkedHashMap<>();
+                am.put("name", a.getName());
+                am.put("birth_year", a.getBirth_year());
+                am.put("death_year", a.getDeath_year());
+                authors.add(am);
+            }
+        }
+        m.put("authors", authors);
+        m.put("summaries", List.of("\"" + b.getTitle() + "\" is a work that explores its subject at length. "
+                + "(This is an automatically generated summary.)"));
+        m.put("translators", List.of());
+        m.put("subjects", List.of("Fiction", "Adventure stories", "Voyages and travels -- Fiction"));
+        m.put("bookshelves", List.of("Browsing: Fiction", "Browsing: Literature", "Best Books Ever Listings"));
+        m.put("languages", b.getLanguages() != null ? b.getLanguages() : List.of());
+        m.put("copyright", false);
+        m.put("media_type", "Text");
+        Map<String, String> formats = new LinkedHashMap<>();
+        if (b.getFormats() != null) formats.putAll(b.getFormats());
+        String base = "https://www.gutenberg.org/ebooks/" + b.getId();
+        formats.putIfAbsent("text/html", base + ".html.images");
+        formats.putIfAbsent("application/epub+zip", base + ".epub3.images");
+        formats.putIfAbsent("application/x-mobipocket-ebook", base + ".kf8.images");
+        formats.putIfAbsent("text/plain; charset=us-ascii", base + ".txt.utf-8");
+        formats.putIfAbsent("application/rdf+xml", base + ".rdf");
+        formats.putIfAbsent("image/jpeg", "https://www.gutenberg.org/cache/epub/" + b.getId() + "/pg" + b.getId() + ".cover.medium.jpg");
+        formats.putIfAbsent("application/octet-stream", "https://www.gutenberg.org/cache/epub/" + b.getId() + "/pg" + b.getId() + "-h.zip");
+        m.put("formats", formats);
+        m.put("download_count", b.getDownload_count());
+        return m;
+    }
+}
@@ -0,0 +1,61 @@
+package com.literaturaapp.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.literaturaapp.model.GutendexResponse;
+import com.literaturaapp.service.BookStreamParser;
+
+/**
+ * Decoding one {@code /books/} page: full ObjectMapper binding vs. the streaming
+ * parser with and without {@code formats}. Run with the GC profiler (see main) to
+ * get {@code gc.alloc.rate.norm}, i.e. bytes allocated per page.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GutendexParseBenchmark {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private List<byte[]> pages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        pages = GutendexPages.pages(SyntheticCatalog.generate(GutendexPages.PAGE_SIZE * 64));
+    }
+
+    private byte[] nextPage() {
+        byte[] page = pages.get(next);
+        next = (next + 1) % pages.size();
+        return page;
+    }
+
+    @Benchmark
+    public GutendexResponse objectBinding() throws IOException {
+        return mapper.readValue(nextPage(), GutendexResponse.class);
+    }
+
+    @Benchmark
+    public GutendexResponse streamingWithFormats() throws IOException {
+        return BookStreamParser.parsePage(new ByteArrayInputStream(nextPage()), true);
+    }
+
+    @Benchmark
+    public GutendexResponse streamingWithoutFormats() throws IOException {
+        return BookStreamParser.parsePage(new ByteArrayInputStream(nextPage()), false);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.main(new String[] {GutendexParseBenchmark.class.getSimpleName(), "-prof", "gc"});
+    }
+}
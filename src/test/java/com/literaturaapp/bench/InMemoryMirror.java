@@ -0,0 +1,30 @@
+package com.literaturaapp.bench;
+
+import java.util.List;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.service.CatalogMirrorService;
+
+/**
+ * Mirror that serves a fixed list instead of H2, so the services can be benchmarked
+ * as if a synced catalog were on disk and without any network access.
+ */
+public class InMemoryMirror extends CatalogMirrorService {
+
+    private final List<Book> books;
+
+    public InMemoryMirror(List<Book> books) {
+        super(null, null, null, null, null, 500);
+        this.books = books;
+    }
+
+    @Override
+    public List<Book> load() {
+        return books;
+    }
+
+    @Override
+    public void store(List<Book> books) {
+        // read-only
+    }
+}
@@ -0,0 +1,77 @@
+package com.literaturaapp.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.service.CatalogMirrorService;
+import com.literaturaapp.support.StubGutendexServer;
+
+/**
+ * Time to persist a synthetic catalog in the H2 mirror, then to re-sync it with one
+ * book in ten changed, and to load it back. Runs against an in-memory database with
+ * the application's JPA settings; the sizes can be given as arguments.
+ */
+public final class MirrorStoreReport {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.literaturaapp.model")
+    @EnableJpaRepositories("com.literaturaapp.repository")
+    @Import(CatalogMirrorService.class)
+    static class Config {}
+
+    private MirrorStoreReport() {}
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{70_000};
+        System.out.printf("%10s %14s %14s %14s%n", "books", "store ms", "re-sync ms", "load ms");
+        for (int size : sizes) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Config.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("spring.datasource.url=jdbc:h2:mem:mirror-" + size + ";DB_CLOSE_DELAY=-1",
+                            "spring.jpa.hibernate.ddl-auto=create-drop",
+                            "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                            "spring.jpa.properties.hibernate.order_inserts=true",
+                            "spring.jpa.properties.hibernate.order_updates=true",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN")
+                    .run()) {
+                CatalogMirrorService mirror = context.getBean(CatalogMirrorService.class);
+                List<Book> books = SyntheticCatalog.generate(size);
+
+                long start = System.nanoTime();
+                mirror.store(books);
+                long store = System.nanoTime() - start;
+
+                List<Book> changed = new ArrayList<>(books);
+                for (int i = 0; i < changed.size(); i += 10) {
+                    Book b = changed.get(i);
+                    changed.set(i, StubGutendexServer.book(b.getId(), b.getTitle(), b.getDownload_count() + 1,
+                            b.getLanguages().get(0), b.getAuthors().get(0).getName(), null, null));
+                }
+                start = System.nanoTime();
+                mirror.store(changed);
+                long resync = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int loaded = mirror.load().size();
+                long load = System.nanoTime() - start;
+                if (loaded != size) throw new IllegalStateException("loaded " + loaded + " of " + size);
+
+                System.out.printf("%10d %14.0f %14.0f %14.0f%n", size, store / 1e6, resync / 1e6, load / 1e6);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.literaturaapp.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.catalog.CatalogSearch;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Local title/author search: inverted index vs. the previous linear
+ * {@code toLowerCase().contains()} scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    @Param({"10000", "70000", "500000"})
+    public int size;
+
+    @Param({"quijote", "canción del mar"})
+    public String query;
+
+    private List<Book> books;
+    private List<Author> authors;
+    private CatalogGeneration generation;
+
+    @Setup
+    public void setUp() {
+        books = SyntheticCatalog.generate(size);
+        generation = CatalogGeneration.of(books, true);
+        generation.search();
+        authors = generation.search().getAuthors();
+    }
+
+    @Benchmark
+    public List<Book> titleLinearScan() {
+        String low = query.toLowerCase();
+        List<Book> out = new ArrayList<>();
+        for (Book b : books) {
+            if (b.getTitle() != null && b.getTitle().toLowerCase().contains(low)) out.add(b);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<Book> titleIndex() {
+        return generation.searchBooks(query);
+    }
+
+    @Benchmark
+    public List<Author> authorLinearScan() {
+        String low = "cervantes";
+        List<Author> out = new ArrayList<>();
+        for (Author a : authors) {
+            if (a.getName() != null && a.getName().toLowerCase().contains(low)) out.add(a);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public List<Author> authorIndex() {
+        return generation.search().searchAuthors("cervantes");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CatalogSearch buildIndex() {
+        return CatalogSearch.build(books);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.main(new String[] {SearchIndexBenchmark.class.getSimpleName()});
+    }
+}
@@ -0,0 +1,78 @@
+package com.literaturaapp.bench;
+
+import java.util.*;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+/**
+ * Deterministic generator of Gutendex-like books for benchmarks: mixed Spanish and
+ * English titles with accents, a shared pool of authors and a skewed download curve.
+ */
+public final class SyntheticCatalog {
+
+    private static final String[] WORDS = {
+            "canción", "corazón", "el", "la", "de", "los", "historia", "viaje", "mar", "noche",
+            "the", "of", "and", "adventures", "history", "journey", "sea", "night", "pride", "war",
+            "peace", "quijote", "niño", "señor", "árbol", "música", "island", "treasure", "garden", "king",
+            "reina", "ciudad", "tiempo", "amor", "muerte", "vida", "love", "death", "life", "city"};
+    private static final String[] SURNAMES = {
+            "García", "Martínez", "López", "Núñez", "Pérez", "Smith", "Brown", "Dickens", "Austen", "Twain",
+            "Cervantes", "Galdós", "Bécquer", "Darío", "Wilde", "Shelley", "Poe", "Verne", "Hugo", "Dumas"};
+    private static final String[] GIVEN = {
+            "Miguel", "José", "María", "Ángel", "Charles", "Jane", "Mark", "Oscar", "Mary", "Edgar",
+            "Jules", "Victor", "Alexandre", "Rubén", "Benito", "Gustavo", "Lucía", "Inés", "Tomás", "Sofía"};
+    private static final String[] LANGS = {"en", "en", "en", "es", "fr", "de", "it", "pt", "fi", "nl"};
+
+    private SyntheticCatalog() {}
+
+    public static List<Book> generate(int size) {
+        return generate(size, 42L);
+    }
+
+    public static List<Book> generate(int size, long seed) {
+        Random rnd = new Random(seed);
+        int authorPool = Math.max(10, size / 4);
+        List<Author> authors = new ArrayList<>(authorPool);
+        for (int i = 0; i < authorPool; i++) {
+            Author a = new Author();
+            a.setName(SURNAMES[rnd.nextInt(SURNAMES.length)] + " " + (i % 1000) + ", "
+                    + GIVEN[rnd.nextInt(GIVEN.length)]);
+            if (rnd.nextInt(10) > 0) {
+                int birth = 1500 + rnd.nextInt(450);
+                a.setBirth_year(birth);
+                if (rnd.nextInt(10) > 0) a.setDeath_year(birth + 20 + rnd.nextInt(70));
+            }
+            authors.add(a);
+        }
+        List<Book> books = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            Book b = new Book();
+            b.setId(id);
+            int words = 2 + rnd.nextInt(5);
+            StringBuilder title = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) title.append(' ');
+                title.append(WORDS[rnd.nextInt(WORDS.length)]);
+            }
+            title.append(' ').append(id);
+            b.setTitle(title.toString());
+            List<Author> bookAuthors = new ArrayList<>(2);
+            bookAuthors.add(authors.get(rnd.nextInt(authorPool)));
+            if (rnd.nextInt(8) == 0) bookAuthors.add(authors.get(rnd.nextInt(authorPool)));
+            b.setAuthors(bookAuthors);
+            List<String> langs = new ArrayList<>(1);
+            langs.add(LANGS[rnd.nextInt(LANGS.length)]);
+            b.setLanguages(langs);
+            // heavy tail: a few very popular books, most with few downloads
+            b.setDownload_count((int) (100_000 / Math.pow(1 + rnd.nextInt(size), 0.8)));
+            Map<String, String> formats = new LinkedHashMap<>();
+            formats.put("text/html", "https://www.gutenberg.org/ebooks/" + id + ".html.images");
+            formats.put("application/epub+zip", "https://www.gutenberg.org/ebooks/" + id + ".epub3.images");
+            formats.put("text/plain; charset=us-ascii", "https://www.gutenberg.org/ebooks/" + id + ".txt.utf-8");
+            b.setFormats(formats);
+            books.add(b);
+        }
+        return books;
+    }
+}
@@ -0,0 +1,60 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class AuthorDimensionTest {
+
+    @Test
+    void identifiesPeopleByNameKeyAndYears() {
+        List<Book> books = List.of(
+                StubGutendexServer.book(1, "Tom Sawyer", 10, "en", "Twain, Mark", 1835, 1910),
+                StubGutendexServer.book(2, "Huckleberry Finn", 20, "en", "Mark Twain", null, null),
+                StubGutendexServer.book(3, "Roughing It", 5, "en", "Twain, Mark (Samuel Clemens)", 1835, 1910),
+                // same name, different person
+                StubGutendexServer.book(4, "Poemas", 1, "es", "Twain, Mark", 1950, null),
+                StubGutendexServer.book(5, "Sin autor", 1, "es", "", null, null));
+
+        AuthorDimension dim = AuthorDimension.build(books);
+
+        assertEquals(2, dim.size());
+        int twain = dim.idOf(books.get(1).getAuthors().get(0));
+        assertEquals(0, twain);
+        assertArrayEquals(new int[]{1, 2, 3}, dim.bookIds(twain));
+        assertEquals(1835, dim.birth(twain));
+        assertEquals(1, dim.idOf(books.get(3).getAuthors().get(0)));
+        assertArrayEquals(new int[]{4}, dim.bookIds(1));
+        assertArrayEquals(new int[]{0}, dim.authorsOf(2));
+        assertArrayEquals(new int[0], dim.authorsOf(4));
+
+        Author unknown = new Author();
+        unknown.setName("Nadie");
+        assertEquals(-1, dim.idOf(unknown));
+    }
+
+    @Test
+    void generationBuildsItOnceAndViewsAreSorted() {
+        List<Book> books = new ArrayList<>(StubGutendexServer.sampleCatalog(300));
+        CatalogGeneration gen = CatalogGeneration.of(books, true);
+
+        AuthorDimension dim = gen.authors();
+        assertSame(dim, gen.authors());
+        // 97 names, but every book's author has other life years: 300 people
+        assertEquals(300, dim.size());
+        assertEquals(dim.authors(), gen.search().getAuthors());
+        List<Author> sorted = dim.sortedByName();
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getName().compareTo(sorted.get(i).getName()) <= 0);
+        }
+        // a count-only refresh keeps it
+        assertSame(dim, gen.next(books, List.of(), List.of(books.get(0))).authors());
+    }
+}
@@ -0,0 +1,62 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Author;
+
+class AuthorLifespanIndexTest {
+
+    @Test
+    void matchesBruteForceOnRandomLifespans() {
+        Random rnd = new Random(7);
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Integer birth = rnd.nextInt(10) == 0 ? null : 1400 + rnd.nextInt(600);
+            Integer death = birth == null || rnd.nextInt(8) == 0 ? null : birth + rnd.nextInt(100);
+            authors.add(author("A" + i, birth, death));
+        }
+        AuthorLifespanIndex index = AuthorLifespanIndex.build(authors);
+
+        for (int q = 0; q < 200; q++) {
+            int from = 1350 + rnd.nextInt(750);
+            int to = from + (q % 2 == 0 ? 0 : rnd.nextInt(60));
+            Set<String> expected = authors.stream()
+                    .filter(a -> a.getBirth_year() != null && a.getBirth_year() <= to
+                            && (a.getDeath_year() == null || a.getDeath_year() >= from))
+                    .map(Author::getName).collect(Collectors.toSet());
+            List<Author> found = index.aliveDuring(from, to);
+            assertEquals(expected, found.stream().map(Author::getName).collect(Collectors.toSet()));
+            assertEquals(expected.size(), found.size());
+        }
+    }
+
+    @Test
+    void deathYearIsInclusiveAndUnknownBirthIsExcluded() {
+        AuthorLifespanIndex index = AuthorLifespanIndex.build(List.of(
+                author("Cervantes", 1547, 1616),
+                author("Vivo", 1950, null),
+                author("Sin fecha", null, 1616)));
+
+        assertEquals(List.of("Cervantes"), names(index.aliveIn(1616)));
+        assertEquals(List.of(), names(index.aliveIn(1617)));
+        assertEquals(List.of("Vivo"), names(index.aliveIn(2020)));
+        assertEquals(List.of("Cervantes", "Vivo"), names(index.aliveDuring(1600, 1960)));
+    }
+
+    private static Author author(String name, Integer birth, Integer death) {
+        Author a = new Author();
+        a.setName(name);
+        a.setBirth_year(birth);
+        a.setDeath_year(death);
+        return a;
+    }
+
+    private static List<String> names(List<Author> authors) {
+        return authors.stream().map(Author::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,83 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class BookPagingTest {
+
+    private final List<Book> catalog = withUntitledAndTies(StubGutendexServer.sampleCatalog(1000));
+
+    @Test
+    void walkingThePagesListsEveryBookOnceInOrder() {
+        for (boolean columnar : new boolean[]{false, true}) {
+            CatalogGeneration gen = CatalogGeneration.of(catalog, true, columnar);
+            for (BookOrder order : BookOrder.values()) {
+                assertEquals(ids(sorted(catalog, order, null)), ids(walk(gen, order, null, 37)), order + " columnar=" + columnar);
+            }
+            assertEquals(ids(sorted(catalog, BookOrder.DOWNLOADS, "es")), ids(walk(gen, BookOrder.DOWNLOADS, "ES", 25)));
+            assertEquals(ids(sorted(catalog, BookOrder.TITLE, "fr")), ids(walk(gen, BookOrder.TITLE, "fr", 25)));
+            assertTrue(gen.page(BookCursor.start(BookOrder.DOWNLOADS), 10, "xx").isEmpty());
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CatalogGeneration gen = CatalogGeneration.of(catalog, true);
+        BookPage page = gen.page(BookCursor.start(BookOrder.TITLE), catalog.size(), null);
+
+        assertEquals(catalog.size(), page.getBooks().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void cursorResumesInTheNextGeneration() {
+        CatalogGeneration gen = CatalogGeneration.of(catalog, true);
+        BookPage first = gen.page(BookCursor.start(BookOrder.DOWNLOADS), 10, null);
+        // a new best seller arrives between two pages: it sorts before the cursor, so page 2 is unchanged
+        List<Book> merged = new ArrayList<>(catalog);
+        Book added = StubGutendexServer.book(5000, "Nuevo", 10_000_000, "es", "Autor", null, null);
+        merged.add(added);
+        CatalogGeneration next = gen.next(merged, List.of(added), List.of());
+
+        assertEquals(ids(gen.page(first.getNext(), 10, null).getBooks()), ids(next.page(first.getNext(), 10, null).getBooks()));
+        assertEquals(5000, next.page(BookCursor.start(BookOrder.DOWNLOADS), 1, null).getBooks().get(0).getId());
+    }
+
+    static List<Book> walk(CatalogGeneration gen, BookOrder order, String language, int size) {
+        List<Book> out = new ArrayList<>();
+        BookCursor cursor = BookCursor.start(order);
+        while (cursor != null) {
+            BookPage page = gen.page(cursor, size, language);
+            assertTrue(page.getBooks().size() <= size);
+            out.addAll(page.getBooks());
+            cursor = page.getNext();
+        }
+        return out;
+    }
+
+    private static List<Book> sorted(List<Book> books, BookOrder order, String language) {
+        return books.stream()
+                .filter(b -> language == null || b.getLanguages().stream().anyMatch(language::equalsIgnoreCase))
+                .sorted(order.comparator())
+                .collect(Collectors.toList());
+    }
+
+    // a few books without title and many with the same downloads, to exercise the tie-breaks
+    private static List<Book> withUntitledAndTies(List<Book> books) {
+        List<Book> out = new ArrayList<>(books);
+        for (int i = 0; i < out.size(); i += 97) out.get(i).setTitle(null);
+        for (int i = 0; i < out.size(); i += 7) out.get(i).setDownload_count(1234);
+        return out;
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        return books.stream().map(Book::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,57 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class CatalogSearchTest {
+
+    private final List<Book> books = List.of(
+            StubGutendexServer.book(1, "Don Quijote de la Mancha", 900, "es", "Cervantes Saavedra, Miguel de", 1547, 1616),
+            StubGutendexServer.book(2, "La Canción de Rolando", 100, "es", "Anónimo", null, null),
+            StubGutendexServer.book(3, "Pride and Prejudice", 5000, "en", "Austen, Jane", 1775, 1817),
+            StubGutendexServer.book(4, "Novelas ejemplares", 300, "es", "Cervantes Saavedra, Miguel de", 1547, 1616));
+
+    @Test
+    void foldsAccentsAndMatchesPrefixes() {
+        CatalogGeneration gen = CatalogGeneration.of(books, true);
+
+        assertEquals(List.of(2), ids(gen.searchBooks("cancion")));
+        assertEquals(List.of(2), ids(gen.searchBooks("CANCIÓN rol")));
+        assertEquals(List.of(1), ids(gen.searchBooks("quij")));
+        // author names are searchable from the book index too
+        assertEquals(List.of(1, 4), ids(gen.searchBooks("cervantes")));
+        assertTrue(gen.searchBooks("quijote austen").isEmpty());
+    }
+
+    @Test
+    void authorsAreDeduplicatedAndSearchable() {
+        CatalogSearch search = CatalogGeneration.of(books, true).search();
+
+        assertEquals(3, search.getAuthors().size());
+        List<Author> found = search.searchAuthors("miguel cerv");
+        assertEquals(1, found.size());
+        assertEquals("Cervantes Saavedra, Miguel de", found.get(0).getName());
+        assertEquals(1, search.searchAuthors("anonimo").size());
+    }
+
+    @Test
+    void countOnlyRefreshKeepsTheIndex() {
+        CatalogGeneration gen = CatalogGeneration.of(books, true);
+        CatalogSearch search = gen.search();
+
+        assertSame(search, gen.next(books, List.of(), List.of(books.get(0))).search());
+        assertNotSame(search, gen.next(books, List.of(books.get(3)), List.of()).search());
+    }
+
+    private static List<Integer> ids(List<Book> found) {
+        return found.stream().map(Book::getId).collect(Collectors.toList());
+    }
+}
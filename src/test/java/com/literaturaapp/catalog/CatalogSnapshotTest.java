@@ -0,0 +1,68 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.literaturaapp.bench.SyntheticCatalog;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        List<Book> books = SyntheticCatalog.generate(2000);
+        Book bare = new Book();
+        bare.setId(999_999);
+        bare.setAuthors(List.of(new Author()));
+        books.add(bare);
+        Path file = dir.resolve("catalog.snap");
+
+        CatalogSnapshot.write(books, file);
+        CatalogSnapshot snapshot = CatalogSnapshot.read(file);
+
+        assertEquals(books.size(), snapshot.size());
+        assertEquals(Files.size(file), snapshot.getSizeBytes());
+        for (int row = 0; row < books.size(); row++) {
+            Book expected = books.get(row);
+            Book actual = snapshot.asBooks().get(row);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDownload_count(), actual.getDownload_count());
+            assertEquals(expected.getLanguages() != null ? expected.getLanguages() : List.of(), actual.getLanguages());
+            assertEquals(expected.getFormats(), actual.getFormats());
+            assertEquals(expected.getAuthors().size(), actual.getAuthors().size());
+            for (int i = 0; i < expected.getAuthors().size(); i++) {
+                Author a = expected.getAuthors().get(i), b = actual.getAuthors().get(i);
+                assertEquals(a.getName(), b.getName());
+                assertEquals(a.getBirth_year(), b.getBirth_year());
+                assertEquals(a.getDeath_year(), b.getDeath_year());
+            }
+        }
+    }
+
+    @Test
+    void rejectsTruncatedAndForeignFiles() throws IOException {
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshot.write(SyntheticCatalog.generate(100), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(file));
+
+        bytes[0] = 'X';
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(file));
+    }
+}
@@ -0,0 +1,72 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.bench.SyntheticCatalog;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class ColumnarCatalogTest {
+
+    private final List<Book> books = SyntheticCatalog.generate(2000);
+
+    @Test
+    void roundTripsEveryField() {
+        ColumnarCatalog columns = ColumnarCatalog.from(books);
+
+        assertEquals(books.size(), columns.size());
+        for (int row = 0; row < books.size(); row++) {
+            Book expected = books.get(row);
+            Book actual = columns.asBooks().get(row);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDownload_count(), actual.getDownload_count());
+            assertEquals(expected.getLanguages(), actual.getLanguages());
+            assertEquals(expected.getFormats(), actual.getFormats());
+            assertEquals(expected.getAuthors().size(), actual.getAuthors().size());
+            for (int i = 0; i < expected.getAuthors().size(); i++) {
+                Author a = expected.getAuthors().get(i), b = actual.getAuthors().get(i);
+                assertEquals(a.getName(), b.getName());
+                assertEquals(a.getBirth_year(), b.getBirth_year());
+                assertEquals(a.getDeath_year(), b.getDeath_year());
+            }
+            assertEquals(row, columns.rowOf(expected.getId()));
+        }
+        assertEquals(-1, columns.rowOf(-5));
+        long spanish = books.stream().filter(b -> b.getLanguages().contains("es")).count();
+        assertEquals(spanish, columns.rowsWithLanguage("es").cardinality());
+    }
+
+    @Test
+    void keepsEachBooksLanguagesInTheirOrderAndCase() {
+        Book book = StubGutendexServer.book(1, "Bilingüe", 10, "fr", "Autor, A", null, null);
+        book.setLanguages(new ArrayList<>(List.of("fr", "EN")));
+        ColumnarCatalog columns = ColumnarCatalog.from(List.of(StubGutendexServer.book(2, "Otro", 5, "en", "Autor, B", null, null), book));
+
+        assertEquals(List.of("fr", "EN"), columns.languages(1));
+        assertEquals(List.of("en"), columns.languages(0));
+        assertEquals(2, columns.rowsWithLanguage("en").cardinality());
+    }
+
+    @Test
+    void generationQueriesWorkOnTopOfTheColumns() {
+        CatalogGeneration objects = CatalogGeneration.of(books, true);
+        CatalogGeneration columnar = CatalogGeneration.of(books, true, true);
+
+        assertNotNull(columnar.getColumns());
+        assertEquals(ids(objects.ranking().top(10)), ids(columnar.ranking().top(10)));
+        assertEquals(ids(objects.searchBooks("quijote")), ids(columnar.searchBooks("quijote")));
+        assertEquals(objects.lifespans().aliveIn(1700).size(), columnar.lifespans().aliveIn(1700).size());
+        assertEquals(books.get(42).getTitle(), columnar.findById(books.get(42).getId()).getTitle());
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class DownloadRankingTest {
+
+    private final List<Book> catalog = StubGutendexServer.sampleCatalog(1000);
+
+    @Test
+    void precomputedListsMatchAFullSort() {
+        DownloadRanking ranking = DownloadRanking.build(catalog, 20);
+
+        assertEquals(ids(fullSort(catalog, null, 10)), ids(ranking.top(10)));
+        assertEquals(ids(fullSort(catalog, "es", 15)), ids(ranking.top("ES", 15)));
+        // beyond the precomputed capacity the bounded heap takes over
+        assertEquals(ids(fullSort(catalog, null, 50)), ids(ranking.top(50)));
+        assertEquals(ids(fullSort(catalog, "fr", 40)), ids(ranking.top("fr", 40)));
+        assertTrue(ranking.top("xx", 5).isEmpty());
+    }
+
+    @Test
+    void deltaUpdatesMatchARebuild() {
+        DownloadRanking ranking = DownloadRanking.build(catalog, 20);
+        List<Book> next = new ArrayList<>(catalog);
+        List<Book> changed = new ArrayList<>();
+        // one book climbs to the top, one from the top drops out, one new book arrives
+        changed.add(replace(next, 500, 1_000_000));
+        Book leader = ranking.top(1).get(0);
+        changed.add(replace(next, leader.getId(), 0));
+        Book added = StubGutendexServer.book(1001, "Nuevo", 999_999, "es", "Autor", null, null);
+        next.add(added);
+        changed.add(added);
+
+        DownloadRanking updated = ranking.update(next, changed);
+
+        assertEquals(ids(fullSort(next, null, 20)), ids(updated.top(20)));
+        assertEquals(ids(fullSort(next, "es", 20)), ids(updated.top("es", 20)));
+        assertEquals(ids(fullSort(next, "en", 20)), ids(updated.top("en", 20)));
+    }
+
+    @Test
+    void generationCarriesTheRankingAcrossDeltas() {
+        CatalogGeneration gen = CatalogGeneration.of(catalog, true);
+        gen.ranking();
+        List<Book> next = new ArrayList<>(catalog);
+        Book climbed = replace(next, 7, 2_000_000);
+
+        CatalogGeneration after = gen.next(next, List.of(), List.of(climbed));
+
+        assertEquals(7, after.ranking().top(1).get(0).getId());
+    }
+
+    private static Book replace(List<Book> books, int id, int downloads) {
+        for (int i = 0; i < books.size(); i++) {
+            Book old = books.get(i);
+            if (old.getId() == id) {
+                Book b = StubGutendexServer.book(id, old.getTitle(), downloads, old.getLanguages().get(0), "Autor", null, null);
+                books.set(i, b);
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("no book " + id);
+    }
+
+    private static List<Book> fullSort(List<Book> books, String lang, int n) {
+        return books.stream()
+                .filter(b -> lang == null || b.getLanguages().contains(lang))
+                .sorted(DownloadRanking.MOST_DOWNLOADED)
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        return books.stream().map(Book::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package com.literaturaapp.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class DownloadStatisticsTest {
+
+    @Test
+    void aggregatesMatchALoopAndPercentilesStayWithinOnePercent() {
+        // big enough to go parallel
+        List<Book> catalog = StubGutendexServer.sampleCatalog(DownloadStatistics.PARALLEL_THRESHOLD * 2);
+        DownloadStatistics stats = DownloadStatistics.compute(catalog);
+
+        DoubleSummaryStatistics loop = new DoubleSummaryStatistics();
+        int[] sorted = new int[catalog.size()];
+        for (int i = 0; i < catalog.size(); i++) {
+            loop.accept(catalog.get(i).getDownload_count());
+            sorted[i] = catalog.get(i).getDownload_count();
+        }
+        Arrays.sort(sorted);
+        assertEquals(loop.getCount(), stats.getCount());
+        assertEquals((long) loop.getSum(), stats.getSum());
+        assertEquals((int) loop.getMin(), stats.getMin());
+        assertEquals((int) loop.getMax(), stats.getMax());
+        assertEquals(loop.getAverage(), stats.getMean(), 1e-9);
+        for (double q : new double[] {0.5, 0.9, 0.99}) {
+            double exact = sorted[(int) Math.ceil(q * sorted.length) - 1];
+            assertEquals(exact, stats.percentile(q), exact * 0.01 + 1, "q=" + q);
+        }
+
+        // the columnar store gives the same answer as the objects
+        ColumnarCatalog columns = ColumnarCatalog.from(catalog);
+        assertSameStatistics(stats, DownloadStatistics.compute(columns.asBooks(), columns));
+    }
+
+    @Test
+    void histogramAndFacets() {
+        List<Book> books = List.of(
+                StubGutendexServer.book(1, "A", 0, "en", "Autor, A", 1812, 1870),
+                StubGutendexServer.book(2, "B", 5, "es", "Autor, B", 1547, 1616),
+                StubGutendexServer.book(3, "C", 50, "EN", "Autor, C", null, null),
+                StubGutendexServer.book(4, "D", 12_000, "fr", "Autor, D", 1802, 1885));
+        DownloadStatistics stats = DownloadStatistics.compute(books);
+
+        assertEquals(List.of("0", "1-9", "10-99", "100-999", "1000-9999", "10000-99999"), new ArrayList<>(stats.histogram().keySet()));
+        assertEquals(List.of(1L, 1L, 1L, 0L, 0L, 1L), new ArrayList<>(stats.histogram().values()));
+        assertEquals(Map.of("en", new DownloadStatistics.Facet(2, 50), "es", new DownloadStatistics.Facet(1, 5),
+                "fr", new DownloadStatistics.Facet(1, 12_000)), stats.byLanguage());
+        assertEquals(Map.of(19, new DownloadStatistics.Facet(2, 12_000), 16, new DownloadStatistics.Facet(1, 5),
+                DownloadStatistics.UNKNOWN_CENTURY, new DownloadStatistics.Facet(1, 50)), stats.byAuthorCentury());
+        assertEquals(0, DownloadStatistics.compute(List.of()).getMax());
+    }
+
+    @Test
+    void deltaUpdateMatchesAFullRecompute() {
+        List<Book> catalog = StubGutendexServer.sampleCatalog(2000);
+        CatalogGeneration gen = CatalogGeneration.of(catalog, true);
+        DownloadStatistics before = gen.statistics();
+
+        List<Book> next = new ArrayList<>(catalog);
+        List<Book> updated = new ArrayList<>();
+        // a new maximum, a book changing language, and one falling to 0
+        updated.add(replace(next, 10, 50_000, "en"));
+        updated.add(replace(next, 11, 3, "it"));
+        updated.add(replace(next, 12, 0, "de"));
+        Book added = StubGutendexServer.book(2001, "Nuevo", 77, "pt", "Autor, N", 1950, null);
+        next.add(added);
+
+        CatalogGeneration after = gen.next(next, List.of(added), updated);
+
+        assertSameStatistics(DownloadStatistics.compute(next), after.statistics());
+        assertEquals(50_000, after.statistics().getMax());
+        assertEquals(2000, before.getCount());
+    }
+
+    @Test
+    void removingTheOnlyMaximumFallsBackToARecompute() {
+        List<Book> catalog = new ArrayList<>(StubGutendexServer.sampleCatalog(100));
+        catalog.add(StubGutendexServer.book(101, "Cima", 1_000_000, "en", "Autor, C", 1900, null));
+        CatalogGeneration gen = CatalogGeneration.of(catalog, true);
+        gen.statistics();
+
+        List<Book> next = new ArrayList<>(catalog);
+        Book fell = replace(next, 101, 1, "en");
+        DownloadStatistics s = gen.statistics().update(List.of(), List.of(fell), Map.of(101, catalog.get(100)));
+
+        assertNull(s);
+        assertSameStatistics(DownloadStatistics.compute(next), gen.next(next, List.of(), List.of(fell)).statistics());
+    }
+
+    private static void assertSameStatistics(DownloadStatistics expected, DownloadStatistics actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getSum(), actual.getSum());
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        assertEquals(expected.histogram(), actual.histogram());
+        assertEquals(expected.byLanguage(), actual.byLanguage());
+        assertEquals(expected.byAuthorCentury(), actual.byAuthorCentury());
+        for (double q : new double[] {0.5, 0.9, 0.99}) assertEquals(expected.percentile(q), actual.percentile(q), "q=" + q);
+    }
+
+    private static Book replace(List<Book> books, int id, int downloads, String lang) {
+        for (int i = 0; i < books.size(); i++) {
+            Book old = books.get(i);
+            if (old.getId() == id) {
+                Book b = StubGutendexServer.book(id, old.getTitle(), downloads, lang, old.getAuthors().get(0).getName(),
+                        old.getAuthors().get(0).getBirth_year(), old.getAuthors().get(0).getDeath_year());
+                books.set(i, b);
+                return b;
+            }
+        }
+        throw new IllegalArgumentException("no book " + id);
+    }
+}
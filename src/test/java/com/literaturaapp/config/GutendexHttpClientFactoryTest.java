@@ -0,0 +1,111 @@
+package com.literaturaapp.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.literaturaapp.model.GutendexResponse;
+import com.literaturaapp.support.StubGutendexServer;
+
+import reactor.core.publisher.Flux;
+
+class GutendexHttpClientFactoryTest {
+
+    private StubGutendexServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(320), 32);
+        stub.setGzip(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private static GutendexHttpClientFactory factory(boolean compression, Duration readTimeout) {
+        return new GutendexHttpClientFactory(Duration.ofSeconds(2), readTimeout, 4, compression, true);
+    }
+
+    @Test
+    void webClientDecompressesAndReusesPooledConnections() {
+        long plain = fetchPagesWithWebClient(factory(false, Duration.ofSeconds(5))).getBytesReceived();
+
+        GutendexHttpClientFactory gzip = factory(true, Duration.ofSeconds(5));
+        HttpClientMetrics metrics = fetchPagesWithWebClient(gzip);
+
+        assertTrue(stub.lastAcceptEncoding().contains("gzip"));
+        assertTrue(metrics.getBytesReceived() * 2 < plain, metrics.getBytesReceived() + " vs " + plain);
+        assertEquals(20, metrics.getRequests());
+        assertTrue(metrics.getConnectionsOpened() <= 4, metrics.toString());
+        assertTrue(metrics.getConnectionReuseRatio() >= 0.8, metrics.toString());
+    }
+
+    @Test
+    void restTemplateDecompressesAndKeepsConnectionsAlive() {
+        long plain = fetchPagesWithRestTemplate(factory(false, Duration.ofSeconds(5))).getBytesReceived();
+
+        HttpClientMetrics metrics = fetchPagesWithRestTemplate(factory(true, Duration.ofSeconds(5)));
+
+        assertTrue(stub.lastAcceptEncoding().contains("gzip"));
+        assertTrue(metrics.getBytesReceived() * 2 < plain, metrics.getBytesReceived() + " vs " + plain);
+        assertEquals(10, metrics.getRequests());
+        assertEquals(1, metrics.getConnectionsOpened());
+        assertEquals(0.9, metrics.getConnectionReuseRatio(), 1e-9);
+    }
+
+    @Test
+    void clientsOfOneFactoryShareItsConnections() {
+        try (GutendexHttpClientFactory f = factory(true, Duration.ofSeconds(5))) {
+            for (int i = 0; i < 3; i++) {
+                f.webClient(stub.baseUrl()).get().uri("/books/?page=1").retrieve()
+                        .bodyToMono(GutendexResponse.class).block(Duration.ofSeconds(5));
+                f.restTemplate().getForObject(URI.create(stub.baseUrl() + "/books/?page=1"), GutendexResponse.class);
+            }
+            assertEquals(1, f.getWebClientMetrics().getConnectionsOpened());
+            assertEquals(1, f.getRestTemplateMetrics().getConnectionsOpened());
+        }
+    }
+
+    @Test
+    void slowResponsesHitTheReadTimeout() {
+        stub.setLatencyMillis(1_000);
+        GutendexHttpClientFactory f = factory(true, Duration.ofMillis(200));
+        WebClient webClient = f.webClient(stub.baseUrl());
+        assertThrows(Exception.class, () -> webClient.get().uri("/books/?page=1").retrieve()
+                .bodyToMono(GutendexResponse.class).block(Duration.ofSeconds(5)));
+        RestTemplate restTemplate = f.restTemplate();
+        assertThrows(Exception.class, () -> restTemplate.getForObject(URI.create(stub.baseUrl() + "/books/?page=1"), GutendexResponse.class));
+    }
+
+    /** Ten pages, twice, with up to four requests in flight. */
+    private HttpClientMetrics fetchPagesWithWebClient(GutendexHttpClientFactory f) {
+        WebClient webClient = f.webClient(stub.baseUrl());
+        for (int round = 0; round < 2; round++) {
+            long books = Flux.range(1, 10)
+                    .flatMap(p -> webClient.get().uri("/books/?page=" + p).retrieve().bodyToMono(GutendexResponse.class), 4)
+                    .map(r -> r.getResults().size())
+                    .reduce(0, Integer::sum)
+                    .block(Duration.ofSeconds(10));
+            assertEquals(320, books);
+        }
+        return f.getWebClientMetrics();
+    }
+
+    private HttpClientMetrics fetchPagesWithRestTemplate(GutendexHttpClientFactory f) {
+        RestTemplate restTemplate = f.restTemplate();
+        for (int p = 1; p <= 10; p++) {
+            GutendexResponse resp = restTemplate.getForObject(URI.create(stub.baseUrl() + "/books/?page=" + p), GutendexResponse.class);
+            assertEquals(32, resp.getResults().size());
+        }
+        return f.getRestTemplateMetrics();
+    }
+}
@@ -0,0 +1,47 @@
+package com.literaturaapp.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.service.GutendexService;
+import com.literaturaapp.service.ServicioLiteratura;
+import com.literaturaapp.support.StubGutendexServer;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+class GutendexMetricsTest {
+
+    @Test
+    void crawlPagesCachesAndCatalogShowUpInThePrometheusScrape() throws Exception {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        GutendexMetrics metrics = new GutendexMetrics(registry);
+        try (StubGutendexServer stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(128), 32)) {
+            GutendexService gutendex = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false,
+                    null, null, null, null, metrics, null, null);
+            assertEquals(128, gutendex.listAllBooks().size());
+            gutendex.searchPage("Libro", 1).block();
+            gutendex.searchPage("Libro", 1).block();
+
+            ServicioLiteratura servicio = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects",
+                    null, null, metrics, null, null);
+            List<Book> spanish = servicio.listBooksByLanguage("es");
+            assertFalse(spanish.isEmpty());
+
+            String scrape = registry.scrape();
+            assertTrue(scrape.contains("gutendex_crawl_pages_total{kind=\"full\",} 4.0"), scrape);
+            // the page fetch latency histogram, one bucket per fixed bound
+            assertTrue(scrape.contains("gutendex_requests_seconds_bucket{client=\"webclient\",operation=\"page\",outcome=\"success\",le=\"0.05\",}"), scrape);
+            assertTrue(scrape.contains("gutendex_requests_seconds_count{client=\"webclient\",operation=\"page\",outcome=\"success\",} 4.0"), scrape);
+            assertTrue(scrape.contains("gutendex_requests_seconds_count{client=\"resttemplate\",operation=\"language\",outcome=\"success\",} 1.0"), scrape);
+            assertTrue(scrape.contains("gutendex_decode_seconds_count{client=\"webclient\",} 4.0"), scrape);
+            assertTrue(scrape.contains("catalog_books{service=\"gutendex\",} 128.0"), scrape);
+            assertTrue(scrape.contains("cache_gets_total{cache=\"búsquedas\",result=\"hit\",service=\"gutendex\",} 1.0"), scrape);
+            assertTrue(scrape.contains("catalog_age_seconds{service=\"gutendex\",}"), scrape);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.literaturaapp.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.BookPageResponse;
+import com.literaturaapp.model.CatalogStatsResponse;
+import com.literaturaapp.support.StubGutendexServer;
+import com.literaturaapp.service.GutendexService;
+
+class CatalogApiControllerTest {
+
+    private StubGutendexServer stub;
+    private GutendexService gutendex;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(320), 32);
+        gutendex = new GutendexService(stub.baseUrl(), 4, 50);
+        client = WebTestClient.bindToController(new CatalogApiController(gutendex)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void cursorsWalkTheWholeListingOnce() {
+        Set<Integer> seen = new HashSet<>();
+        String cursor = null;
+        int previous = Integer.MAX_VALUE;
+        do {
+            String uri = "/api/books?size=100" + (cursor != null ? "&cursor=" + cursor : "");
+            BookPageResponse page = client.get().uri(uri).accept(MediaType.APPLICATION_JSON).exchange()
+                    .expectStatus().isOk()
+                    .expectBody(BookPageResponse.class).returnResult().getResponseBody();
+            for (Book b : page.getBooks()) {
+                assertTrue(b.getDownload_count() <= previous);
+                previous = b.getDownload_count();
+                assertTrue(seen.add(b.getId()));
+            }
+            cursor = page.getNext();
+        } while (cursor != null);
+        assertEquals(320, seen.size());
+
+        client.get().uri("/api/books?cursor=nope!").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void conditionalGetIsNotModifiedUntilTheCatalogChanges() {
+        String etag = client.get().uri("/api/books/top?n=5").exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .returnResult(String.class).getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        client.get().uri("/api/books/top?n=5").header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        client.get().uri("/api/books/1").header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified();
+
+        List<Book> books = new ArrayList<>(StubGutendexServer.sampleCatalog(320));
+        books.add(StubGutendexServer.book(321, "Nuevo", 5, "es", "Autor", null, null));
+        stub.setCatalog(books);
+        gutendex.refreshCache();
+        client.get().uri("/api/books/top?n=5").header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, e -> assertNotEquals(etag, e));
+    }
+
+    @Test
+    void ndjsonStreamsEveryBookInLanguage() {
+        List<Book> spanish = client.get().uri("/api/books?lang=es&order=title").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Book.class).returnResult().getResponseBody();
+
+        assertEquals(80, spanish.size());
+        assertTrue(spanish.stream().allMatch(b -> b.getLanguages().contains("es")));
+        for (int i = 1; i < spanish.size(); i++) {
+            assertTrue(spanish.get(i - 1).getTitle().compareTo(spanish.get(i).getTitle()) <= 0);
+        }
+    }
+
+    @Test
+    void queriesAnswerFromTheLoadedCatalog() {
+        client.get().uri("/api/books/search?q=libro 12&limit=3").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(3);
+        client.get().uri("/api/books/7").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("Libro 7");
+        client.get().uri("/api/books/9999").exchange().expectStatus().isNotFound();
+        client.get().uri("/api/authors/alive?year=1750").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").exists();
+        client.get().uri("/api/books/top?n=0").exchange().expectStatus().isBadRequest();
+
+        CatalogStatsResponse stats = client.get().uri("/api/stats").exchange()
+                .expectStatus().isOk()
+                .expectBody(CatalogStatsResponse.class).returnResult().getResponseBody();
+        assertEquals(320, stats.getBooks());
+        int max = gutendex.catalog().getBooks().stream().mapToInt(Book::getDownload_count).max().getAsInt();
+        assertEquals(max, stats.getMaxDownloads());
+        assertTrue(stats.getP50Downloads() <= stats.getP99Downloads());
+        assertEquals(320, stats.getHistogram().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(80, stats.getLanguages().get("es").getBooks());
+    }
+}
@@ -0,0 +1,160 @@
+package com.literaturaapp.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.literaturaapp.bench.SyntheticCatalog;
+import com.literaturaapp.config.PersonaFullTextIndex;
+import com.literaturaapp.model.LibroResumen;
+import com.literaturaapp.model.Persona;
+import com.literaturaapp.model.PersonaResumen;
+import com.literaturaapp.service.CatalogMirrorService;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.literaturaapp.repository.RepositoryQueryPlanTest$CapturedSql")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+/**
+ * Runs the paged repository queries against a stored synthetic catalog and checks,
+ * with H2's {@code EXPLAIN} on the SQL Hibernate actually sent, that each one is
+ * answered from its index rather than a table scan.
+ */
+class RepositoryQueryPlanTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.literaturaapp.model")
+    @EnableJpaRepositories("com.literaturaapp.repository")
+    @Import({CatalogMirrorService.class, PersonaFullTextIndex.class})
+    static class Config {}
+
+    /** Records the SQL Hibernate sends, so the test explains the real statements. */
+    public static class CapturedSql implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired CatalogMirrorService mirror;
+    @Autowired LibroRepository libros;
+    @Autowired PersonaRepository personas;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach
+    void load() {
+        mirror.store(SyntheticCatalog.generate(2000));
+        CapturedSql.SQL.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("libro_languages", "libro_autor", "libro_formatos", "libros", "persona", "sincronizacion")) {
+            jdbc.update("delete from " + table);
+        }
+    }
+
+    @Test
+    void topReadsTheDownloadIndexInOrder() {
+        List<LibroResumen> top = libros.findTopResumen(PageRequest.of(0, 10));
+
+        assertEquals(10, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getDownloadCount() >= top.get(i).getDownloadCount());
+        }
+        assertEquals(jdbc.queryForObject("select max(download_count) from libros", Integer.class), top.get(0).getDownloadCount());
+        String plan = plan(lastSelect("from libros"), 0, 10);
+        assertUses(plan, "IDX_LIBRO_DESCARGAS");
+        assertTrue(plan.toLowerCase().contains("index sorted"), plan);
+    }
+
+    @Test
+    void languagePageIsCaseInsensitiveAndIndexed() {
+        Page<LibroResumen> page = libros.findResumenByIdioma("ES", PageRequest.of(1, 10));
+
+        int spanish = jdbc.queryForObject("select count(*) from libro_languages where language = 'es'", Integer.class);
+        assertEquals(spanish, page.getTotalElements());
+        assertEquals(10, page.getContent().size());
+        assertNotNull(page.getContent().get(0).getTitle());
+        assertUses(plan(lastSelect("offset"), "ES", 10, 10), "IDX_LIBRO_IDIOMA");
+        assertUses(plan(lastSelect("count("), "ES"), "IDX_LIBRO_IDIOMA");
+    }
+
+    @Test
+    void aliveInYearUsesTheLifeIndex() {
+        Page<PersonaResumen> page = personas.findResumenVivosEnAnio(1800, PageRequest.of(0, 10));
+
+        assertTrue(page.getTotalElements() > 10);
+        for (PersonaResumen p : page.getContent()) {
+            assertTrue(p.getAnioNacimiento() <= 1800);
+            assertTrue(p.getAnioFallecimiento() == null || p.getAnioFallecimiento() >= 1800);
+        }
+        assertUses(plan(lastSelect("offset"), 1800, 1800, 0, 10), "IDX_PERSONA_VIDA");
+    }
+
+    @Test
+    void keysetPagesSeekIntoTheirIndex() {
+        List<Integer> first = libros.findIdsTrasDescargas(Integer.MAX_VALUE, Integer.MIN_VALUE, PageRequest.of(0, 20));
+        int lastId = first.get(19);
+        int lastDownloads = jdbc.queryForObject("select download_count from libros where id = ?", Integer.class, lastId);
+        List<Integer> second = libros.findIdsTrasDescargas(lastDownloads, lastId, PageRequest.of(0, 20));
+
+        assertEquals(20, second.size());
+        assertTrue(Collections.disjoint(first, second));
+        String plan = plan(lastSelect("download_count<=?"), lastDownloads, lastDownloads, lastId, 0, 20);
+        assertUses(plan, "IDX_LIBRO_DESCARGAS");
+        assertTrue(plan.toLowerCase().contains("index sorted"), plan);
+
+        libros.findIdsTrasTitulo("m", 0, PageRequest.of(0, 20));
+        plan = plan(lastSelect("title>=?"), "m", "m", 0, 0, 20);
+        assertUses(plan, "IDX_LIBRO_TITULO");
+    }
+
+    @Test
+    void nameSearchGoesThroughTheFullTextIndex() {
+        List<Persona> found = personas.buscarPorNombre("Miguel");
+
+        assertFalse(found.isEmpty());
+        assertTrue(found.stream().allMatch(p -> p.getNombre().contains("Miguel")));
+        assertEquals(found.size(), personas.findByNombreContainingIgnoreCase("Miguel").size());
+        assertTrue(plan(lastSelect("ft_search_data"), "Miguel").toUpperCase().contains("FT_SEARCH_DATA"));
+    }
+
+    private String lastSelect(String containing) {
+        for (int i = CapturedSql.SQL.size() - 1; i >= 0; i--) {
+            String sql = CapturedSql.SQL.get(i);
+            if (sql.toLowerCase().contains(containing)) return sql;
+        }
+        throw new AssertionError("no captured statement contains " + containing + ": " + CapturedSql.SQL);
+    }
+
+    private String plan(String sql, Object... args) {
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+
+    private static void assertUses(String plan, String index) {
+        assertTrue(plan.toUpperCase().contains(index), plan);
+    }
+}
@@ -0,0 +1,94 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.literaturaapp.bench.GutendexPages;
+import com.literaturaapp.bench.SyntheticCatalog;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.GutendexResponse;
+
+import reactor.core.publisher.Flux;
+
+class BookStreamParserTest {
+
+    private final List<Book> catalog = SyntheticCatalog.generate(40);
+    private final byte[] json = GutendexPages.page(catalog.subList(0, 32), 1, 40);
+
+    @Test
+    void streamingMatchesObjectBinding() throws Exception {
+        GutendexResponse bound = new ObjectMapper().readValue(json, GutendexResponse.class);
+        GutendexResponse streamed = BookStreamParser.parsePage(new ByteArrayInputStream(json), true);
+
+        assertEquals(bound.getCount(), streamed.getCount());
+        assertEquals(bound.getNext(), streamed.getNext());
+        assertNull(streamed.getPrevious());
+        assertSameBooks(bound.getResults(), streamed.getResults(), true);
+    }
+
+    @Test
+    void formatsAreSkippedUnlessRequested() throws Exception {
+        GutendexResponse streamed = BookStreamParser.parsePage(new ByteArrayInputStream(json), false);
+        assertEquals(32, streamed.getResults().size());
+        assertTrue(streamed.getResults().stream().allMatch(b -> b.getFormats() == null));
+    }
+
+    @Test
+    void chunksSplitAnywhereDecodeTheSamePage() throws Exception {
+        GutendexResponse bound = new ObjectMapper().readValue(json, GutendexResponse.class);
+        for (int chunk : new int[] {1, 7, 64, 4096}) {
+            GutendexResponse streamed = BookStreamParser.decodePage(chunks(json, chunk), true).block();
+            assertEquals(40, streamed.getCount());
+            assertSameBooks(bound.getResults(), streamed.getResults(), true);
+
+            List<Book> emitted = BookStreamParser.decode(chunks(json, chunk), false).collectList().block();
+            assertSameBooks(bound.getResults(), emitted, false);
+        }
+    }
+
+    @Test
+    void malformedBodyFails() {
+        byte[] cut = Arrays.copyOf(json, json.length / 2);
+        byte[] broken = new byte[cut.length + 1];
+        System.arraycopy(cut, 0, broken, 0, cut.length);
+        broken[cut.length] = ']';
+        assertThrows(IllegalStateException.class, () -> BookStreamParser.decodePage(chunks(broken, 100), false).block());
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] bytes, int size) {
+        List<DataBuffer> out = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += size) {
+            out.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, from, Math.min(from + size, bytes.length))));
+        }
+        return Flux.fromIterable(out);
+    }
+
+    private static void assertSameBooks(List<Book> expected, List<Book> actual, boolean formats) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Book e = expected.get(i), a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getTitle(), a.getTitle());
+            assertEquals(e.getDownload_count(), a.getDownload_count());
+            assertEquals(e.getLanguages(), a.getLanguages());
+            assertEquals(e.getAuthors().size(), a.getAuthors().size());
+            for (int j = 0; j < e.getAuthors().size(); j++) {
+                Author ea = e.getAuthors().get(j), aa = a.getAuthors().get(j);
+                assertEquals(ea.getName(), aa.getName());
+                assertEquals(ea.getBirth_year(), aa.getBirth_year());
+                assertEquals(ea.getDeath_year(), aa.getDeath_year());
+            }
+            if (formats) assertEquals(e.getFormats(), a.getFormats());
+        }
+    }
+}
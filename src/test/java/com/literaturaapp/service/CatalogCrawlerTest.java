@@ -0,0 +1,123 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class CatalogCrawlerTest {
+
+    private StubGutendexServer stub;
+    private List<Book> catalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        catalog = StubGutendexServer.sampleCatalog(320);
+        stub = new StubGutendexServer(catalog, 32);
+        stub.setLatencyMillis(20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void mergesPagesInOrderWithBoundedConcurrency() {
+        CatalogCrawler crawler = new CatalogCrawler(WebClient.create(stub.baseUrl()), 3, 50);
+
+        CrawlResult result = crawler.crawl().block();
+
+        assertNotNull(result);
+        assertEquals(10, result.getPages());
+        assertEquals(10, stub.hits());
+        assertTrue(stub.maxInFlight() <= 3, "max in flight was " + stub.maxInFlight());
+        // the stub serves the default "popular" order; the merge must preserve it
+        List<Integer> expected = catalog.stream()
+                .sorted((a, b) -> Integer.compare(b.getDownload_count(), a.getDownload_count()))
+                .map(Book::getId).collect(Collectors.toList());
+        assertEquals(expected, result.getBooks().stream().map(Book::getId).collect(Collectors.toList()));
+        assertNull(result.getError());
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    void respectsPageCap() {
+        CatalogCrawler crawler = new CatalogCrawler(WebClient.create(stub.baseUrl()), 4, 4);
+
+        CrawlResult result = crawler.crawl().block();
+
+        assertEquals(4, result.getPages());
+        assertEquals(4 * 32, result.getBooks().size());
+    }
+
+    @Test
+    void serviceReadersDoNotReloadOnceWarm() {
+        GutendexService service = new GutendexService(stub.baseUrl(), 4, 50);
+
+        assertEquals(320, service.listAllBooks().size());
+        int hitsAfterWarmUp = stub.hits();
+        service.listAllBooks();
+        service.getTopDownloads(10);
+
+        assertEquals(hitsAfterWarmUp, stub.hits());
+        assertNotNull(service.getLastCrawl());
+        assertEquals(10, service.getLastCrawl().getPages());
+    }
+
+    @Test
+    void interruptedCrawlResumesAfterTheLastGoodPage() {
+        CatalogCrawler crawler = new CatalogCrawler(WebClient.create(stub.baseUrl()), 1, 50);
+        stub.setFailingPage(4);
+
+        CrawlResult cut = crawler.crawl().block();
+
+        assertFalse(cut.isComplete());
+        assertEquals(3 * 32, cut.getBooks().size());
+        assertEquals(4, crawler.getResumePage());
+
+        stub.setFailingPage(0);
+        stub.resetCounters();
+        CrawlResult resumed = crawler.crawl().block();
+
+        assertTrue(resumed.isComplete());
+        // pages 4..10 only, page 1 is not read again
+        assertEquals(7, stub.hits());
+        assertEquals(7, resumed.getPages());
+        assertEquals(catalog.size(), resumed.getBooks().size());
+        assertEquals(catalog.size(), resumed.getBooks().stream().map(Book::getId).distinct().count());
+        assertEquals(1, crawler.getResumePage());
+    }
+
+    @Test
+    void resumedCrawlMissingBooksIsNotReportedComplete() {
+        CatalogCrawler crawler = new CatalogCrawler(WebClient.create(stub.baseUrl()), 1, 50);
+        stub.setFailingPage(4);
+        assertFalse(crawler.crawl().block().isComplete());
+
+        // the least popular book climbs into page 1, which was already read
+        List<Book> shifted = new ArrayList<>(catalog);
+        Book last = catalog.stream().min((a, b) -> Integer.compare(a.getDownload_count(), b.getDownload_count())).get();
+        shifted.set(shifted.indexOf(last), StubGutendexServer.book(last.getId(), last.getTitle(), 1_000_000, "en", "Autor, X", null, null));
+        stub.setCatalog(shifted);
+        stub.setFailingPage(0);
+        CrawlResult resumed = crawler.crawl().block();
+
+        assertFalse(resumed.isComplete());
+        assertEquals(catalog.size() - 1, resumed.getBooks().size());
+        assertEquals(1, crawler.getResumePage());
+
+        CrawlResult clean = crawler.crawl().block();
+        assertTrue(clean.isComplete());
+        assertEquals(catalog.size(), clean.getBooks().size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class CatalogDeltaTest {
+
+    private StubGutendexServer stub;
+    private List<Book> catalog;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        catalog = StubGutendexServer.sampleCatalog(640);
+        stub = new StubGutendexServer(catalog, 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void incrementalRefreshOnlyWalksWhatChanged() {
+        GutendexService service = new GutendexService(stub.baseUrl(), 4, 50);
+        assertEquals(640, service.listAllBooks().size());
+
+        List<Book> next = new ArrayList<>(catalog);
+        for (int id = 641; id <= 645; id++) {
+            next.add(StubGutendexServer.book(id, "Nuevo " + id, 1, "es", "Autor, Nuevo", 1900, 1980));
+        }
+        // bump the two most popular books so they show up on the popularity page
+        List<Book> top = next.stream()
+                .sorted((a, b) -> Integer.compare(b.getDownload_count(), a.getDownload_count()))
+                .limit(2).toList();
+        for (Book b : top) {
+            next.set(next.indexOf(b), StubGutendexServer.book(b.getId(), b.getTitle(), b.getDownload_count() + 50, "en", "Autor, X", null, null));
+        }
+        stub.setCatalog(next);
+        stub.resetCounters();
+
+        DeltaSyncResult delta = service.refreshIncremental();
+
+        assertEquals(5, delta.getAdded());
+        assertEquals(2, delta.getUpdated());
+        assertEquals(645, service.listAllBooks().size());
+        // one descending page reaches known ids, plus one popularity page
+        assertEquals(2, stub.hits());
+        assertEquals(2, delta.getPages());
+        for (Book b : top) {
+            assertEquals(b.getDownload_count() + 50,
+                    service.listAllBooks().stream().filter(x -> x.getId() == b.getId()).findFirst().get().getDownload_count());
+        }
+    }
+
+    @Test
+    void deltaCutShortAddsNothingAndTheNextOneCatchesUp() {
+        GutendexService gutendex = new GutendexService(stub.baseUrl(), 4, 50);
+        // the other service starts from its own copy of the synced catalog
+        SharedCatalog own = new SharedCatalog();
+        own.publish(CatalogGeneration.of(catalog, true));
+        ServicioLiteratura servicio = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects",
+                null, null, null, null, own);
+        assertEquals(640, gutendex.listAllBooks().size());
+        assertEquals(640, servicio.listAllBooks().size());
+
+        // 80 new books: the descending walk needs three pages to reach known ids
+        List<Book> next = new ArrayList<>(catalog);
+        for (int id = 641; id <= 720; id++) {
+            next.add(StubGutendexServer.book(id, "Nuevo " + id, 1, "es", "Autor, Nuevo", 1900, 1980));
+        }
+        stub.setCatalog(next);
+        stub.setFailingPage(2);
+
+        DeltaSyncResult cut = gutendex.refreshIncremental();
+        assertEquals(0, cut.getAdded());
+        assertEquals(640, gutendex.listAllBooks().size());
+        assertEquals(0, servicio.refreshIncremental().getAdded());
+        assertEquals(640, servicio.listAllBooks().size());
+
+        stub.setFailingPage(0);
+        assertEquals(80, gutendex.refreshIncremental().getAdded());
+        assertEquals(80, servicio.refreshIncremental().getAdded());
+        for (List<Book> books : List.of(gutendex.listAllBooks(), servicio.listAllBooks())) {
+            assertEquals(720, books.size());
+            assertEquals(720, books.stream().mapToInt(Book::getId).distinct().count());
+        }
+    }
+
+    @Test
+    void mergeCountsAddedUpdatedAndUnchanged() {
+        List<Book> current = StubGutendexServer.sampleCatalog(3);
+        List<Book> fetched = List.of(
+                StubGutendexServer.book(4, "Nuevo", 10, "es", "A", null, null),
+                StubGutendexServer.book(2, "Libro 2", current.get(1).getDownload_count() + 1, "es", "A", null, null),
+                current.get(2));
+
+        DeltaSyncResult delta = CatalogDelta.apply(current, fetched, 1, 0);
+
+        assertEquals(1, delta.getAdded());
+        assertEquals(1, delta.getUpdated());
+        assertEquals(1, delta.getUnchanged());
+        assertEquals(4, delta.getBooks().size());
+        // the cached instance is left untouched for readers still holding the old list
+        assertNotSame(current.get(1), delta.getBooks().get(1));
+    }
+}
@@ -0,0 +1,200 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.literaturaapp.bench.SyntheticCatalog;
+import com.literaturaapp.catalog.BookCursor;
+import com.literaturaapp.catalog.BookOrder;
+import com.literaturaapp.catalog.BookPage;
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.repository.PersonaRepository;
+import com.literaturaapp.support.StubGutendexServer;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogMirrorServiceTest {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.literaturaapp.model")
+    @EnableJpaRepositories("com.literaturaapp.repository")
+    @Import(CatalogMirrorService.class)
+    static class Config {}
+
+    @Autowired
+    CatalogMirrorService mirror;
+
+    @Autowired
+    PersonaRepository personas;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @AfterEach
+    void clean() {
+        for (String table : List.of("libro_autor", "libro_languages", "libro_formatos", "libros", "persona", "sincronizacion")) {
+            jdbc.update("delete from " + table);
+        }
+    }
+
+    @Test
+    void storesOnePersonaPerPersonAndLinksTheirBooks() {
+        List<Book> books = List.of(
+                StubGutendexServer.book(1, "Novelas ejemplares", 300, "es", "Cervantes Saavedra, Miguel de", null, null),
+                StubGutendexServer.book(2, "Don Quijote", 900, "es", "Cervantes Saavedra, Miguel de", 1547, 1616),
+                StubGutendexServer.book(3, "Pride and Prejudice", 5000, "en", "Austen, Jane", 1775, 1817));
+
+        mirror.store(books);
+        // a re-sync reuses the stored rows
+        mirror.store(books);
+
+        assertEquals(2, personas.count());
+        assertEquals(3, jdbc.queryForObject("select count(*) from libro_autor", Integer.class));
+        assertEquals(1, personas.findVivosEnAnio(1600).size());
+
+        List<Book> loaded = mirror.load();
+        assertEquals(List.of(3, 2, 1), loaded.stream().map(Book::getId).toList());
+        assertEquals("Cervantes Saavedra, Miguel de", loaded.get(2).getAuthors().get(0).getName());
+        assertEquals(1547, loaded.get(2).getAuthors().get(0).getBirth_year());
+    }
+
+    @Test
+    void coldStartReadsTheMirrorInsteadOfCrawling() throws Exception {
+        List<Book> books = StubGutendexServer.sampleCatalog(200);
+        books.get(0).setLanguages(new ArrayList<>(List.of("fr", "en")));
+        mirror.store(books);
+
+        assertEquals(200, mirror.lastSync().get().getCantidadLibros());
+        assertEquals(200, mirror.lastSync().get().getMaxLibroId());
+        List<Book> loaded = mirror.load();
+        List<Integer> expected = books.stream()
+                .sorted((a, b) -> a.getDownload_count() != b.getDownload_count()
+                        ? Integer.compare(b.getDownload_count(), a.getDownload_count())
+                        : Integer.compare(a.getId(), b.getId()))
+                .map(Book::getId).toList();
+        assertEquals(expected, ids(loaded));
+        Book first = loaded.stream().filter(b -> b.getId() == 1).findFirst().get();
+        assertEquals(List.of("fr", "en"), first.getLanguages());
+        assertEquals(books.get(0).getFormats(), first.getFormats());
+
+        // the API is down: the catalog must come from the mirror alone
+        try (StubGutendexServer stub = new StubGutendexServer(List.of(), 32)) {
+            stub.setFailing(true);
+            GutendexService service = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false, mirror,
+                    null, null, null, null, null, null);
+            assertEquals(expected, ids(service.listAllBooks()));
+            assertEquals(0, stub.hits());
+        }
+    }
+
+    @Test
+    void resyncFromTheDefaultCrawlKeepsTheStoredFormats(@TempDir Path dir) throws Exception {
+        List<Book> books = StubGutendexServer.sampleCatalog(100);
+        try (StubGutendexServer stub = new StubGutendexServer(books, 32)) {
+            // include-formats=false, as in application.properties
+            CatalogSnapshotStore snapshots = new CatalogSnapshotStore(dir.resolve("catalog.snap").toString(), false);
+            GutendexService service = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false, mirror,
+                    null, null, snapshots);
+            assertEquals(100, service.listAllBooks().size());
+            assertEquals(100, jdbc.queryForObject("select count(*) from libro_formatos", Integer.class));
+
+            List<Book> changed = new ArrayList<>(books);
+            changed.set(0, StubGutendexServer.book(1, "Libro 1", books.get(0).getDownload_count() + 1, "en", "Autor, A", null, null));
+            stub.setCatalog(changed);
+            service.refreshCache();
+
+            assertEquals(100, jdbc.queryForObject("select count(*) from libro_formatos", Integer.class));
+            for (List<Book> stored : List.of(mirror.load(), snapshots.load())) {
+                for (Book b : stored) assertEquals(books.get(b.getId() - 1).getFormats(), b.getFormats(), "libro " + b.getId());
+            }
+        }
+    }
+
+    @Test
+    void fullStoreAfterADeltaRewritesTheCountsTheDeltaChanged() {
+        List<Book> books = StubGutendexServer.sampleCatalog(20);
+        mirror.store(books);
+        List<Book> fetched = List.of(StubGutendexServer.book(5, "Libro 5", 123_456, "en", "Autor, 5", 1705, 1765));
+        mirror.applyDelta(CatalogDelta.apply(books, fetched, 1, 0));
+        assertEquals(123_456, jdbc.queryForObject("select download_count from libros where id = 5", Integer.class));
+
+        // back to the counts of the last full store: the row must not be skipped as unchanged
+        mirror.store(books);
+
+        assertEquals(books.get(4).getDownload_count(), jdbc.queryForObject("select download_count from libros where id = 5", Integer.class));
+    }
+
+    @Test
+    void mirrorPagesMatchTheCachePages() {
+        List<Book> books = StubGutendexServer.sampleCatalog(300);
+        for (int i = 0; i < books.size(); i += 41) books.get(i).setTitle(null);
+        for (int i = 0; i < books.size(); i += 5) books.get(i).setDownload_count(777);
+        mirror.store(books);
+        CatalogGeneration cache = CatalogGeneration.of(books, true);
+
+        assertEquals(ids(walk(cache::page, BookOrder.DOWNLOADS, null)), ids(walk(mirror::page, BookOrder.DOWNLOADS, null)));
+        assertEquals(ids(walk(cache::page, BookOrder.DOWNLOADS, "es")), ids(walk(mirror::page, BookOrder.DOWNLOADS, "ES")));
+        assertEquals(ids(walk(cache::page, BookOrder.TITLE, null)), ids(walk(mirror::page, BookOrder.TITLE, null)));
+        Book first = mirror.page(BookCursor.start(BookOrder.DOWNLOADS), 1, null).getBooks().get(0);
+        assertEquals("Autor, " + (first.getId() % 97), first.getAuthors().get(0).getName());
+    }
+
+    private static List<Book> walk(PageSource source, BookOrder order, String language) {
+        List<Book> out = new ArrayList<>();
+        BookCursor cursor = BookCursor.start(order);
+        while (cursor != null) {
+            BookPage page = source.page(cursor, 16, language);
+            out.addAll(page.getBooks());
+            cursor = page.getNext();
+        }
+        return out;
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+
+    interface PageSource {
+        BookPage page(BookCursor after, int size, String language);
+    }
+
+    // timings of the full 70k catalog: bench.MirrorStoreReport
+    @Test
+    void persistsAndResyncsALargeCatalog() {
+        List<Book> books = SyntheticCatalog.generate(7_000);
+        mirror.store(books);
+
+        List<Book> changed = new ArrayList<>(books);
+        for (int i = 0; i < changed.size(); i += 10) {
+            Book b = changed.get(i);
+            changed.set(i, StubGutendexServer.book(b.getId(), b.getTitle(), b.getDownload_count() + 1,
+                    b.getLanguages().get(0), b.getAuthors().get(0).getName(), null, null));
+        }
+        mirror.store(changed);
+
+        assertEquals(7_000, jdbc.queryForObject("select count(*) from libros", Integer.class));
+        assertEquals(books.get(10).getDownload_count() + 1,
+                jdbc.queryForObject("select download_count from libros where id = ?", Integer.class, changed.get(10).getId()));
+        assertEquals(books.get(11).getDownload_count(),
+                jdbc.queryForObject("select download_count from libros where id = ?", Integer.class, books.get(11).getId()));
+    }
+}
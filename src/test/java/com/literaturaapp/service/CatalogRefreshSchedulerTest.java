@@ -0,0 +1,93 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class CatalogRefreshSchedulerTest {
+
+    @Test
+    void warmsUpInTheBackgroundAndPicksUpNewBooksOnTheInterval() throws Exception {
+        List<Book> books = new ArrayList<>(StubGutendexServer.sampleCatalog(100));
+        try (StubGutendexServer stub = new StubGutendexServer(books, 32)) {
+            GutendexService gutendex = new GutendexService(stub.baseUrl(), 4, 50);
+            try (CatalogRefreshScheduler scheduler = new CatalogRefreshScheduler(gutendex,
+                    true, Duration.ofMillis(200), Duration.ofMillis(50), Duration.ofMillis(400))) {
+                assertNull(gutendex.loadedCatalog());
+
+                scheduler.start();
+                await(() -> scheduler.getStatus().getState() == CatalogRefreshStatus.State.READY);
+                assertEquals(100, gutendex.loadedCatalog().getBooks().size());
+                assertEquals(4, gutendex.getCrawlProgress().getPages());
+                assertNotNull(scheduler.getStatus().getAge());
+
+                books.add(StubGutendexServer.book(101, "Nuevo", 5, "es", "Autor", null, null));
+                stub.setCatalog(new ArrayList<>(books));
+                await(() -> gutendex.loadedCatalog().findById(101) != null);
+            }
+        }
+    }
+
+    @Test
+    void backsOffWhileGutendexFailsAndKeepsServingTheLastCatalog() throws Exception {
+        try (StubGutendexServer stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(64), 32)) {
+            GutendexService gutendex = new GutendexService(stub.baseUrl(), 4, 50);
+            try (CatalogRefreshScheduler scheduler = new CatalogRefreshScheduler(gutendex,
+                    true, Duration.ofMillis(100), Duration.ofMillis(50), Duration.ofMillis(400))) {
+                scheduler.start();
+                await(() -> scheduler.getStatus().getState() == CatalogRefreshStatus.State.READY);
+
+                stub.setFailing(true);
+                await(() -> scheduler.getStatus().getConsecutiveFailures() >= 3);
+                assertEquals(CatalogRefreshStatus.State.BACKING_OFF, scheduler.getStatus().getState());
+                assertEquals(64, gutendex.loadedCatalog().getBooks().size());
+                assertEquals(64, gutendex.listAllBooks().size());
+
+                stub.setFailing(false);
+                await(() -> scheduler.getStatus().getConsecutiveFailures() == 0);
+            }
+        }
+    }
+
+    @Test
+    void failedWarmUpIsRetriedWithAFullLoad() throws Exception {
+        try (StubGutendexServer stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(64), 32)) {
+            GutendexService gutendex = new GutendexService(stub.baseUrl(), 4, 50);
+            try (CatalogRefreshScheduler scheduler = new CatalogRefreshScheduler(gutendex,
+                    true, Duration.ofSeconds(60), Duration.ofMillis(50), Duration.ofMillis(200))) {
+                stub.setFailing(true);
+                scheduler.start();
+                await(() -> scheduler.getStatus().getConsecutiveFailures() >= 1);
+                assertNull(scheduler.getStatus().getAge());
+
+                stub.setFailing(false);
+                await(() -> scheduler.getStatus().getState() == CatalogRefreshStatus.State.READY);
+                assertEquals(64, gutendex.loadedCatalog().getBooks().size());
+            }
+        }
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(50, CatalogRefreshScheduler.backoffMillis(1, 50, 400));
+        assertEquals(100, CatalogRefreshScheduler.backoffMillis(2, 50, 400));
+        assertEquals(400, CatalogRefreshScheduler.backoffMillis(4, 50, 400));
+        assertEquals(400, CatalogRefreshScheduler.backoffMillis(60, 50, 400));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("condition not met in 15 s");
+            Thread.sleep(20);
+        }
+    }
+}
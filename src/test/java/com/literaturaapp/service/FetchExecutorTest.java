@@ -0,0 +1,83 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.config.GutendexHttpClientFactory;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class FetchExecutorTest {
+
+    @Test
+    void parallelBatchKeepsOrderAndRespectsTheCap() {
+        try (FetchExecutor executor = new FetchExecutor("parallel", 3)) {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                int n = i;
+                tasks.add(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return n;
+                });
+            }
+            List<Integer> out = executor.invokeAll(tasks);
+            for (int i = 0; i < 12; i++) assertEquals(i, out.get(i));
+            assertTrue(peak.get() <= 3, "peak " + peak.get());
+            assertTrue(peak.get() > 1);
+        }
+    }
+
+    @Test
+    void firstFailureCancelsTheRest() {
+        try (FetchExecutor executor = new FetchExecutor("parallel", 4)) {
+            AtomicInteger finished = new AtomicInteger();
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            tasks.add(() -> {
+                throw new IllegalStateException("page 1 failed");
+            });
+            for (int i = 0; i < 3; i++) {
+                tasks.add(() -> {
+                    Thread.sleep(5_000);
+                    return finished.incrementAndGet();
+                });
+            }
+            long start = System.nanoTime();
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> executor.invokeAll(tasks));
+            assertEquals("page 1 failed", e.getMessage());
+            assertTrue(System.nanoTime() - start < 2_000_000_000L);
+            assertEquals(0, finished.get());
+        }
+    }
+
+    @Test
+    void parallelTopPagesMatchSequential() throws Exception {
+        try (StubGutendexServer stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(1000), 32);
+             FetchExecutor parallel = new FetchExecutor("parallel", 4)) {
+            stub.setLatencyMillis(30);
+            ServicioLiteratura sequentialService = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects", null);
+            ServicioLiteratura parallelService = new ServicioLiteratura(stub.baseUrl(), new GutendexHttpClientFactory(Duration.ofSeconds(5), Duration.ofSeconds(30), 4, true, false).restTemplate(),
+                    parallel, null, 1, "objects", null);
+
+            List<Book> expected = sequentialService.topNMostDownloaded(20);
+            stub.resetCounters();
+            List<Book> actual = parallelService.topNMostDownloaded(20);
+
+            // 1000 books in pages of 100: only the 10 existing pages are asked for
+            assertEquals(10, stub.hits());
+            assertEquals(1000, actual.size());
+            assertEquals(expected.stream().map(Book::getId).toList(), actual.stream().map(Book::getId).toList());
+            assertTrue(stub.maxInFlight() > 1);
+        }
+    }
+}
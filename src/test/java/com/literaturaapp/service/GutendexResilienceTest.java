@@ -0,0 +1,110 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.literaturaapp.config.GutendexMetrics;
+import com.literaturaapp.support.StubGutendexServer;
+
+class GutendexResilienceTest {
+
+    private StubGutendexServer stub;
+    private GutendexMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(64), 32);
+        metrics = GutendexMetrics.standalone();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void transientFailuresAreRetriedWithBackoff() {
+        GutendexResilience resilience = new GutendexResilience(3, Duration.ofMillis(10), Duration.ofMillis(50),
+                0, Duration.ZERO, 0, 0, metrics);
+        GutendexService gutendex = new GutendexService(stub.baseUrl(), 2, 50, 1, "objects", false,
+                null, null, null, null, metrics, resilience, null);
+        stub.failNext(2);
+
+        assertEquals(64, gutendex.listAllBooks().size());
+        assertTrue(gutendex.getLastCrawl().isComplete());
+        assertEquals(2.0, metrics.getRegistry().get("gutendex.retries").counter().count());
+
+        // the blocking client follows the same policy
+        ServicioLiteratura servicio = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects",
+                null, null, metrics, resilience, null);
+        stub.failNext(2);
+        assertFalse(servicio.listBooksByLanguage("es").isEmpty());
+        assertEquals(2.0, metrics.getRegistry().get("gutendex.retries").tag("client", "resttemplate").counter().count());
+    }
+
+    @Test
+    void openCircuitRejectsCallsWithoutReachingGutendex() {
+        GutendexResilience resilience = new GutendexResilience(1, Duration.ZERO, Duration.ZERO,
+                2, Duration.ofMinutes(1), 0, 0, metrics);
+        WebClient client = WebClient.create(stub.baseUrl());
+        stub.setFailing(true);
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(WebClientResponseException.class, () -> resilience.call(GutendexMetrics.WEBCLIENT, "book",
+                    () -> client.get().uri("/books/1/").retrieve().bodyToMono(String.class)).block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getBreakerState());
+
+        int hits = stub.hits();
+        assertThrows(GutendexUnavailableException.class, () -> resilience.call(GutendexMetrics.WEBCLIENT, "book",
+                () -> client.get().uri("/books/1/").retrieve().bodyToMono(String.class)).block());
+        assertEquals(hits, stub.hits());
+        assertEquals(1.0, metrics.getRegistry().get("gutendex.rejected").counter().count());
+    }
+
+    @Test
+    void halfOpenTrialClosesOrReopensTheCircuit() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(10), now::get);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertFalse(breaker.tryAcquire());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(breaker.tryAcquire());
+        // one trial at a time
+        assertFalse(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void tokenBucketAllowsABurstThenPacesRequests() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        // 10 per second: the next permits are 100 ms apart
+        assertEquals(100, TimeUnit.NANOSECONDS.toMillis(bucket.reserve()));
+        assertEquals(200, TimeUnit.NANOSECONDS.toMillis(bucket.reserve()));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(0, bucket.reserve());
+    }
+}
@@ -0,0 +1,82 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class OfflineSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void crawlWritesTheSnapshotAndOfflineModeServesItWithoutNetwork() throws Exception {
+        String snapshotPath = dir.resolve("catalog.snap").toString();
+        try (StubGutendexServer stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(100), 32)) {
+            GutendexService online = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false, null, null, null,
+                    new CatalogSnapshotStore(snapshotPath, false));
+            assertEquals(100, online.listAllBooks().size());
+            assertTrue(online.getSnapshots().exists());
+
+            stub.resetCounters();
+            GutendexService offline = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false, null, null, null,
+                    new CatalogSnapshotStore(snapshotPath, true));
+            assertEquals(100, offline.listAllBooks().size());
+            assertEquals(online.getTopDownloads(5).get(0).getId(), offline.getTopDownloads(5).get(0).getId());
+            assertEquals(7, offline.getBookById(7).getId());
+            assertFalse(offline.searchBooks("Libro", 1).getResults().isEmpty());
+            assertNull(offline.refreshIncremental());
+            assertEquals(0, stub.hits());
+        }
+    }
+
+    @Test
+    void fallsBackToTheSnapshotWhenGutendexIsUnreachable() throws Exception {
+        String snapshotPath = dir.resolve("catalog.snap").toString();
+        String baseUrl;
+        try (StubGutendexServer stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(64), 32)) {
+            baseUrl = stub.baseUrl();
+            GutendexService first = new GutendexService(baseUrl, 4, 50, 1, "objects", false, null, null, null,
+                    new CatalogSnapshotStore(snapshotPath, false));
+            first.refreshCache();
+            assertEquals(64, first.listAllBooks().size());
+        }
+
+        // the stub is closed now: a new process starts from the snapshot and a failed
+        // reload keeps serving it instead of an empty catalog
+        GutendexService gutendex = new GutendexService(baseUrl, 4, 50, 1, "objects", false, null, null, null,
+                new CatalogSnapshotStore(snapshotPath, false));
+        assertEquals(64, gutendex.listAllBooks().size());
+        gutendex.refreshCache();
+        assertEquals(64, gutendex.listAllBooks().size());
+        assertEquals(3, gutendex.getBookById(3).getId());
+
+        ServicioLiteratura servicio = new ServicioLiteratura(baseUrl, null, null, null, 1, "objects", null,
+                new CatalogSnapshotStore(snapshotPath, false));
+        List<Book> books = servicio.listAllBooks();
+        assertEquals(64, books.size());
+        assertFalse(servicio.searchByTitle("Libro").isEmpty());
+        assertEquals(5, servicio.topNByDownloads(5).size());
+    }
+
+    @Test
+    void loadedSnapshotIsMaterializedAndTheFileCanBeReplaced() {
+        CatalogSnapshotStore store = new CatalogSnapshotStore(dir.resolve("catalog.snap").toString(), true);
+        assertTrue(store.save(StubGutendexServer.sampleCatalog(50)));
+        List<Book> loaded = store.load();
+
+        // decoded once, not on every access
+        assertSame(loaded.get(10), loaded.get(10));
+        assertTrue(store.save(StubGutendexServer.sampleCatalog(20)));
+        assertEquals(50, loaded.size());
+        assertEquals("Libro 11", loaded.get(10).getTitle());
+        assertEquals(20, store.load().size());
+    }
+}
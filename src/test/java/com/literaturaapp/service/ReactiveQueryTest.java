@@ -0,0 +1,104 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+class ReactiveQueryTest {
+
+    private StubGutendexServer stub;
+    private GutendexService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(320), 32);
+        service = new GutendexService(stub.baseUrl(), 4, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void searchStreamsPagesOnlyAsFarAsConsumed() {
+        // "Libro" matches all 320 books, i.e. 10 search pages
+        List<Book> first = service.search("Libro").take(5).collectList().block(Duration.ofSeconds(10));
+        assertEquals(5, first.size());
+        assertEquals(1, stub.hits());
+
+        stub.resetCounters();
+        assertEquals(320, service.search("Libro").count().block(Duration.ofSeconds(10)));
+        // page 1 comes from the cache
+        assertEquals(9, stub.hits());
+    }
+
+    @Test
+    void concurrentSubscribersShareOneCatalogLoad() {
+        stub.setLatencyMillis(100);
+        List<Long> counts = Flux.range(0, 8)
+                .flatMap(i -> service.books().count().subscribeOn(Schedulers.parallel()))
+                .collectList()
+                .block(Duration.ofSeconds(20));
+        assertTrue(counts.stream().allMatch(c -> c == 320));
+        assertEquals(10, stub.hits());
+        // blocking callers see the same generation
+        assertSame(service.catalogAsync().block(), service.catalog());
+    }
+
+    @Test
+    void coldBooksStreamTheCrawlAndShareItsLoad() {
+        SharedCatalog shared = new SharedCatalog();
+        service = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false,
+                null, null, null, null, null, null, shared);
+        stub.setLatencyMillis(100);
+
+        // the first page is enough; the other nine are still on their way
+        List<Book> first = service.books().take(5).collectList().block(Duration.ofSeconds(10));
+        assertEquals(5, first.size());
+        assertNull(shared.get());
+
+        // a second subscriber joins the same crawl and still sees every book once, in order
+        List<Book> all = service.books().collectList().block(Duration.ofSeconds(20));
+        assertEquals(first, all.subList(0, 5));
+        assertEquals(320, all.stream().map(Book::getId).distinct().count());
+        assertEquals(all, shared.get().getBooks());
+        assertEquals(10, stub.hits());
+    }
+
+    @Test
+    void languageAndTopNAreServedFromTheLoadedCatalog() {
+        service.catalog();
+        stub.resetCounters();
+
+        List<Book> spanish = service.booksByLanguage("es").collectList().block();
+        assertEquals(80, spanish.size());
+        assertTrue(spanish.stream().allMatch(b -> b.getLanguages().contains("es")));
+
+        List<Book> top = service.topDownloads(3).collectList().block();
+        assertEquals(service.getTopDownloads(3), top);
+        assertEquals(3, service.topDownloads("es", 3).count().block());
+        assertEquals(0, stub.hits());
+    }
+
+    @Test
+    void bookByIdIsEmptyWhenUnknown() {
+        assertEquals(7, service.book(7).map(Book::getId).block());
+        assertFalse(service.book(9999).blockOptional().isPresent());
+        assertNull(service.getBookById(9999));
+        // the 404 is cached as a negative entry
+        assertEquals(2, stub.hits());
+        assertNull(service.book(9999).block());
+    }
+}
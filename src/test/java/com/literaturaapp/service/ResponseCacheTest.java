@@ -0,0 +1,116 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class ResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private StubGutendexServer stub;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(100), 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private ResponseCache<String, List<String>> cache(int maxEntries) {
+        return new ResponseCache<>("test", maxEntries, 100, 10, List::isEmpty, now::get);
+    }
+
+    private List<String> load(String value) {
+        loads.incrementAndGet();
+        return value == null ? List.of() : List.of(value);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ResponseCache<String, List<String>> cache = cache(2);
+        cache.get("a", () -> load("a"));
+        cache.get("b", () -> load("b"));
+        cache.get("a", () -> load("a"));
+        cache.get("c", () -> load("c"));
+
+        cache.get("a", () -> load("a"));
+        cache.get("b", () -> load("b"));
+
+        assertEquals(4, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(2, stats.getEvictions());
+    }
+
+    @Test
+    void emptyAnswersExpireSooner() {
+        ResponseCache<String, List<String>> cache = cache(10);
+        cache.get("found", () -> load("x"));
+        cache.get("missing", () -> load(null));
+
+        now.set(5);
+        cache.get("missing", () -> load(null));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().getNegativeHits());
+
+        now.set(50);
+        cache.get("found", () -> load("x"));
+        cache.get("missing", () -> load(null));
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.stats().getExpirations());
+
+        now.set(150);
+        cache.get("found", () -> load("x"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        ResponseCache<String, List<String>> cache = cache(10);
+        assertThrows(IllegalStateException.class, () -> cache.get("k", () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals(List.of("x"), cache.get("k", () -> load("x")));
+        assertEquals(0, cache.stats().getHits());
+    }
+
+    @Test
+    void servicesAnswerRepeatedLookupsFromCache() {
+        ServicioLiteratura servicio = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects", null);
+        servicio.listAllBooks();
+        stub.resetCounters();
+
+        assertFalse(servicio.searchByTitle("Libro 1").isEmpty());
+        assertFalse(servicio.searchByTitle("  libro   1 ").isEmpty());
+        assertTrue(servicio.searchByTitle("inexistente").isEmpty());
+        assertTrue(servicio.searchByTitle("Inexistente").isEmpty());
+        assertFalse(servicio.listBooksByLanguage("es").isEmpty());
+        assertFalse(servicio.listBooksByLanguage("ES").isEmpty());
+        assertEquals(3, stub.hits());
+
+        GutendexService gutendex = new GutendexService(stub.baseUrl(), 4, 50);
+        stub.resetCounters();
+        assertEquals(5, gutendex.getBookById(5).getId());
+        assertEquals(5, gutendex.getBookById(5).getId());
+        assertNull(gutendex.getBookById(9999));
+        assertNull(gutendex.getBookById(9999));
+        assertEquals(2, stub.hits());
+        CacheStats byId = gutendex.getCacheStats().get(1);
+        assertEquals(1, byId.getHits());
+        assertEquals(1, byId.getNegativeHits());
+    }
+}
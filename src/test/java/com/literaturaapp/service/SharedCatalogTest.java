@@ -0,0 +1,104 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.catalog.CatalogGeneration;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class SharedCatalogTest {
+
+    private StubGutendexServer stub;
+    private List<Book> catalog;
+    private GutendexService gutendex;
+    private ServicioLiteratura servicio;
+    private SharedCatalog shared;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String[] langs = {"en", "es", "fr", "de"};
+        catalog = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            catalog.add(StubGutendexServer.book(i, "Libro " + i, 10_000 - i, langs[i % langs.length],
+                    "Autor, " + (i % 10), 1800, 1850));
+        }
+        stub = new StubGutendexServer(catalog, 32);
+        shared = new SharedCatalog();
+        gutendex = new GutendexService(stub.baseUrl(), 4, 50, 1, "objects", false,
+                null, null, null, null, null, null, shared);
+        servicio = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects",
+                null, null, null, null, shared);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void bothServicesServeOneCopyOfEachBook() {
+        List<Book> books = gutendex.listAllBooks();
+        int hits = stub.hits();
+
+        assertSame(books, servicio.listAllBooks());
+        assertEquals("Libro 7", servicio.searchByTitle("libro 7").get(0).getTitle());
+        assertEquals(hits, stub.hits());
+
+        // one Author object per person and one list per language combination
+        Set<Author> authors = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<List<String>> languages = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Book b : books) {
+            authors.addAll(b.getAuthors());
+            languages.add(b.getLanguages());
+        }
+        assertEquals(10, authors.size());
+        assertEquals(4, languages.size());
+    }
+
+    @Test
+    void aDeltaFromEitherServiceIsSeenByTheOther() {
+        CatalogGeneration first = gutendex.catalog();
+        List<Book> grown = new ArrayList<>(catalog);
+        grown.add(StubGutendexServer.book(201, "Nuevo", 20_000, "es", "Autor, 3", 1800, 1850));
+        stub.setCatalog(grown);
+
+        DeltaSyncResult delta = servicio.refreshIncremental();
+
+        assertEquals(1, delta.getAddedBooks().size());
+        assertNotSame(first, gutendex.loadedCatalog());
+        assertEquals(201, gutendex.listAllBooks().size());
+        assertEquals(201, gutendex.getTopDownloads(1).get(0).getId());
+    }
+
+    @Test
+    void aGenerationPublishedDuringARefreshIsNotOverwritten() throws Exception {
+        gutendex.catalog();
+        List<Book> grown = new ArrayList<>(catalog);
+        grown.add(StubGutendexServer.book(201, "Nuevo", 20_000, "es", "Autor, 3", 1800, 1850));
+        stub.setCatalog(grown);
+        stub.setLatencyMillis(300);
+
+        for (Runnable refresh : List.<Runnable>of(gutendex::refreshIncremental, gutendex::refreshCache)) {
+            Thread running = new Thread(refresh);
+            running.start();
+            // the other service publishes while the pages are still on their way
+            Thread.sleep(100);
+            CatalogGeneration other = shared.publish(CatalogGeneration.of(grown, true));
+            running.join(10_000);
+
+            assertSame(other, shared.get());
+            assertSame(other, gutendex.loadedCatalog());
+        }
+    }
+}
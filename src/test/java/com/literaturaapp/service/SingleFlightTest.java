@@ -0,0 +1,138 @@
+package com.literaturaapp.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.literaturaapp.model.Book;
+import com.literaturaapp.support.StubGutendexServer;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private StubGutendexServer stub;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubGutendexServer(StubGutendexServer.sampleCatalog(320), 32);
+        // long enough for every caller to arrive while the first request is still open
+        stub.setLatencyMillis(200);
+        pool = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        stub.close();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> results = runConcurrently(() -> flight.load("k", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return 42;
+        }), release);
+
+        assertEquals(1, calls.get());
+        assertTrue(results.stream().allMatch(r -> r == 42));
+        assertEquals(0, flight.inFlight());
+        // nothing is retained: the next miss loads again
+        assertEquals(7, flight.load("k", () -> 7));
+    }
+
+    @Test
+    void failureReachesEveryWaiter() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(pool.submit(() -> flight.load("k", () -> {
+                await(release);
+                throw new IllegalStateException("boom");
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<Integer> f : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, f::get);
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void gutendexServiceCoalescesCatalogAndBookLookups() throws Exception {
+        GutendexService service = new GutendexService(stub.baseUrl(), 4, 50);
+
+        List<Integer> sizes = runConcurrently(() -> service.listAllBooks().size(), null);
+        assertTrue(sizes.stream().allMatch(s -> s == 320));
+        assertEquals(10, stub.hits());
+
+        stub.resetCounters();
+        List<Book> books = runConcurrently(() -> service.getBookById(7), null);
+        assertTrue(books.stream().allMatch(b -> b != null && b.getId() == 7));
+        assertEquals(1, stub.hits());
+
+        stub.resetCounters();
+        runConcurrently(() -> service.searchBooks("Libro 1", 1), null);
+        assertEquals(1, stub.hits());
+    }
+
+    @Test
+    void servicioLiteraturaCoalescesCatalogSearchAndLanguage() throws Exception {
+        ServicioLiteratura service = new ServicioLiteratura(stub.baseUrl(), null, null, null, 1, "objects", null);
+
+        runConcurrently(service::listAllBooks, null);
+        assertEquals(1, stub.hits());
+
+        stub.resetCounters();
+        List<List<Book>> found = runConcurrently(() -> service.searchByTitle("Libro"), null);
+        assertTrue(found.stream().allMatch(l -> !l.isEmpty()));
+        assertEquals(1, stub.hits());
+
+        stub.resetCounters();
+        List<List<Book>> spanish = runConcurrently(() -> service.listBooksByLanguage("es"), null);
+        assertTrue(spanish.stream().allMatch(l -> l.stream().allMatch(b -> b.getLanguages().contains("es"))));
+        assertEquals(1, stub.hits());
+    }
+
+    /** Starts all callers together, optionally releases a latch once they are waiting, and collects the results. */
+    private <T> List<T> runConcurrently(Supplier<T> call, CountDownLatch release) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(CALLERS);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return call.get();
+            }));
+        }
+        if (release != null) {
+            Thread.sleep(100);
+            release.countDown();
+        }
+        List<T> out = new ArrayList<>();
+        for (Future<T> f : futures) out.add(f.get(10, TimeUnit.SECONDS));
+        return out;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
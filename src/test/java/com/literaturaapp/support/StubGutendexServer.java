@@ -0,0 +1,223 @@
+package com.literaturaapp.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.literaturaapp.model.Author;
+import com.literaturaapp.model.Book;
+import com.literaturaapp.model.GutendexResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal local stand-in for gutendex.com used by the tests. Serves {@code /books/}
+ * (page, search, languages, sort, ids, page_size) and {@code /books/{id}/} from an
+ * in-memory list, counts hits and tracks how many requests were in flight at once.
+ */
+public class StubGutendexServer implements AutoCloseable {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final int pageSize;
+    private volatile List<Book> catalog;
+    private volatile long latencyMillis = 0;
+    private volatile boolean gzip = false;
+    private volatile boolean failing = false;
+    private final AtomicInteger failNext = new AtomicInteger();
+    private volatile int failingPage = 0;
+    private volatile String lastAcceptEncoding;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    public StubGutendexServer(List<Book> catalog, int pageSize) throws IOException {
+        this.catalog = catalog;
+        this.pageSize = pageSize;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/books", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setCatalog(List<Book> catalog) { this.catalog = catalog; }
+
+    public void setLatencyMillis(long latencyMillis) { this.latencyMillis = latencyMillis; }
+
+    /** Gzip responses for clients that send {@code Accept-Encoding: gzip}. */
+    public void setGzip(boolean gzip) { this.gzip = gzip; }
+
+    /** Answer every request with 503, like an upstream outage. */
+    public void setFailing(boolean failing) { this.failing = failing; }
+
+    /** Answer the next {@code n} requests with 503, then recover. */
+    public void failNext(int n) { this.failNext.set(n); }
+
+    /** Answer requests for this listing page with 503; 0 turns it off. */
+    public void setFailingPage(int page) { this.failingPage = page; }
+
+    public String lastAcceptEncoding() { return lastAcceptEncoding; }
+
+    public int hits() { return hits.get(); }
+
+    public int maxInFlight() { return maxInFlight.get(); }
+
+    public void resetCounters() {
+        hits.set(0);
+        maxInFlight.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            if (latencyMillis > 0) Thread.sleep(latencyMillis);
+            if (failing || failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0 || isFailingPage(exchange)) {
+                send(exchange, 503, "{\"detail\":\"Unavailable.\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            Object body;
+            String idPart = path.replaceAll("^/books/?", "").replaceAll("/$", "");
+            if (!idPart.isEmpty()) {
+                int id = Integer.parseInt(idPart);
+                body = catalog.stream().filter(b -> b.getId() == id).findFirst().orElse(null);
+                if (body == null) {
+                    send(exchange, 404, "{\"detail\":\"Not found.\"}".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            } else {
+                body = listing(exchange);
+            }
+            send(exchange, 200, mapper.writeValueAsBytes(body));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 500, new byte[0]);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private boolean isFailingPage(HttpExchange exchange) {
+        int page = failingPage;
+        return page > 0 && String.valueOf(page).equals(query(exchange.getRequestURI().getRawQuery()).get("page"));
+    }
+
+    private GutendexResponse listing(HttpExchange exchange) {
+        Map<String, String> q = query(exchange.getRequestURI().getRawQuery());
+        List<Book> matches = new ArrayList<>(catalog);
+        if (q.containsKey("search")) {
+            String term = q.get("search").toLowerCase();
+            matches.removeIf(b -> !matchesSearch(b, term));
+        }
+        if (q.containsKey("languages")) {
+            Set<String> langs = new HashSet<>(Arrays.asList(q.get("languages").split(",")));
+            matches.removeIf(b -> b.getLanguages() == null || b.getLanguages().stream().noneMatch(langs::contains));
+        }
+        if (q.containsKey("ids")) {
+            Set<Integer> ids = Arrays.stream(q.get("ids").split(",")).map(Integer::parseInt).collect(Collectors.toSet());
+            matches.removeIf(b -> !ids.contains(b.getId()));
+        }
+        String sort = q.getOrDefault("sort", "popular");
+        if (sort.equals("ascending")) matches.sort(Comparator.comparingInt(Book::getId));
+        else if (sort.equals("descending")) matches.sort(Comparator.comparingInt(Book::getId).reversed());
+        else matches.sort(Comparator.comparingInt(Book::getDownload_count).reversed());
+
+        int size = q.containsKey("page_size") ? Integer.parseInt(q.get("page_size")) : pageSize;
+        int page = Integer.parseInt(q.getOrDefault("page", "1"));
+        int from = Math.min((page - 1) * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+
+        GutendexResponse resp = new GutendexResponse();
+        resp.setCount(matches.size());
+        resp.setResults(new ArrayList<>(matches.subList(from, to)));
+        resp.setNext(to < matches.size() ? baseUrl() + "/books/?page=" + (page + 1) : null);
+        resp.setPrevious(page > 1 ? baseUrl() + "/books/?page=" + (page - 1) : null);
+        return resp;
+    }
+
+    private static boolean matchesSearch(Book b, String term) {
+        if (b.getTitle() != null && b.getTitle().toLowerCase().contains(term)) return true;
+        if (b.getAuthors() == null) return false;
+        return b.getAuthors().stream().anyMatch(a -> a.getName() != null && a.getName().toLowerCase().contains(term));
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> out = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return out;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            out.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        lastAcceptEncoding = acceptEncoding;
+        if (gzip && bytes.length > 0 && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            try (GZIPOutputStream zip = new GZIPOutputStream(buf)) {
+                zip.write(bytes);
+            }
+            bytes = buf.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // --- fixtures ---
+
+    public static Book book(int id, String title, int downloads, String lang, String authorName, Integer birth, Integer death) {
+        Book b = new Book();
+        b.setId(id);
+        b.setTitle(title);
+        b.setDownload_count(downloads);
+        b.setLanguages(new ArrayList<>(List.of(lang)));
+        Author a = new Author();
+        a.setName(authorName);
+        a.setBirth_year(birth);
+        a.setDeath_year(death);
+        b.setAuthors(new ArrayList<>(List.of(a)));
+        b.setFormats(new LinkedHashMap<>(Map.of("text/html", "https://www.gutenberg.org/ebooks/" + id + ".html.images")));
+        return b;
+    }
+
+    public static List<Book> sampleCatalog(int n) {
+        String[] langs = {"en", "es", "fr", "de"};
+        List<Book> out = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            out.add(book(i, "Libro " + i, (i * 7919) % 10_000, langs[i % langs.length],
+                    "Autor, " + (i % 97), 1700 + (i % 200), 1760 + (i % 200)));
+        }
+        return out;
+    }
+}